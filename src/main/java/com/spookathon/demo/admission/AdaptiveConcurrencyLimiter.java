@@ -0,0 +1,168 @@
+package com.spookathon.demo.admission;
+
+import com.spookathon.demo.config.AdmissionProperties;
+import com.spookathon.demo.model.AdmissionResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit discovered from observed latency (gradient algorithm).
+ *
+ * Latency is averaged per short window and compared with a slow moving
+ * average that stands for the no-load latency. While the two agree the
+ * limit grows by about sqrt(limit) per window; once requests start queueing
+ * the short-term latency rises, the gradient long/short drops below one and
+ * the limit shrinks in proportion. Windows where fewer than half the permits
+ * were in use do not grow the limit, so an idle server does not drift up to
+ * the maximum.
+ *
+ * Each {@link Priority} may only fill its share of the limit, so under load
+ * the lower-share class is shed first.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /** Request classes with separate shares of the limit. */
+    public enum Priority {
+        GET, POST
+    }
+
+    private final AdmissionProperties properties;
+    private final double[] shares;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder[] rejected = {new LongAdder(), new LongAdder()};
+
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private final long windowNanos;
+    private volatile long windowEnd;
+
+    private volatile double limit;
+    private volatile int permits;
+    private volatile double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(AdmissionProperties properties) {
+        this.properties = properties;
+        this.shares = new double[] {properties.getGetShare(), properties.getPostShare()};
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs());
+        this.windowEnd = System.nanoTime() + windowNanos;
+        setLimit(properties.getInitialLimit());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getRetryAfterSeconds() {
+        return properties.getRetryAfterSeconds();
+    }
+
+    public int getLimit() {
+        return permits;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Take a permit if the request's class has room under the current limit.
+     *
+     * @param priority The request class
+     * @return The number of requests in flight including this one, or 0 if rejected
+     */
+    public int tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (permits * shares[priority.ordinal()]));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected[priority.ordinal()].increment();
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Return a permit and feed the request's latency into the limit.
+     *
+     * @param rttNanos Time the admitted request took
+     * @param inFlightAtStart Value returned by {@link #tryAcquire}
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        windowMaxInFlight.accumulateAndGet(inFlightAtStart, Math::max);
+
+        long now = System.nanoTime();
+        if (now - windowEnd >= 0 && windowSamples.sum() >= properties.getMinWindowSamples()
+                && updating.compareAndSet(false, true)) {
+            try {
+                updateLimit(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    /**
+     * Close the sampling window and move the limit along the latency gradient.
+     */
+    private void updateLimit(long now) {
+        long samples = windowSamples.sumThenReset();
+        double shortRtt = (double) windowRttNanos.sumThenReset() / Math.max(1, samples);
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+        windowEnd = now + windowNanos;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * 2.0 / (properties.getLongWindows() + 1);
+            // After a long overload the average lags behind; let it recover quickly
+            if (longRttNanos > shortRtt * 2) {
+                longRttNanos = shortRtt * 2;
+            }
+        }
+
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / shortRtt));
+        double estimate = current * gradient + Math.sqrt(current);
+        setLimit(current * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing());
+    }
+
+    private void setLimit(double value) {
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+        permits = (int) limit;
+    }
+
+    /**
+     * Current limit, usage and rejections for GET /admin/admission.
+     */
+    public AdmissionResponse report() {
+        return new AdmissionResponse(
+                properties.isEnabled(),
+                permits,
+                inFlight.get(),
+                Math.round(longRttNanos / 1000.0) / 1000.0,
+                rejected[Priority.GET.ordinal()].sum(),
+                rejected[Priority.POST.ordinal()].sum());
+    }
+}
@@ -0,0 +1,75 @@
+package com.spookathon.demo.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Admits player requests against the {@link AdaptiveConcurrencyLimiter}.
+ * 
+ * Runs after cluster forwarding, so each node only limits the requests it
+ * serves itself. Excess requests get an immediate 503 with Retry-After
+ * instead of waiting in Tomcat's queue. Operator, health, documentation
+ * and internal cluster endpoints are never limited.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final byte[] OVERLOADED_BODY = ("{\"message\":\"The Ghost Server is overwhelmed by spirits. "
+            + "Try again in a moment.\",\"status\":\"server_overloaded\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!limiter.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return path.startsWith("/admin/") || path.startsWith("/internal/") || path.startsWith("/actuator/")
+                || path.startsWith("/v3/") || path.startsWith("/swagger-ui");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Priority priority = "GET".equals(request.getMethod())
+                ? AdaptiveConcurrencyLimiter.Priority.GET
+                : AdaptiveConcurrencyLimiter.Priority.POST;
+        int inFlight = limiter.tryAcquire(priority);
+        if (inFlight == 0) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(limiter.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(OVERLOADED_BODY.length);
+            response.getOutputStream().write(OVERLOADED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, inFlight);
+        }
+    }
+}
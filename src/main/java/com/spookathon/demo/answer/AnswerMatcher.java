@@ -0,0 +1,22 @@
+package com.spookathon.demo.answer;
+
+/**
+ * A puzzle's answer check, compiled once from its validator (see {@link AnswerMatchers}).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@FunctionalInterface
+public interface AnswerMatcher {
+
+    /**
+     * Check a submitted answer.
+     * 
+     * @param answer The answer as submitted, untrimmed; never null
+     * @return true if the answer is correct
+     */
+    boolean matches(String answer);
+}
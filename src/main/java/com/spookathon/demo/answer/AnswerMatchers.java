@@ -0,0 +1,367 @@
+package com.spookathon.demo.answer;
+
+import com.spookathon.demo.model.AnswerValidator;
+import com.spookathon.demo.model.Puzzle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles a puzzle's "validator" into an {@link AnswerMatcher}.
+ *
+ * Validators in puzzles.json:
+ * <ul>
+ *   <li>{@code {"type": "exact"}} (or no validator) - the correct or an
+ *       alternative answer, trimmed and ignoring case</li>
+ *   <li>{@code {"type": "numeric"}} - the same number in any radix:
+ *       {@code 10}, {@code 0xA}, {@code 0b1010} and {@code 0o12} are equal;
+ *       listed answers that are not numbers ({@code "ten"}) match as texts</li>
+ *   <li>{@code {"type": "regex", "pattern": "https|tls( ?v?1\\.[0-3])?"}} - the
+ *       whole answer matches the pattern, ignoring case, or is one of the
+ *       listed answers</li>
+ *   <li>{@code {"type": "base64", "encoded": "aGVsbG8gd29ybGQ="}} - the decoded
+ *       text, with or without the "base64:" prefix; the encoded message is
+ *       decoded here and accepted alongside the listed answers</li>
+ * </ul>
+ *
+ * Puzzles with a "generator" are answered with a value generated per
+ * player, which {@link #matchesValue} compares the way the puzzle's
+ * validator compares answers: {@code numeric} for binary generators,
+ * {@code base64} for Base64 generators, or {@code exact} for either.
+ *
+ * All parsing happens once, when the catalog loads: expected texts are
+ * normalized, numbers are parsed to longs and patterns are compiled. Checking
+ * an answer compares regions of the submitted string in place, so it neither
+ * copies the answer nor boxes numbers. Validators that cannot compile fail
+ * the load.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class AnswerMatchers {
+
+    /** Prefix players may put before a decoded Base64 answer. */
+    public static final String BASE64_PREFIX = "base64:";
+
+    /** Returned by {@link #parseNumber} for anything that is not a number. */
+    public static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    /** Accepts nothing, for puzzles without a correct answer. */
+    public static final AnswerMatcher NONE = answer -> false;
+
+    private AnswerMatchers() {
+    }
+
+    /**
+     * Compile the answer check of a puzzle.
+     *
+     * @param puzzle The puzzle, with its answers and optional validator
+     * @return The compiled matcher
+     * @throws IllegalStateException if the validator is unknown or does not fit the answers
+     */
+    public static AnswerMatcher compile(Puzzle puzzle) {
+        AnswerValidator validator = puzzle.getValidator();
+        String type = type(validator);
+        if (puzzle.getGenerator() != null) {
+            checkGenerated(puzzle, type);
+        }
+        if (puzzle.getCorrectAnswer() == null) {
+            return NONE;
+        }
+        List<String> answers = answers(puzzle);
+        switch (type) {
+            case "exact":
+                return new Exact(normalize(answers, null), null);
+            case "numeric":
+                return numeric(puzzle, answers);
+            case "regex":
+                return new Regex(pattern(puzzle, validator.getPattern()), new Exact(normalize(answers, null), null));
+            case "base64":
+                if (validator.getEncoded() != null) {
+                    answers.add(decode(puzzle, validator.getEncoded()));
+                }
+                return new Exact(normalize(answers, BASE64_PREFIX), BASE64_PREFIX);
+            default:
+                throw new IllegalStateException("Unknown validator '" + validator.getType() + "' for "
+                        + puzzle.getEndpoint());
+        }
+    }
+
+    /**
+     * Compare an answer with one expected value the way a validator compares
+     * listed answers. For values generated per player, which are not known
+     * when the catalog loads.
+     *
+     * @param validator The puzzle's validator, or null for exact
+     * @param answer The submitted answer
+     * @param expected The expected value, e.g. "10" or "base64:hello world"
+     * @return true if the answer matches
+     */
+    public static boolean matchesValue(AnswerValidator validator, String answer, String expected) {
+        switch (type(validator)) {
+            case "numeric":
+                long value = parseNumber(answer);
+                return value != NOT_A_NUMBER && value == parseNumber(expected);
+            case "base64":
+                int skip = expected.regionMatches(true, 0, BASE64_PREFIX, 0, BASE64_PREFIX.length())
+                        ? BASE64_PREFIX.length()
+                        : 0;
+                return matchesText(answer, BASE64_PREFIX, expected.substring(skip));
+            default:
+                return matchesText(answer, null, expected);
+        }
+    }
+
+    /**
+     * Parse a whole number in decimal or with a 0x, 0b or 0o prefix, with an
+     * optional sign and surrounding whitespace.
+     *
+     * @param s The text
+     * @return The number, or {@link #NOT_A_NUMBER}
+     */
+    public static long parseNumber(String s) {
+        return parseNumber(s, start(s), end(s));
+    }
+
+    /**
+     * Compare an answer with an expected text, trimmed and ignoring case.
+     *
+     * @param answer The submitted answer
+     * @param prefix A prefix the answer may start with, or null
+     * @param expected The expected text, already trimmed
+     * @return true if they match
+     */
+    public static boolean matchesText(String answer, String prefix, String expected) {
+        int start = start(answer);
+        int end = end(answer);
+        if (prefix != null && answer.regionMatches(true, start, prefix, 0, prefix.length())) {
+            start += prefix.length();
+        }
+        return end - start == expected.length() && answer.regionMatches(true, start, expected, 0, expected.length());
+    }
+
+    private static String type(AnswerValidator validator) {
+        return validator == null || validator.getType() == null
+                ? "exact"
+                : validator.getType().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A generated value is a single number or text, so only validators that
+     * can compare it apply: no patterns, and no fixed encoded message.
+     */
+    private static void checkGenerated(Puzzle puzzle, String type) {
+        boolean binary = "binary".equalsIgnoreCase(puzzle.getGenerator().getType());
+        boolean fits;
+        switch (type) {
+            case "exact":
+                fits = true;
+                break;
+            case "numeric":
+                fits = binary;
+                break;
+            case "base64":
+                fits = !binary && puzzle.getValidator().getEncoded() == null;
+                break;
+            default:
+                fits = false;
+        }
+        if (!fits) {
+            throw new IllegalStateException("Validator '" + puzzle.getValidator().getType() + "' cannot check the "
+                    + puzzle.getGenerator().getType() + " values generated for " + puzzle.getEndpoint());
+        }
+    }
+
+    private static List<String> answers(Puzzle puzzle) {
+        List<String> answers = new ArrayList<>();
+        answers.add(puzzle.getCorrectAnswer());
+        if (puzzle.getAlternativeAnswers() != null) {
+            answers.addAll(puzzle.getAlternativeAnswers());
+        }
+        return answers;
+    }
+
+    private static String[] normalize(List<String> answers, String prefix) {
+        List<String> normalized = new ArrayList<>();
+        for (String answer : answers) {
+            String text = answer.trim().toLowerCase(Locale.ROOT);
+            if (prefix != null && text.startsWith(prefix)) {
+                text = text.substring(prefix.length());
+            }
+            if (!normalized.contains(text)) {
+                normalized.add(text);
+            }
+        }
+        return normalized.toArray(new String[0]);
+    }
+
+    /**
+     * The correct answer must be a number; alternatives that are not become
+     * exact-match texts, so spelled-out answers can be listed too.
+     */
+    private static AnswerMatcher numeric(Puzzle puzzle, List<String> answers) {
+        List<Long> numbers = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < answers.size(); i++) {
+            long number = parseNumber(answers.get(i));
+            if (number != NOT_A_NUMBER) {
+                numbers.add(number);
+            } else if (i == 0) {
+                throw new IllegalStateException("Numeric validator for " + puzzle.getEndpoint()
+                        + " has a non-numeric answer '" + answers.get(i) + "'");
+            } else {
+                texts.add(answers.get(i));
+            }
+        }
+        long[] expected = new long[numbers.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = numbers.get(i);
+        }
+        return new Numeric(expected, texts.isEmpty() ? null : new Exact(normalize(texts, null), null));
+    }
+
+    private static Pattern pattern(Puzzle puzzle, String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalStateException("Regex validator for " + puzzle.getEndpoint() + " has no pattern");
+        }
+        try {
+            return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalStateException("Invalid pattern for " + puzzle.getEndpoint() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String decode(Puzzle puzzle, String encoded) {
+        try {
+            return new String(Base64.getDecoder().decode(encoded.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid Base64 for " + puzzle.getEndpoint() + ": " + encoded, e);
+        }
+    }
+
+    private static long parseNumber(String s, int start, int end) {
+        boolean negative = false;
+        if (start < end && (s.charAt(start) == '-' || s.charAt(start) == '+')) {
+            negative = s.charAt(start) == '-';
+            start++;
+        }
+        int radix = 10;
+        if (end - start > 2 && s.charAt(start) == '0') {
+            char kind = Character.toLowerCase(s.charAt(start + 1));
+            radix = kind == 'x' ? 16 : kind == 'b' ? 2 : kind == 'o' ? 8 : 10;
+            if (radix != 10) {
+                start += 2;
+            }
+        }
+        if (start >= end) {
+            return NOT_A_NUMBER;
+        }
+        long value = 0;
+        long limit = (Long.MAX_VALUE - radix + 1) / radix;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), radix);
+            if (digit < 0 || value > limit) {
+                return NOT_A_NUMBER;
+            }
+            value = value * radix + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static int start(String s) {
+        int start = 0;
+        while (start < s.length() && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int end(String s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /** One of a few texts, optionally after a prefix. */
+    private static final class Exact implements AnswerMatcher {
+        private final String[] expected;
+        private final String prefix;
+
+        Exact(String[] expected, String prefix) {
+            this.expected = expected;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean matches(String answer) {
+            for (String text : expected) {
+                if (matchesText(answer, prefix, text)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** One of a few numbers, in any radix, or one of the listed texts. */
+    private static final class Numeric implements AnswerMatcher {
+        private final long[] expected;
+        private final Exact listed;
+
+        Numeric(long[] expected, Exact listed) {
+            this.expected = expected;
+            this.listed = listed;
+        }
+
+        @Override
+        public boolean matches(String answer) {
+            long value = parseNumber(answer);
+            if (value == NOT_A_NUMBER) {
+                return listed != null && listed.matches(answer);
+            }
+            for (long number : expected) {
+                if (value == number) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A compiled pattern over the trimmed answer. Each request thread keeps
+     * one Matcher and resets it, instead of creating a new one per answer.
+     */
+    private static final class Regex implements AnswerMatcher {
+        private final ThreadLocal<Matcher> matchers;
+        private final Exact listed;
+
+        Regex(Pattern pattern, Exact listed) {
+            this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+            this.listed = listed;
+        }
+
+        @Override
+        public boolean matches(String answer) {
+            if (listed.matches(answer)) {
+                return true;
+            }
+            int start = start(answer);
+            Matcher matcher = matchers.get().reset(answer);
+            boolean matches = matcher.region(start, Math.max(start, end(answer))).matches();
+            matcher.reset("");
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.spookathon.demo.capture;
+
+/**
+ * One recorded escape room request.
+ * 
+ * @param offsetMicros Start time relative to the start of the capture
+ * @param durationMicros Time the original instance took to answer
+ * @param status Status code the original instance answered with
+ * @param method HTTP method
+ * @param uri Path and query string
+ * @param headers Values of {@link TrafficLog#HEADERS}, null where absent
+ * @param body Request body, empty for GET requests
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public record CapturedRequest(long offsetMicros, int durationMicros, int status,
+                              String method, String uri, String[] headers, byte[] body) {
+}
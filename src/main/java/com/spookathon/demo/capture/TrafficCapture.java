@@ -0,0 +1,139 @@
+package com.spookathon.demo.capture;
+
+import com.spookathon.demo.config.CaptureProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes captured requests to a local file for {@link TrafficReplay}.
+ * 
+ * Request threads only offer a record to a bounded queue; a background
+ * writer drains it in batches. When the writer falls behind, new records
+ * are dropped and counted, so capturing never adds latency beyond copying
+ * a few headers.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class TrafficCapture {
+
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final CaptureProperties properties;
+    private final BlockingQueue<CapturedRequest> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private long startNanos;
+    private Path file;
+    private Thread writer;
+    private volatile boolean running;
+
+    public TrafficCapture(CaptureProperties properties) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    /**
+     * Open a new capture file when capturing is enabled.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        file = directory.resolve("capture-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".bin");
+        DataOutputStream out = TrafficLog.create(file, System.currentTimeMillis());
+        startNanos = System.nanoTime();
+        running = true;
+        writer = new Thread(() -> runWriter(out), "traffic-capture");
+        writer.setDaemon(true);
+        writer.start();
+        System.out.println("🎙️ Capturing escape room traffic to " + file);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    public int getMaxBodyBytes() {
+        return properties.getMaxBodyBytes();
+    }
+
+    /**
+     * Queue a finished request for writing. Never blocks.
+     * 
+     * @param startNanos System.nanoTime() when the request arrived
+     * @param endNanos System.nanoTime() when it completed
+     */
+    public void record(long startNanos, long endNanos, int status, String method, String uri,
+                       String[] headers, byte[] body) {
+        CapturedRequest request = new CapturedRequest(
+                TimeUnit.NANOSECONDS.toMicros(startNanos - this.startNanos),
+                (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos)),
+                status, method, uri, headers, body);
+        if (!queue.offer(request)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Write the queued requests and close the capture file.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("🎙️ Traffic capture closed: " + file
+                + (dropped.get() > 0 ? " (" + dropped.get() + " requests dropped)" : ""));
+    }
+
+    private void runWriter(DataOutputStream out) {
+        List<CapturedRequest> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try (out) {
+            while (running || !queue.isEmpty()) {
+                CapturedRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                for (CapturedRequest request : batch) {
+                    TrafficLog.write(out, request);
+                }
+                batch.clear();
+                out.flush();
+            }
+        } catch (IOException e) {
+            running = false;
+            System.err.println("❌ Traffic capture stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.spookathon.demo.capture;
+
+import com.spookathon.demo.cluster.CachedBodyRequest;
+import com.spookathon.demo.cluster.ClusterForwardingFilter;
+import com.spookathon.demo.service.PuzzleService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Records escape room requests (puzzles, progress, team and welcome) as
+ * clients sent them, before cluster forwarding, so one capture per node
+ * holds exactly the traffic that node received. Requests forwarded by a
+ * peer (with a verified signature) were recorded where they arrived and are
+ * not recorded again.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private static final Set<String> GAME_PATHS = Set.of("/", "/progress", "/team");
+    private static final byte[] NO_BODY = new byte[0];
+
+    @Autowired
+    private TrafficCapture capture;
+
+    @Autowired
+    private PuzzleService puzzleService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!capture.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !GAME_PATHS.contains(path) && puzzleService.getPuzzleByEndpoint(path).isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        byte[] body = NO_BODY;
+        HttpServletRequest captured = request;
+        if (request.getContentLength() != 0 && !"GET".equals(request.getMethod())) {
+            body = request.getInputStream().readNBytes(capture.getMaxBodyBytes() + 1);
+            if (body.length > capture.getMaxBodyBytes()) {
+                // Too large to be a game answer: pass it through untouched and do not record it
+                chain.doFilter(new CachedBodyRequest(request, concat(body, request.getInputStream().readAllBytes())), response);
+                return;
+            }
+            captured = new CachedBodyRequest(request, body);
+        }
+
+        String[] headers = new String[TrafficLog.HEADERS.size()];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = request.getHeader(TrafficLog.HEADERS.get(i));
+        }
+        String query = request.getQueryString();
+        String uri = query != null ? request.getRequestURI() + "?" + query : request.getRequestURI();
+
+        try {
+            chain.doFilter(captured, response);
+        } finally {
+            // Verified forwards were already recorded by the node the player called
+            if (request.getAttribute(ClusterForwardingFilter.VERIFIED_FORWARD_ATTRIBUTE) == null) {
+                capture.record(start, System.nanoTime(), response.getStatus(), request.getMethod(), uri, headers, body);
+            }
+        }
+    }
+
+    private static byte[] concat(byte[] head, byte[] tail) {
+        byte[] all = new byte[head.length + tail.length];
+        System.arraycopy(head, 0, all, 0, head.length);
+        System.arraycopy(tail, 0, all, head.length, tail.length);
+        return all;
+    }
+}
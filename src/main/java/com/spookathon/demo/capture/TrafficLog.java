@@ -0,0 +1,131 @@
+package com.spookathon.demo.capture;
+
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.ProgressTokenService;
+import com.spookathon.demo.service.TeamService;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Binary file format of captured traffic.
+ * 
+ * Layout: int magic, short version, long capture start (epoch millis), then
+ * records of long offsetMicros, int durationMicros, short status, UTF method,
+ * UTF uri, byte header presence mask, one UTF value per present header,
+ * int bodyLength, body bytes. Header names are implied by their position in
+ * {@link #HEADERS}, so a typical GET costs a few dozen bytes.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class TrafficLog {
+
+    static final int MAGIC = 0x45534354;
+    static final short VERSION = 1;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+
+    /** Request headers the game reads, in file order. */
+    public static final List<String> HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT_LANGUAGE, PlayerProgressService.PLAYER_HEADER,
+            ProgressTokenService.TOKEN_HEADER, TeamService.TEAM_HEADER);
+
+    private TrafficLog() {
+    }
+
+    /**
+     * Create a capture file and write its header.
+     */
+    static DataOutputStream create(Path file, long startedAt) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(startedAt);
+        return out;
+    }
+
+    static void write(DataOutputStream out, CapturedRequest request) throws IOException {
+        out.writeLong(request.offsetMicros());
+        out.writeInt(request.durationMicros());
+        out.writeShort(request.status());
+        out.writeUTF(request.method());
+        out.writeUTF(request.uri());
+        String[] headers = request.headers();
+        int present = 0;
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] != null) {
+                present |= 1 << i;
+            }
+        }
+        out.writeByte(present);
+        for (String value : headers) {
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+        out.writeInt(request.body().length);
+        out.write(request.body());
+    }
+
+    /**
+     * Read a whole capture, ordered by start time. A record cut short by a
+     * crash ends the capture instead of failing it.
+     * 
+     * @param file The capture file
+     * @return The recorded requests
+     */
+    public static List<CapturedRequest> read(Path file) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not a traffic capture: " + file);
+            }
+            in.readLong();
+            while (true) {
+                try {
+                    requests.add(readRecord(in));
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+        // Records are written when requests complete; replay needs them by start time
+        requests.sort(Comparator.comparingLong(CapturedRequest::offsetMicros));
+        return requests;
+    }
+
+    private static CapturedRequest readRecord(DataInputStream in) throws IOException {
+        long offsetMicros = in.readLong();
+        int durationMicros = in.readInt();
+        int status = in.readUnsignedShort();
+        String method = in.readUTF();
+        String uri = in.readUTF();
+        int present = in.readUnsignedByte();
+        String[] headers = new String[HEADERS.size()];
+        for (int i = 0; i < headers.length; i++) {
+            if ((present & (1 << i)) != 0) {
+                headers[i] = in.readUTF();
+            }
+        }
+        int bodyLength = in.readInt();
+        if (bodyLength < 0 || bodyLength > MAX_BODY_BYTES) {
+            throw new IOException("Corrupt capture record at offset " + offsetMicros + " us");
+        }
+        byte[] body = new byte[bodyLength];
+        in.readFully(body);
+        return new CapturedRequest(offsetMicros, durationMicros, status, method, uri, headers, body);
+    }
+}
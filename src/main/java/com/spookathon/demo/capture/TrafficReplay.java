@@ -0,0 +1,197 @@
+package com.spookathon.demo.capture;
+
+import com.spookathon.demo.metrics.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a traffic capture against a running instance.
+ *
+ * Usage: TrafficReplay &lt;capture.bin&gt; [--target=http://localhost:8080] [--speed=1|10|max]
+ *
+ * At a numeric speed every request is sent at its original offset divided
+ * by the speed, without waiting for earlier responses, so bursts and the
+ * number of requests in flight keep their recorded shape. At max speed
+ * requests are sent back to back in their original order, but never with
+ * more requests in flight than the original instance had at that moment.
+ *
+ * Recorded progress and challenge tokens are replayed as they were; run the
+ * target with the same escape.tokens.secret (and enforce-order disabled for
+ * captures older than the token TTL) to get the original outcomes.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class TrafficReplay {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String target;
+    private final double speed;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicInteger mismatches = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final Object slots = new Object();
+    private int inFlight;
+
+    /**
+     * @param target Base URL of the instance under test
+     * @param speed Time compression factor, or infinity for max speed
+     */
+    public TrafficReplay(String target, double speed) {
+        this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+        this.speed = speed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: TrafficReplay <capture.bin> [--target=http://localhost:8080] [--speed=1|10|max]");
+            System.exit(2);
+        }
+        String target = "http://localhost:8080";
+        double speed = 1;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--target=")) {
+                target = args[i].substring("--target=".length());
+            } else if (args[i].startsWith("--speed=")) {
+                String value = args[i].substring("--speed=".length());
+                speed = "max".equals(value) ? Double.POSITIVE_INFINITY : Double.parseDouble(value);
+            }
+        }
+
+        List<CapturedRequest> requests = TrafficLog.read(Path.of(args[0]));
+        System.out.println("🔁 Replaying " + requests.size() + " requests against " + target
+                + " at " + (Double.isInfinite(speed) ? "max speed" : speed + "x"));
+        new TrafficReplay(target, speed).run(requests);
+    }
+
+    /**
+     * Replay the requests and print a summary.
+     *
+     * @param requests Captured requests ordered by start time
+     */
+    public void run(List<CapturedRequest> requests) throws InterruptedException {
+        int[] concurrency = originalConcurrency(requests);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(requests.size());
+        // Idle time before the first request (e.g. while the capturing instance started) is skipped
+        long firstOffset = requests.isEmpty() ? 0 : requests.get(0).offsetMicros();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests.size(); i++) {
+            CapturedRequest request = requests.get(i);
+            if (Double.isInfinite(speed)) {
+                acquire(concurrency[i]);
+            } else {
+                long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(request.offsetMicros() - firstOffset) / speed);
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                acquire(Integer.MAX_VALUE);
+            }
+            pending.add(send(request));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        report(requests, System.nanoTime() - start);
+    }
+
+    /**
+     * Requests in flight on the original instance when each request arrived,
+     * itself included.
+     */
+    static int[] originalConcurrency(List<CapturedRequest> requests) {
+        int[] concurrency = new int[requests.size()];
+        PriorityQueue<Long> ends = new PriorityQueue<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CapturedRequest request = requests.get(i);
+            while (!ends.isEmpty() && ends.peek() <= request.offsetMicros()) {
+                ends.poll();
+            }
+            ends.add(request.offsetMicros() + request.durationMicros());
+            concurrency[i] = ends.size();
+        }
+        return concurrency;
+    }
+
+    private CompletableFuture<Void> send(CapturedRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target + request.uri()))
+                .timeout(Duration.ofSeconds(30))
+                .method(request.method(), request.body().length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        String[] headers = request.headers();
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] != null) {
+                builder.header(TrafficLog.HEADERS.get(i), headers[i]);
+            }
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    release();
+                    if (failure != null) {
+                        errors.incrementAndGet();
+                        return null;
+                    }
+                    latencies.record(System.nanoTime() - sent);
+                    if (response.statusCode() != request.status()) {
+                        mismatches.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+
+    private void acquire(int limit) throws InterruptedException {
+        synchronized (slots) {
+            while (inFlight >= limit) {
+                slots.wait();
+            }
+            inFlight++;
+        }
+    }
+
+    private void release() {
+        synchronized (slots) {
+            inFlight--;
+            slots.notifyAll();
+        }
+    }
+
+    private void report(List<CapturedRequest> requests, long elapsedNanos) {
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        latencies.addTo(counts);
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long originalMicros = requests.isEmpty() ? 0
+                : requests.get(requests.size() - 1).offsetMicros() - requests.get(0).offsetMicros();
+        System.out.printf("✅ %d requests in %.1f s (captured over %.1f s), %d errors, %d status mismatches%n",
+                requests.size(), elapsedNanos / 1e9, originalMicros / 1e6, errors.get(), mismatches.get());
+        System.out.printf("⏱️ latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                millis(LatencyHistogram.valueAtQuantile(counts, total, 0.50)),
+                millis(LatencyHistogram.valueAtQuantile(counts, total, 0.90)),
+                millis(LatencyHistogram.valueAtQuantile(counts, total, 0.99)),
+                millis(LatencyHistogram.valueAtQuantile(counts, total, 0.999)),
+                millis(LatencyHistogram.maxValue(counts)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,207 @@
+package com.spookathon.demo.cluster;
+
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.ProgressTokenService;
+import com.spookathon.demo.service.TeamService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Routes player requests to the node that owns the player.
+ * 
+ * Requests carrying X-Player-Id are hashed onto the cluster ring. If another
+ * node owns the player, the request is replayed there and its response is
+ * copied back, so clients can talk to any instance. Team members stay on
+ * their own node too, since their progress and clocks are personal; only the
+ * team's shared progression lives on the team's node (see TeamService).
+ * 
+ * Forwarded requests are signed with the cluster secret (see {@link PeerSigner})
+ * over the method, path, player headers and body. Only a request whose
+ * signature verifies is served here without routing; a client sending
+ * X-Cluster-Forwarded-By itself gets 403, so it cannot place a player on a
+ * node that does not own it or slip past traffic capture.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    /** Marks a request that was already forwarded once, so it is never bounced again. */
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded-By";
+
+    /** Request attribute set on forwarded requests whose signature verified. */
+    public static final String VERIFIED_FORWARD_ATTRIBUTE = ClusterForwardingFilter.class.getName() + ".verified";
+
+    /** Headers that decide whose state a forwarded request changes; they are covered by its signature. */
+    private static final List<String> SIGNED_REQUEST_HEADERS = List.of(
+            PlayerProgressService.PLAYER_HEADER, ProgressTokenService.TOKEN_HEADER, TeamService.TEAM_HEADER);
+
+    private static final byte[] FORBIDDEN_BODY = "{\"message\":\"Cluster peers only.\",\"status\":\"forbidden\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final String TEAM_VIEW_PATH = "/team";
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            "Content-Type", "Accept", "Accept-Language", PlayerProgressService.PLAYER_HEADER,
+            ProgressTokenService.TOKEN_HEADER, TeamService.TEAM_HEADER);
+
+    /**
+     * Response headers that describe the connection to the owner rather than
+     * the response; everything else (Retry-After, Cache-Control, ...) is copied.
+     */
+    private static final Set<String> HOP_BY_HOP_RESPONSE_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "content-length", "date", ":status");
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !membership.isEnabled()
+                || (routingKey(request) == null && request.getHeader(FORWARDED_HEADER) == null)
+                || request.getRequestURI().startsWith("/internal/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getHeader(FORWARDED_HEADER) != null) {
+            byte[] body = request.getInputStream().readAllBytes();
+            PeerSigner signer = membership.getPeerSigner();
+            String signature = request.getHeader(PeerSigner.SIGNATURE_HEADER);
+            if (signer == null || !signer.verify(signature, request.getMethod(), signedPath(request), body)) {
+                reject(response);
+                return;
+            }
+            request.setAttribute(VERIFIED_FORWARD_ATTRIBUTE, Boolean.TRUE);
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        String key = routingKey(request);
+        String owner = membership.ownerOf(key);
+        if (owner == null || owner.equals(membership.getSelf())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpResponse<byte[]> forwarded;
+        try {
+            forwarded = send(owner, request, body);
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            // The owner is unreachable: drop it from the ring and retry once with the new owner
+            membership.markDown(owner);
+            String fallback = membership.ownerOf(key);
+            if (fallback == null || fallback.equals(membership.getSelf())) {
+                chain.doFilter(new CachedBodyRequest(request, body), response);
+                return;
+            }
+            forwarded = send(fallback, request, body);
+        }
+        // Failures from here on are the client's connection, not the owner's
+        write(forwarded, response);
+    }
+
+    /**
+     * Requests are routed by player, except GET /team, which reads a team
+     * and goes to the node that owns it.
+     */
+    private static String routingKey(HttpServletRequest request) {
+        if (TEAM_VIEW_PATH.equals(request.getRequestURI())) {
+            return request.getHeader(TeamService.TEAM_HEADER);
+        }
+        return request.getHeader(PlayerProgressService.PLAYER_HEADER);
+    }
+
+    /**
+     * What a forwarded request's signature covers besides method and body:
+     * path, query and the headers naming the player, token and team.
+     */
+    private static String signedPath(HttpServletRequest request) {
+        StringBuilder signed = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            signed.append('?').append(request.getQueryString());
+        }
+        for (String name : SIGNED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            signed.append('\n').append(value != null ? value : "");
+        }
+        return signed.toString();
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(FORBIDDEN_BODY.length);
+        response.getOutputStream().write(FORBIDDEN_BODY);
+    }
+
+    /**
+     * Replay a request on its owner.
+     *
+     * @throws IOException if the owner cannot be reached
+     */
+    private HttpResponse<byte[]> send(String owner, HttpServletRequest request, byte[] body) throws IOException {
+        String target = owner + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target))
+                .timeout(membership.getRequestTimeout())
+                .header(FORWARDED_HEADER, membership.getSelf())
+                .header(PeerSigner.SIGNATURE_HEADER,
+                        membership.getPeerSigner().sign(request.getMethod(), signedPath(request), body))
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.header(name, value);
+            }
+        }
+
+        try {
+            return membership.getHttpClient().send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to " + owner, e);
+        }
+    }
+
+    private static void write(HttpResponse<byte[]> forwarded, HttpServletResponse response) throws IOException {
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+}
@@ -0,0 +1,279 @@
+package com.spookathon.demo.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.ClusterProperties;
+import com.spookathon.demo.model.PlayerProgress;
+import com.spookathon.demo.service.PlayerProgressService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks which cluster nodes are alive and which node owns each player.
+ * 
+ * Peers come from the static node list and are pinged on a fixed interval.
+ * Whenever a node joins or leaves, the ring is rebuilt and players that
+ * this node no longer owns are handed to their new owner.
+ * 
+ * Requests to peers are signed with escape.cluster.secret (see PeerSigner),
+ * so only nodes of the same cluster can reach each other's internal routes.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class ClusterMembership {
+
+    public static final String PING_PATH = "/internal/cluster/ping";
+    public static final String HANDOFF_PATH = "/internal/cluster/handoff";
+
+    private static final int HANDOFF_BATCH_SIZE = 500;
+    private static final int HANDOFF_ROUNDS = 3;
+
+    private final ClusterProperties properties;
+    private final PlayerProgressService progressService;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    private PeerSigner peerSigner;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties properties, PlayerProgressService progressService) {
+        this.properties = properties;
+        this.progressService = progressService;
+        this.objectMapper = new ObjectMapper();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getRequestTimeoutMs()))
+                .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            ring = ConsistentHashRing.of(List.of(), properties.getVirtualNodes());
+            return;
+        }
+        if (properties.getSelf() == null || properties.getSelf().isBlank()) {
+            throw new IllegalStateException("escape.cluster.self is required when cluster mode is enabled");
+        }
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("escape.cluster.secret is required when cluster mode is enabled");
+        }
+        peerSigner = new PeerSigner(Base64.getDecoder().decode(properties.getSecret().trim()),
+                properties.getMaxClockSkewSeconds());
+        // Start optimistic: every configured node is assumed alive until a ping fails
+        Set<String> nodes = new LinkedHashSet<>(properties.getNodes());
+        nodes.add(properties.getSelf());
+        ring = ConsistentHashRing.of(nodes, properties.getVirtualNodes());
+        System.out.println("✅ Cluster mode: " + properties.getSelf() + " joined ring " + nodes);
+    }
+
+    /**
+     * Hand all local players to the remaining nodes on graceful shutdown.
+     */
+    @PreDestroy
+    public void leave() {
+        if (properties.isEnabled() && ring.getNodes().size() > 1) {
+            updateRing(ring.withoutNode(properties.getSelf()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getSelf() {
+        return properties.getSelf();
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public Duration getRequestTimeout() {
+        return Duration.ofMillis(properties.getRequestTimeoutMs());
+    }
+
+    /**
+     * Signer for requests between nodes.
+     * 
+     * @return The signer, or null when cluster mode is disabled
+     */
+    public PeerSigner getPeerSigner() {
+        return peerSigner;
+    }
+
+    /**
+     * Start a signed request to a peer's internal endpoint.
+     * 
+     * @param node Base URL of the peer
+     * @param path Path and query of the internal endpoint
+     * @param method HTTP method
+     * @param body Request body, or null for none
+     * @return Builder with timeout and signature set
+     */
+    public HttpRequest.Builder peerRequest(String node, String path, String method, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(node + path))
+                .timeout(getRequestTimeout())
+                .header(PeerSigner.SIGNATURE_HEADER, peerSigner.sign(method, path, body))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+    }
+
+    /**
+     * Find the node that owns a player.
+     * 
+     * @param playerId The player ID
+     * @return Base URL of the owning node
+     */
+    public String ownerOf(String playerId) {
+        return ring.nodeFor(playerId);
+    }
+
+    public boolean isLocal(String playerId) {
+        String owner = ownerOf(playerId);
+        return owner == null || owner.equals(properties.getSelf());
+    }
+
+    public Set<String> getLiveNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Remove a node that failed to answer a forwarded request,
+     * without waiting for the next heartbeat.
+     * 
+     * @param node Base URL of the node
+     */
+    public void markDown(String node) {
+        if (!node.equals(properties.getSelf())) {
+            updateRing(ring.withoutNode(node));
+        }
+    }
+
+    /**
+     * Ping all configured peers and rebuild the ring if membership changed.
+     */
+    @Scheduled(fixedDelayString = "${escape.cluster.heartbeat-interval-ms:2000}")
+    public void heartbeat() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Set<String> alive = new LinkedHashSet<>();
+        alive.add(properties.getSelf());
+        for (String node : properties.getNodes()) {
+            if (!node.equals(properties.getSelf()) && ping(node)) {
+                alive.add(node);
+            }
+        }
+        if (!alive.equals(ring.getNodes())) {
+            updateRing(ConsistentHashRing.of(alive, properties.getVirtualNodes()));
+        }
+    }
+
+    private synchronized void updateRing(ConsistentHashRing next) {
+        ConsistentHashRing previous = ring;
+        if (previous.getNodes().equals(next.getNodes())) {
+            return;
+        }
+        ring = next;
+        System.out.println("🔁 Cluster membership changed: " + previous.getNodes() + " -> " + next.getNodes());
+        rebalance();
+    }
+
+    /**
+     * Hand every player this node no longer owns to its new owner.
+     * Only keys whose owner actually changed are moved.
+     */
+    void rebalance() {
+        Map<String, List<PlayerProgress>> moves = new HashMap<>();
+        progressService.forEachPlayer(progress -> {
+            String owner = ownerOf(progress.getPlayerId());
+            if (owner != null && !owner.equals(properties.getSelf())) {
+                moves.computeIfAbsent(owner, k -> new ArrayList<>()).add(progress);
+            }
+        });
+
+        moves.forEach((owner, players) -> {
+            for (int from = 0; from < players.size(); from += HANDOFF_BATCH_SIZE) {
+                List<PlayerProgress> batch = players.subList(from, Math.min(players.size(), from + HANDOFF_BATCH_SIZE));
+                if (!handoffBatch(owner, batch)) {
+                    // Keep the players here; the next membership change retries
+                    System.err.println("❌ Handoff of " + batch.size() + " players to " + owner + " failed");
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Send a batch and drop the players that did not change while it was in
+     * flight. Players updated in the meantime are sent again in their new
+     * state; the owner merges solved puzzles, so resending is harmless.
+     */
+    private boolean handoffBatch(String owner, List<PlayerProgress> batch) {
+        List<PlayerProgress> pending = batch;
+        for (int round = 0; round < HANDOFF_ROUNDS && !pending.isEmpty(); round++) {
+            if (!handoff(owner, pending)) {
+                return false;
+            }
+            List<PlayerProgress> changed = new ArrayList<>();
+            for (PlayerProgress sent : pending) {
+                if (!progressService.removeProgress(sent.getPlayerId(), sent)) {
+                    progressService.getProgress(sent.getPlayerId()).ifPresent(changed::add);
+                }
+            }
+            pending = changed;
+        }
+        if (!pending.isEmpty()) {
+            System.err.println("⚠️ " + pending.size() + " players kept changing during handoff to " + owner
+                    + "; they stay here until the next membership change");
+        }
+        return true;
+    }
+
+    private boolean ping(String node) {
+        try {
+            HttpRequest request = peerRequest(node, PING_PATH, "GET", null).build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean handoff(String node, List<PlayerProgress> players) {
+        try {
+            HttpRequest request = peerRequest(node, HANDOFF_PATH, "POST", objectMapper.writeValueAsBytes(players))
+                    .header("Content-Type", "application/json")
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.spookathon.demo.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable consistent-hash ring mapping player IDs to cluster nodes.
+ * 
+ * Each node is placed on the ring at several virtual points so that keys
+ * spread evenly. Adding or removing a node only moves the keys that fall
+ * between that node's points and their predecessors (about 1/N of all keys).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class ConsistentHashRing {
+
+    private final Set<String> nodes;
+    private final int virtualNodes;
+    private final long[] points;
+    private final String[] owners;
+
+    private ConsistentHashRing(Set<String> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableSet(nodes);
+        this.virtualNodes = virtualNodes;
+
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        String[] hashOwners = new String[size];
+        int i = 0;
+        for (String node : nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(node + "#" + v);
+                hashOwners[i] = node;
+                i++;
+            }
+        }
+
+        // Sort points and owners together
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int cmp = Long.compare(hashes[a], hashes[b]);
+            return cmp != 0 ? cmp : hashOwners[a].compareTo(hashOwners[b]);
+        });
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = hashOwners[order[j]];
+        }
+    }
+
+    /**
+     * Build a ring for the given nodes.
+     * 
+     * @param nodes Node identifiers (base URLs)
+     * @param virtualNodes Number of points per node on the ring
+     * @return The ring
+     */
+    public static ConsistentHashRing of(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        return new ConsistentHashRing(new LinkedHashSet<>(nodes), virtualNodes);
+    }
+
+    /**
+     * Find the node that owns a key.
+     * 
+     * @param key The key (player ID)
+     * @return The owning node, or null if the ring is empty
+     */
+    public String nodeFor(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int idx = Arrays.binarySearch(points, hash(key));
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        return owners[idx == points.length ? 0 : idx];
+    }
+
+    public ConsistentHashRing withNode(String node) {
+        Set<String> next = new LinkedHashSet<>(nodes);
+        next.add(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    public ConsistentHashRing withoutNode(String node) {
+        Set<String> next = new LinkedHashSet<>(nodes);
+        next.remove(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    public boolean contains(String node) {
+        return nodes.contains(node);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3
+     * mixer so that similar keys ("node#1", "node#2") land far apart.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
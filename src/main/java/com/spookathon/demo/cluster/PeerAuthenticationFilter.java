@@ -0,0 +1,70 @@
+package com.spookathon.demo.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Only lets signed requests from cluster peers reach /internal/ endpoints.
+ *
+ * The internal routes share the public port, so without this anyone could
+ * hand this node forged player progress. Requests must carry a valid
+ * X-Cluster-Signature (see {@link PeerSigner}); when cluster mode is
+ * disabled the internal routes are closed altogether.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PeerAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final byte[] FORBIDDEN_BODY = "{\"message\":\"Cluster peers only.\",\"status\":\"forbidden\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/internal/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String signature = request.getHeader(PeerSigner.SIGNATURE_HEADER);
+        PeerSigner signer = membership.getPeerSigner();
+        if (signer == null || signer.timestamp(signature) < 0) {
+            reject(response);
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String path = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        if (!signer.verify(signature, request.getMethod(), path, body)) {
+            reject(response);
+            return;
+        }
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(FORBIDDEN_BODY.length);
+        response.getOutputStream().write(FORBIDDEN_BODY);
+    }
+}
@@ -0,0 +1,111 @@
+package com.spookathon.demo.cluster;
+
+import com.spookathon.demo.security.HmacSigner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Signs and verifies requests between cluster nodes.
+ *
+ * Internal requests carry X-Cluster-Signature: "<epochSeconds>.<mac>", where
+ * mac is the Base64url HMAC(secret, 'C', timestamp, method, path, body).
+ * Only nodes sharing escape.cluster.secret can produce it, and a captured
+ * request can only be replayed within the allowed clock skew.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class PeerSigner {
+
+    public static final String SIGNATURE_HEADER = "X-Cluster-Signature";
+
+    private static final byte DOMAIN = 'C';
+    private static final byte[] EMPTY = new byte[0];
+
+    private final HmacSigner signer;
+    private final long maxSkewSeconds;
+
+    public PeerSigner(byte[] secret, long maxSkewSeconds) {
+        this.signer = new HmacSigner(secret);
+        this.maxSkewSeconds = maxSkewSeconds;
+    }
+
+    /**
+     * Sign a request about to be sent to a peer.
+     *
+     * @param method HTTP method
+     * @param path Path and query, e.g. "/internal/cluster/handoff"
+     * @param body Request body, may be null
+     * @return Value of the X-Cluster-Signature header
+     */
+    public String sign(String method, String path, byte[] body) {
+        return sign(System.currentTimeMillis() / 1000, method, path, body);
+    }
+
+    String sign(long epochSeconds, String method, String path, byte[] body) {
+        return epochSeconds + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(epochSeconds, method, path, body));
+    }
+
+    /**
+     * Check the signature of a request received from a peer.
+     *
+     * @param signature The X-Cluster-Signature header, may be null
+     * @param method HTTP method
+     * @param path Path and query
+     * @param body Request body, may be null
+     * @return true if a node sharing the secret signed this request recently
+     */
+    public boolean verify(String signature, String method, String path, byte[] body) {
+        long epochSeconds = timestamp(signature);
+        if (epochSeconds < 0) {
+            return false;
+        }
+        byte[] received;
+        try {
+            received = Base64.getUrlDecoder().decode(signature.substring(signature.indexOf('.') + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        byte[] expected = mac(epochSeconds, method, path, body);
+        return received.length == expected.length
+                && HmacSigner.constantTimeEquals(received, 0, expected, 0, expected.length);
+    }
+
+    /**
+     * Timestamp of a signature that is well-formed and within the allowed skew,
+     * so stale or malformed requests are turned away before their body is read.
+     *
+     * @param signature The X-Cluster-Signature header, may be null
+     * @return Epoch seconds, or -1
+     */
+    public long timestamp(String signature) {
+        int dot = signature != null ? signature.indexOf('.') : -1;
+        if (dot <= 0 || dot > 19) {
+            return -1;
+        }
+        long epochSeconds;
+        try {
+            epochSeconds = Long.parseLong(signature, 0, dot, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        long now = System.currentTimeMillis() / 1000;
+        return Math.abs(now - epochSeconds) <= maxSkewSeconds ? epochSeconds : -1;
+    }
+
+    private byte[] mac(long epochSeconds, String method, String path, byte[] body) {
+        byte[] header = (epochSeconds + " " + method + " " + path + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] content = body != null ? body : EMPTY;
+        byte[] mac = new byte[HmacSigner.MAC_LENGTH];
+        signer.start()
+                .update(DOMAIN)
+                .update(header, 0, header.length)
+                .update(content, 0, content.length)
+                .finish(mac, 0);
+        return mac;
+    }
+}
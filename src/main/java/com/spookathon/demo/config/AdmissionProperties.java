@@ -0,0 +1,57 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive admission control settings (escape.admission.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.admission")
+public class AdmissionProperties {
+
+    /**
+     * Whether player requests are admitted against an adaptive concurrency limit.
+     * Off by default; the "prod" profile turns it on for deployments.
+     */
+    private boolean enabled = false;
+
+    /** Concurrency limit before any latency was observed. */
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    /** Short-term latency may exceed the long-term average by this factor before the limit shrinks. */
+    private double rttTolerance = 1.5;
+
+    /** Weight of each new limit estimate (0..1); lower values adapt more slowly. */
+    private double smoothing = 0.2;
+
+    /** Length of one sampling window. */
+    private long windowMs = 100;
+
+    /** Samples needed before a window updates the limit. */
+    private int minWindowSamples = 10;
+
+    /** Windows averaged into the long-term (no-load) latency. */
+    private int longWindows = 600;
+
+    /** Fraction of the limit GET (narrative) requests may fill; the rest is kept for answers. */
+    private double getShare = 0.75;
+
+    /** Fraction of the limit answer POSTs may fill. */
+    private double postShare = 1.0;
+
+    /** Retry-After sent with 503 responses. */
+    private int retryAfterSeconds = 1;
+}
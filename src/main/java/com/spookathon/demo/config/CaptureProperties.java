@@ -0,0 +1,32 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Traffic capture settings (escape.capture.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.capture")
+public class CaptureProperties {
+
+    /** Whether escape room requests are recorded for later replay. */
+    private boolean enabled = false;
+
+    /** Directory receiving one capture-<start time>.bin file per run. */
+    private String directory = "data/capture";
+
+    /** Requests waiting for the writer; further requests are dropped, never delayed. */
+    private int queueCapacity = 10_000;
+
+    /** Requests with larger bodies are not captured. */
+    private int maxBodyBytes = 4096;
+}
@@ -0,0 +1,50 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster mode settings (escape.cluster.* in application.properties).
+ * 
+ * Every instance lists the same peers in {@code nodes} and identifies itself
+ * with {@code self}; no external coordinator is needed.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.cluster")
+public class ClusterProperties {
+
+    /** Whether player state is sharded across several instances. */
+    private boolean enabled = false;
+
+    /** Base URL of this instance as seen by its peers, e.g. http://localhost:8081. */
+    private String self;
+
+    /** Base URLs of all instances, including this one. */
+    private List<String> nodes = new ArrayList<>();
+
+    /** Points per node on the hash ring. */
+    private int virtualNodes = 128;
+
+    /** How often peers are pinged to detect joins and departures. */
+    private long heartbeatIntervalMs = 2000;
+
+    /** Timeout for pings, forwarded requests and handoffs. */
+    private long requestTimeoutMs = 2000;
+
+    /** Base64 HMAC key signing requests between nodes; all nodes must share it. */
+    private String secret;
+
+    /** How far the timestamp of a signed peer request may be from this node's clock. */
+    private long maxClockSkewSeconds = 30;
+}
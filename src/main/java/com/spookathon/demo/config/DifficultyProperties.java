@@ -0,0 +1,26 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Solve-time statistics settings (escape.difficulty.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.difficulty")
+public class DifficultyProperties {
+
+    /** Whether solve times and attempts per solve are measured for GET /admin/difficulty. */
+    private boolean enabled = true;
+
+    /** Puzzles a player has not touched for this long are forgotten; a later solve is not timed. */
+    private long openTtlMinutes = 180;
+}
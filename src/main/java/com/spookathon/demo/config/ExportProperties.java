@@ -0,0 +1,41 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Attempt journal and export settings (escape.export.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.export")
+public class ExportProperties {
+
+    /** Whether answer attempts are journaled for GET /admin/export/attempts. */
+    private boolean enabled = true;
+
+    /** Directory receiving attempts-<start time>.bin files. */
+    private String directory = "data/attempts";
+
+    /** Start a new journal file once the current one reaches this size. */
+    private long rotateMegabytes = 64;
+
+    /** Delete journal files last written longer ago than this. */
+    private long retentionHours = 168;
+
+    /** Delete the oldest journal files while all of them together are larger than this. */
+    private long maxTotalMegabytes = 1024;
+
+    /** Bearer token required by GET /admin/export/*; exports are closed while it is empty. */
+    private String token = "";
+
+    /** Attempts waiting for the writer; further attempts are dropped, never delayed. */
+    private int queueCapacity = 10_000;
+}
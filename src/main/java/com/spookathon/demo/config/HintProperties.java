@@ -0,0 +1,29 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Timed hint settings (escape.hints.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.hints")
+public class HintProperties {
+
+    /** Whether hints unlock over time for identified players. */
+    private boolean enabled = true;
+
+    /** Resolution of the timing wheel. */
+    private long tickMs = 100;
+
+    /** How long unlocked hints are kept once the last one has unlocked. */
+    private long trackTtlMinutes = 60;
+}
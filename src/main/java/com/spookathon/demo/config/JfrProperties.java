@@ -0,0 +1,32 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process flight recording settings (escape.jfr.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.jfr")
+public class JfrProperties {
+
+    /** Start a recording with the escape-room.jfc profile at startup. */
+    private boolean enabled = false;
+
+    /** JDK profile layered under the game events ("default" or "profile"). */
+    private String settings = "default";
+
+    /** How much history the recording keeps. */
+    private long maxAgeMinutes = 30;
+
+    /** File the recording is written to on shutdown. */
+    private String destination = "data/escape-room.jfr";
+}
@@ -0,0 +1,29 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request latency recording settings (escape.latency.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.latency")
+public class LatencyProperties {
+
+    /** Whether escape room requests are timed. */
+    private boolean enabled = true;
+
+    /** Length of one sliding window slot. */
+    private int slotSeconds = 10;
+
+    /** Number of slots kept; the longest window is slotSeconds * slots. */
+    private int slots = 30;
+}
@@ -1,10 +1,13 @@
 package com.spookathon.demo.config;
 
+import com.spookathon.demo.service.PuzzlePackService;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.customizers.OpenApiLocaleCustomizer;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,6 +20,8 @@ import java.util.List;
  * - Swagger UI: http://localhost:8080/swagger-ui.html
  * - OpenAPI JSON: http://localhost:8080/v3/api-docs
  * 
+ * The game description comes from the puzzle pack matching Accept-Language.
+ * 
  * @author Johan Gloria
  * @author Melany Rivera
  * @author Jese Sanchez
@@ -26,43 +31,18 @@ import java.util.List;
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // Response texts are CharSequence (heap String or off-heap ArenaText) but always JSON strings
+        SpringDocUtils.getConfig().replaceWithClass(CharSequence.class, String.class);
+    }
+
     @Bean
-    public OpenAPI customOpenAPI() {
+    public OpenAPI customOpenAPI(PuzzlePackService packService) {
         return new OpenAPI()
                 .info(new Info()
                         .title("👻 The Phantom Code: Ghost Server Escape Room API")
                         .version("1.0.0")
-                        .description("""
-                                # 🎮 Welcome to The Phantom Code: Ghost Server Escape Room!
-                                
-                                An interactive REST API escape room game with **9 progressive puzzles** across 3 difficulty levels.
-                                
-                                ## 🧩 Game Structure:
-                                
-                                ### 📗 Easy Level (3 Puzzles)
-                                - 💻 **Puzzle 1**: The Electric Room - Logic puzzle
-                                - 🔐 **Puzzle 2**: Unlock the Door - Code validation
-                                - 🌐 **Puzzle 3**: The Code Corridor - Binary hint
-                                
-                                ### 📘 Medium Level (3 Puzzles)
-                                - 🔢 **Puzzle 4**: Binary Challenge - Convert binary to decimal
-                                - 🧠 **Puzzle 5**: Memory Hierarchy - Computer architecture
-                                - ⚙️ **Puzzle 6**: The OS Core - Operating system knowledge
-                                
-                                ### 📕 Hard Level (3 Puzzles)
-                                - 🔐 **Puzzle 7**: Cryptographic Decoding - Base64 decryption
-                                - 👑 **Puzzle 8**: Root Access - System administration
-                                - 🚪 **Puzzle 9**: Final Escape - Network protocols
-                                
-                                ## 🎯 How to Play:
-                                1. Start with GET `/` to see the welcome message
-                                2. Progress through each level in order
-                                3. Use hints provided in GET endpoints
-                                4. Submit answers via POST endpoints
-                                5. Complete all 9 puzzles to escape!
-                                
-                                **Good luck, and may your code compile without errors! 👻**
-                                """)
+                        .description(packService.getDefaultPack().getApiDescription().toString())
                         .contact(new Contact()
                                 .name("Spookathon Team")
                                 .email("spookathon@ghostserver.dev"))
@@ -75,4 +55,21 @@ public class OpenApiConfig {
                                 .description("Local Development Server")
                 ));
     }
+
+    /**
+     * Show the game description in the language of the Swagger UI request.
+     * springdoc builds and caches one document per locale.
+     */
+    @Bean
+    public OpenApiLocaleCustomizer localizedDescription(PuzzlePackService packService) {
+        return (openApi, locale) -> {
+            Info info = openApi.getInfo();
+            openApi.setInfo(new Info()
+                    .title(info.getTitle())
+                    .version(info.getVersion())
+                    .description(packService.resolve(locale).getApiDescription().toString())
+                    .contact(info.getContact())
+                    .license(info.getLicense()));
+        };
+    }
 }
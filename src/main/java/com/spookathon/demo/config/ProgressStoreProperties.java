@@ -0,0 +1,41 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Durable progress store settings (escape.store.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.store")
+public class ProgressStoreProperties {
+
+    /** Whether player progress is persisted to local disk. */
+    private boolean enabled = true;
+
+    /** Directory holding the snapshot and the append log segments. */
+    private String directory = "data/progress";
+
+    /** How long the background writer waits between batches. */
+    private long flushIntervalMs = 100;
+
+    /** Maximum number of players written per batch (one fsync per batch). */
+    private int maxBatchSize = 4096;
+
+    /** Take a snapshot once this many log records were written since the last one. */
+    private long snapshotEveryRecords = 50_000;
+
+    /** Take a snapshot at least this often while players keep changing. */
+    private long snapshotIntervalMs = 60_000;
+
+    /** Longest wait between retries after a failed write; waits double from the flush interval. */
+    private long maxRetryBackoffMs = 30_000;
+}
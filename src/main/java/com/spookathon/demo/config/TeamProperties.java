@@ -0,0 +1,23 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Co-op team settings (escape.teams.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.teams")
+public class TeamProperties {
+
+    /** Teams no member has played on for this long are forgotten, with their progression. */
+    private long idleTtlMinutes = 180;
+}
@@ -0,0 +1,26 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Off-heap storage of puzzle pack texts (escape.text-arena.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.text-arena")
+public class TextArenaProperties {
+
+    /** Whether pack texts live as deduplicated UTF-8 in direct memory instead of heap Strings. */
+    private boolean enabled = false;
+
+    /** Size of each direct buffer the arena allocates; longer texts get a buffer of their own. */
+    private int slabBytes = 1024 * 1024;
+}
@@ -0,0 +1,52 @@
+package com.spookathon.demo.config;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Settings for HMAC-signed tokens (escape.tokens.* in application.properties).
+ * 
+ * All instances behind the same load balancer must share the secret.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.tokens")
+public class TokenProperties {
+
+    /** Base64 HMAC key. A random per-process key is used when empty. */
+    private String secret;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private byte[] generatedSecret;
+
+    /**
+     * Get the decoded HMAC key.
+     * 
+     * @return The configured key, or a random key generated on first use
+     */
+    public synchronized byte[] getSecretBytes() {
+        if (secret != null && !secret.isBlank()) {
+            return Base64.getDecoder().decode(secret.trim());
+        }
+        if (generatedSecret == null) {
+            generatedSecret = new byte[32];
+            new SecureRandom().nextBytes(generatedSecret);
+            System.out.println("⚠️ escape.tokens.secret is not set; tokens are only valid on this instance");
+        }
+        return generatedSecret;
+    }
+}
@@ -0,0 +1,44 @@
+package com.spookathon.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JIT warm-up settings (escape.warmup.* in application.properties).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "escape.warmup")
+public class WarmupProperties {
+
+    /** Whether synthetic playthroughs run before the instance reports ready. */
+    private boolean enabled = false;
+
+    /** Give up warming after this long, settled or not. */
+    private long maxMillis = 30_000;
+
+    /** Playthroughs always run before compilation may count as settled. */
+    private int minPlaythroughs = 500;
+
+    /** Threads running playthroughs. */
+    private int threads = 2;
+
+    /** How often JIT activity is sampled. */
+    private long checkIntervalMs = 500;
+
+    /** An interval with less JIT compile time than this counts as quiet. */
+    private long quietCompileMs = 10;
+
+    /** An interval whose playthrough count is within this percentage of the previous one counts as stable. */
+    private int stableThroughputPercent = 10;
+
+    /** Consecutive quiet or stable intervals after which compilation is considered settled. */
+    private int quietChecks = 3;
+}
@@ -0,0 +1,39 @@
+package com.spookathon.demo.config;
+
+import com.spookathon.demo.metrics.LatencyTimingInterceptor;
+import com.spookathon.demo.text.ArenaTextHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC customisation: registers the request interceptors and the
+ * plain-text writer for off-heap pack texts.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private LatencyTimingInterceptor latencyTimingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(latencyTimingInterceptor);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of Jackson, which would otherwise write an ArenaText body as a JSON string
+        converters.add(0, new ArenaTextHttpMessageConverter());
+    }
+}
@@ -0,0 +1,159 @@
+package com.spookathon.demo.controller;
+
+import com.spookathon.demo.admission.AdaptiveConcurrencyLimiter;
+import com.spookathon.demo.export.ExportFilter;
+import com.spookathon.demo.export.ExportFormat;
+import com.spookathon.demo.export.GameExporter;
+import com.spookathon.demo.metrics.LatencyRecorder;
+import com.spookathon.demo.metrics.SolveTimeRecorder;
+import com.spookathon.demo.model.AdmissionResponse;
+import com.spookathon.demo.model.DifficultyResponse;
+import com.spookathon.demo.model.LatencyResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+/**
+ * REST Controller for operators of the Ghost Server.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "🛠️ Admin", description = "Operational statistics of the escape room")
+public class AdminController {
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private GameExporter exporter;
+
+    @Autowired
+    private SolveTimeRecorder solveTimeRecorder;
+
+    /**
+     * GET /admin/latency - Latency percentiles per endpoint over a sliding window.
+     * 
+     * @param window Window length in seconds
+     * @return ResponseEntity with percentiles (microseconds) per endpoint and stage
+     */
+    @Operation(
+        summary = "⏱️ Endpoint Latency",
+        description = "Latency percentiles in microseconds for every escape room endpoint, split into " +
+                     "total, parse (request body), handler and serialize (response body) stages."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Latency statistics returned successfully")
+    })
+    @GetMapping("/latency")
+    public ResponseEntity<LatencyResponse> getLatency(
+        @Parameter(description = "Window length in seconds, rounded up to whole slots")
+        @RequestParam(defaultValue = "60") int window) {
+        
+        return ResponseEntity.ok(latencyRecorder.report(window));
+    }
+
+    /**
+     * GET /admin/admission - Current adaptive concurrency limit and rejections.
+     * 
+     * @return ResponseEntity with the limit, requests in flight and 503 counts
+     */
+    @Operation(
+        summary = "🚦 Admission Control",
+        description = "The concurrency limit discovered from observed latency, requests currently in flight, " +
+                     "the estimated no-load latency and how many GET and POST requests were rejected with 503."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Admission statistics returned successfully")
+    })
+    @GetMapping("/admission")
+    public ResponseEntity<AdmissionResponse> getAdmission() {
+        return ResponseEntity.ok(concurrencyLimiter.report());
+    }
+
+    /**
+     * GET /admin/difficulty - Solve time and attempt percentiles per puzzle.
+     * 
+     * @param cluster Whether to merge the statistics of every live cluster node
+     * @return ResponseEntity with p50/p90/p99 solve seconds and attempts per answerable puzzle
+     */
+    @Operation(
+        summary = "📊 Puzzle Difficulty",
+        description = "How long identified players take from first viewing a puzzle to solving it, and how many " +
+                     "answers they send per solve, as p50/p90/p99 per answerable puzzle. With cluster=true the " +
+                     "statistics of every live node are merged."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Difficulty statistics returned successfully")
+    })
+    @GetMapping("/difficulty")
+    public ResponseEntity<DifficultyResponse> getDifficulty(
+        @Parameter(description = "Merge the statistics of all live cluster nodes")
+        @RequestParam(defaultValue = "false") boolean cluster) {
+        
+        return ResponseEntity.ok(solveTimeRecorder.report(cluster));
+    }
+
+    /**
+     * GET /admin/export/{dataset} - Stream play data for offline analysis.
+     * 
+     * @param dataset attempts (one row per answer) or sessions (one row per player)
+     * @return ResponseEntity streaming CSV or NDJSON rows, chunked as they are written
+     */
+    @Operation(
+        summary = "📤 Export Play Data",
+        description = "Streams answer attempts or player sessions held by this instance as CSV or NDJSON, " +
+                     "optionally gzipped, filtered by time range, puzzle ID and level. Rows are written as they " +
+                     "are read, so exports of any size use constant memory. Requires Authorization: Bearer " +
+                     "<escape.export.token>."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown dataset or format"),
+        @ApiResponse(responseCode = "401", description = "Missing or wrong export token")
+    })
+    @GetMapping("/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+        @Parameter(description = "attempts or sessions") @PathVariable String dataset,
+        @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+        @Parameter(description = "Gzip the file") @RequestParam(defaultValue = "false") boolean gzip,
+        @Parameter(description = "Start of the range (ISO-8601, inclusive)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+        @Parameter(description = "End of the range (ISO-8601, exclusive)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+        @Parameter(description = "Only this puzzle ID") @RequestParam(required = false) Integer puzzle,
+        @Parameter(description = "Only puzzles of this level (EASY, MEDIUM, HARD)") @RequestParam(required = false) String level) {
+        
+        GameExporter.Dataset data = GameExporter.Dataset.parse(dataset);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        if (data == null || exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        ExportFilter filter = ExportFilter.of(from, to, puzzle, level);
+        String filename = data.name().toLowerCase() + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> exporter.export(data, filter, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+}
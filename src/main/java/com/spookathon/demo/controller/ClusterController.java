@@ -0,0 +1,102 @@
+package com.spookathon.demo.controller;
+
+import com.spookathon.demo.cluster.ClusterMembership;
+import com.spookathon.demo.metrics.SolveTimeRecorder;
+import com.spookathon.demo.model.PlayerProgress;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.TeamService;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Internal endpoints used by cluster nodes to talk to each other.
+ * Not part of the game API and hidden from Swagger.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/cluster")
+public class ClusterController {
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private PlayerProgressService progressService;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private SolveTimeRecorder solveTimeRecorder;
+
+    @Autowired
+    private TeamService teamService;
+
+    /**
+     * GET /internal/cluster/ping - Check used by peer heartbeats.
+     * Answers 503 until the node is ready (e.g. during JIT warm-up), so
+     * peers only route players to it once it can serve them quickly.
+     */
+    @GetMapping("/ping")
+    public ResponseEntity<String> ping() {
+        if (availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(String.valueOf(membership.getSelf()));
+        }
+        return ResponseEntity.ok(String.valueOf(membership.getSelf()));
+    }
+
+    /**
+     * POST /internal/cluster/handoff - Receive players whose owner moved to this node.
+     */
+    @PostMapping("/handoff")
+    public ResponseEntity<Map<String, Object>> handoff(@RequestBody List<PlayerProgress> players) {
+        players.forEach(progressService::importProgress);
+        return ResponseEntity.ok(Map.of("imported", players.size()));
+    }
+
+    /**
+     * GET /internal/cluster/members - Current view of the ring.
+     */
+    @GetMapping("/members")
+    public ResponseEntity<Map<String, Object>> members() {
+        return ResponseEntity.ok(Map.of(
+                "self", String.valueOf(membership.getSelf()),
+                "enabled", membership.isEnabled(),
+                "liveNodes", membership.getLiveNodes(),
+                "localPlayers", progressService.getAllProgress().size()));
+    }
+
+    /**
+     * GET /internal/cluster/solve-sketches - This node's solve time and attempt histograms.
+     */
+    @GetMapping("/solve-sketches")
+    public ResponseEntity<SolveTimeRecorder.Snapshot> solveSketches() {
+        return ResponseEntity.ok(solveTimeRecorder.snapshot());
+    }
+
+    /**
+     * POST /internal/cluster/team - Read or advance a team this node owns,
+     * on behalf of a member playing on another node.
+     */
+    @PostMapping("/team")
+    public ResponseEntity<TeamService.TeamReply> team(@RequestBody TeamService.TeamCall call) {
+        if (!TeamService.isValidTeamId(call.teamId()) || !PlayerProgressService.isValidPlayerId(call.memberId())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(teamService.apply(call));
+    }
+}
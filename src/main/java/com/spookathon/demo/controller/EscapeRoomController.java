@@ -1,16 +1,31 @@
 package com.spookathon.demo.controller;
 
+import com.spookathon.demo.export.AttemptJournal;
+import com.spookathon.demo.jfr.AnswerAttemptEvent;
+import com.spookathon.demo.jfr.PuzzleViewEvent;
+import com.spookathon.demo.metrics.SolveTimeRecorder;
 import com.spookathon.demo.model.*;
+import com.spookathon.demo.service.ChallengeService;
+import com.spookathon.demo.service.HintService;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.ProgressTokenService;
+import com.spookathon.demo.service.PuzzlePackService;
 import com.spookathon.demo.service.PuzzleService;
+import com.spookathon.demo.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * The Phantom Code: Escape from the Haunted Server
  * 
@@ -20,6 +35,16 @@ import org.springframework.web.bind.annotation.*;
  * This controller now uses PuzzleService to load configurations from puzzles.json,
  * making it easy to modify game content without changing code.
  * 
+ * Each correct answer returns a signed progress token. Answer endpoints require
+ * the latest token in the X-Progress-Token header, so puzzles must be solved in
+ * order on any instance without a shared session store.
+ * 
+ * Players sending X-Team-Id play on their co-op team's shared progression
+ * instead (see TeamService).
+ * 
+ * Texts follow the Accept-Language header (see PuzzlePackService); fixed
+ * responses are rendered once per language at startup and reused.
+ * 
  * Game Structure:
  * - Easy Level: 3 puzzles (room, door, hallway)
  * - Medium Level: 3 puzzles (binary, memory, process)
@@ -41,6 +66,33 @@ public class EscapeRoomController {
     @Autowired
     private PuzzleService puzzleService;
 
+    @Autowired
+    private PlayerProgressService progressService;
+
+    @Autowired
+    private HintService hintService;
+
+    @Autowired
+    private ChallengeService challengeService;
+
+    @Autowired
+    private ProgressTokenService progressTokenService;
+
+    @Autowired
+    private PuzzlePackService packService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private AttemptJournal attemptJournal;
+
+    @Autowired
+    private SolveTimeRecorder solveTimeRecorder;
+
+    @Value("${escape.progress.enforce-order:true}")
+    private boolean enforceOrder;
+
     // ========================================
     // EASY LEVEL - 3 Puzzles
     // ========================================
@@ -61,16 +113,10 @@ public class EscapeRoomController {
         @ApiResponse(responseCode = "200", description = "Room description and hint returned successfully")
     })
     @GetMapping("/room")
-    public ResponseEntity<RoomResponse> getRoom() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/room")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        RoomResponse response = new RoomResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RoomResponse> getRoom(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/room", playerId, language, RoomResponse::new);
     }
 
     /**
@@ -93,38 +139,13 @@ public class EscapeRoomController {
     @PostMapping("/door")
     public ResponseEntity<DoorResponse> openDoor(
         @Parameter(description = "Door unlock request with key", required = true)
-        @RequestBody DoorRequest request) {
-        
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/door")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String key = request.getKey();
-        
-        if (key == null) {
-            return ResponseEntity.badRequest().body(
-                new DoorResponse(
-                    "You must provide a key.",
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
-        
-        // Use the service to validate the answer
-        if (puzzleService.isAnswerCorrect(puzzle, key)) {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
-            );
-        } else {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
+        @RequestBody DoorRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/door", request.getKey(), request.getChallenge(),
+                new AnswerHeaders(playerId, progressToken, teamId, language), DoorResponse::new);
     }
 
     /**
@@ -141,16 +162,10 @@ public class EscapeRoomController {
     )
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Hallway description returned successfully")})
     @GetMapping("/hallway")
-    public ResponseEntity<HallwayResponse> getHallway() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/hallway")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        HallwayResponse response = new HallwayResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<HallwayResponse> getHallway(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/hallway", playerId, language, HallwayResponse::new);
     }
 
     // ========================================
@@ -161,7 +176,8 @@ public class EscapeRoomController {
      * POST /binary-puzzle - Medium Level: Puzzle 1/3
      * 
      * First medium-level challenge: Binary to Decimal conversion.
-     * The correct answer is "10" (1010 in binary = 10 in decimal).
+     * The answer is the decimal value of the binary number shown by /hallway,
+     * sent with that view's challenge token.
      * 
      * @param request DoorRequest containing the answer
      * @return ResponseEntity with success or failure message
@@ -170,38 +186,17 @@ public class EscapeRoomController {
         summary = "📘 MEDIUM 1/3: Binary Challenge",
         description = "First medium-level challenge: Binary to Decimal conversion."
     )
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Binary puzzle response")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Binary puzzle response"),
+        @ApiResponse(responseCode = "403", description = "Earlier puzzles not solved or progress token missing")})
     @PostMapping("/binary-puzzle")
-    public ResponseEntity<DoorResponse> solveBinaryPuzzle(@RequestBody DoorRequest request) {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/binary-puzzle")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String key = request.getKey();
-        
-        if (key == null) {
-            return ResponseEntity.badRequest().body(
-                new DoorResponse(
-                    "You must provide an answer.",
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
-        
-        if (puzzleService.isAnswerCorrect(puzzle, key)) {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
-            );
-        } else {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
+    public ResponseEntity<DoorResponse> solveBinaryPuzzle(
+        @RequestBody DoorRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/binary-puzzle", request.getKey(), request.getChallenge(),
+                new AnswerHeaders(playerId, progressToken, teamId, language), DoorResponse::new);
     }
 
     /**
@@ -217,16 +212,10 @@ public class EscapeRoomController {
     )
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Memory chamber description returned successfully")})
     @GetMapping("/memory-chamber")
-    public ResponseEntity<RoomResponse> getMemoryChamber() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/memory-chamber")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        RoomResponse response = new RoomResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RoomResponse> getMemoryChamber(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/memory-chamber", playerId, language, RoomResponse::new);
     }
 
     /**
@@ -242,38 +231,17 @@ public class EscapeRoomController {
         summary = "📘 MEDIUM 3/3: Memory Puzzle",
         description = "Second medium-level challenge: Memory hierarchy knowledge."
     )
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Memory puzzle response")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Memory puzzle response"),
+        @ApiResponse(responseCode = "403", description = "Earlier puzzles not solved or progress token missing")})
     @PostMapping("/memory-puzzle")
-    public ResponseEntity<DoorResponse> solveMemoryPuzzle(@RequestBody DoorRequest request) {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/memory-puzzle")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String key = request.getKey();
-        
-        if (key == null) {
-            return ResponseEntity.badRequest().body(
-                new DoorResponse(
-                    "You must provide an answer.",
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
-        
-        if (puzzleService.isAnswerCorrect(puzzle, key)) {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
-            );
-        } else {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
+    public ResponseEntity<DoorResponse> solveMemoryPuzzle(
+        @RequestBody DoorRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/memory-puzzle", request.getKey(), request.getChallenge(),
+                new AnswerHeaders(playerId, progressToken, teamId, language), DoorResponse::new);
     }
 
     /**
@@ -289,16 +257,10 @@ public class EscapeRoomController {
     )
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Process hall description returned successfully")})
     @GetMapping("/process-hall")
-    public ResponseEntity<RoomResponse> getProcessHall() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/process-hall")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        RoomResponse response = new RoomResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RoomResponse> getProcessHall(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/process-hall", playerId, language, RoomResponse::new);
     }
 
     /**
@@ -314,38 +276,17 @@ public class EscapeRoomController {
         summary = "📘 MEDIUM 5/3: Process Puzzle",
         description = "Third medium-level challenge: Operating system knowledge."
     )
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Process puzzle response")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Process puzzle response"),
+        @ApiResponse(responseCode = "403", description = "Earlier puzzles not solved or progress token missing")})
     @PostMapping("/process-puzzle")
-    public ResponseEntity<DoorResponse> solveProcessPuzzle(@RequestBody DoorRequest request) {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/process-puzzle")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String key = request.getKey();
-        
-        if (key == null) {
-            return ResponseEntity.badRequest().body(
-                new DoorResponse(
-                    "You must provide an answer.",
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
-        
-        if (puzzleService.isAnswerCorrect(puzzle, key)) {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
-            );
-        } else {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
+    public ResponseEntity<DoorResponse> solveProcessPuzzle(
+        @RequestBody DoorRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/process-puzzle", request.getKey(), request.getChallenge(),
+                new AnswerHeaders(playerId, progressToken, teamId, language), DoorResponse::new);
     }
 
     // ========================================
@@ -365,23 +306,18 @@ public class EscapeRoomController {
     )
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Cryptic terminal description returned successfully")})
     @GetMapping("/cryptic-terminal")
-    public ResponseEntity<RoomResponse> getCrypticTerminal() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/cryptic-terminal")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        RoomResponse response = new RoomResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RoomResponse> getCrypticTerminal(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/cryptic-terminal", playerId, language, RoomResponse::new);
     }
 
     /**
      * POST /crypto-puzzle - Hard Level: Puzzle 1/3
      * 
      * First hard-level challenge: Base64 decoding.
-     * The correct answer is "base64:hello world".
+     * The answer is the decoded text shown by /cryptic-terminal, sent with
+     * that view's challenge token.
      * 
      * @param request DoorRequest containing the answer
      * @return ResponseEntity with success or failure message
@@ -390,38 +326,17 @@ public class EscapeRoomController {
         summary = "📕 HARD 2/3: Crypto Puzzle",
         description = "First hard-level challenge: Base64 decoding."
     )
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Crypto puzzle response")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Crypto puzzle response"),
+        @ApiResponse(responseCode = "403", description = "Earlier puzzles not solved or progress token missing")})
     @PostMapping("/crypto-puzzle")
-    public ResponseEntity<DoorResponse> solveCryptoPuzzle(@RequestBody DoorRequest request) {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/crypto-puzzle")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String key = request.getKey();
-        
-        if (key == null) {
-            return ResponseEntity.badRequest().body(
-                new DoorResponse(
-                    "You must provide an answer.",
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
-        
-        if (puzzleService.isAnswerCorrect(puzzle, key)) {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
-            );
-        } else {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
+    public ResponseEntity<DoorResponse> solveCryptoPuzzle(
+        @RequestBody DoorRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/crypto-puzzle", request.getKey(), request.getChallenge(),
+                new AnswerHeaders(playerId, progressToken, teamId, language), DoorResponse::new);
     }
 
     /**
@@ -437,16 +352,10 @@ public class EscapeRoomController {
     )
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Root access description returned successfully")})
     @GetMapping("/root-access")
-    public ResponseEntity<RoomResponse> getRootAccess() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/root-access")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        RoomResponse response = new RoomResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RoomResponse> getRootAccess(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/root-access", playerId, language, RoomResponse::new);
     }
 
     /**
@@ -462,38 +371,17 @@ public class EscapeRoomController {
         summary = "📕 HARD 4/3: Root Puzzle",
         description = "Second hard-level challenge: UNIX/Linux superuser knowledge."
     )
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Root puzzle response")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Root puzzle response"),
+        @ApiResponse(responseCode = "403", description = "Earlier puzzles not solved or progress token missing")})
     @PostMapping("/root-puzzle")
-    public ResponseEntity<DoorResponse> solveRootPuzzle(@RequestBody DoorRequest request) {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/root-puzzle")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String key = request.getKey();
-        
-        if (key == null) {
-            return ResponseEntity.badRequest().body(
-                new DoorResponse(
-                    "Access denied. Provide credentials.",
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
-        
-        if (puzzleService.isAnswerCorrect(puzzle, key)) {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
-            );
-        } else {
-            return ResponseEntity.ok(
-                new DoorResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
-        }
+    public ResponseEntity<DoorResponse> solveRootPuzzle(
+        @RequestBody DoorRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/root-puzzle", request.getKey(), request.getChallenge(),
+                new AnswerHeaders(playerId, progressToken, teamId, language), DoorResponse::new);
     }
 
     /**
@@ -509,16 +397,10 @@ public class EscapeRoomController {
     )
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Final chamber description returned successfully")})
     @GetMapping("/final-chamber")
-    public ResponseEntity<RoomResponse> getFinalChamber() {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/final-chamber")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        RoomResponse response = new RoomResponse(
-            puzzle.getMessage(),
-            puzzle.getHint(),
-            puzzle.getStatus()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RoomResponse> getFinalChamber(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return view("/final-chamber", playerId, language, RoomResponse::new);
     }
 
     /**
@@ -534,40 +416,318 @@ public class EscapeRoomController {
         summary = "📕 HARD 6/3: FINAL ESCAPE",
         description = "The ultimate challenge. Free the digital soul and escape the Ghost Server!"
     )
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Escape attempt response")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Escape attempt response"),
+        @ApiResponse(responseCode = "403", description = "Earlier puzzles not solved or progress token missing")})
     @PostMapping("/escape")
-    public ResponseEntity<EscapeResponse> escape(@RequestBody EscapeRequest request) {
-        Puzzle puzzle = puzzleService.getPuzzleByEndpoint("/escape")
-                .orElseThrow(() -> new RuntimeException("Puzzle not found"));
-        
-        String finalKey = request.getFinal_key();
+    public ResponseEntity<EscapeResponse> escape(
+        @RequestBody EscapeRequest request,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = ProgressTokenService.TOKEN_HEADER, required = false) String progressToken,
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        return answer("/escape", request.getFinal_key(), null,
+                new AnswerHeaders(playerId, progressToken, teamId, language), EscapeResponse::new);
+    }
+
+    // ========================================
+    // PLAYER PROGRESS
+    // ========================================
+
+    /**
+     * GET /progress - Player Progress
+     * 
+     * Lists the puzzles solved by the player identified by X-Player-Id.
+     * In cluster mode the request is served by the node that owns the player.
+     * 
+     * @param playerId The player ID header
+     * @return ResponseEntity with the solved puzzles
+     */
+    @Operation(
+        summary = "📊 Player Progress",
+        description = "See which puzzles the player identified by the X-Player-Id header has solved."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Progress returned successfully"),
+        @ApiResponse(responseCode = "400", description = "Missing X-Player-Id header")
+    })
+    @GetMapping("/progress")
+    public ResponseEntity<ProgressResponse> getProgress(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId) {
         
-        if (finalKey == null) {
+        if (!PlayerProgressService.isValidPlayerId(playerId)) {
             return ResponseEntity.badRequest().body(
-                new EscapeResponse(
-                    "You must provide the final key to escape.",
-                    puzzle.getFailureStatus()
-                )
+                new ProgressResponse(null, List.of(), false)
             );
         }
         
-        if (puzzleService.isAnswerCorrect(puzzle, finalKey)) {
-            return ResponseEntity.ok(
-                new EscapeResponse(
-                    puzzle.getSuccessMessage(),
-                    puzzle.getSuccessStatus()
-                )
+        long solvedMask = progressService.getProgress(playerId)
+                .map(PlayerProgress::getSolvedMask)
+                .orElse(0L);
+        List<String> solved = puzzleService.getAllPuzzles().stream()
+                .filter(p -> (solvedMask & PlayerProgressService.maskOf(p)) != 0)
+                .map(Puzzle::getEndpoint)
+                .toList();
+        boolean escaped = puzzleService.hasEscaped(solvedMask);
+        return ResponseEntity.ok(new ProgressResponse(playerId, solved, escaped));
+    }
+
+    /**
+     * GET /team - Team Progress
+     * 
+     * Lists the puzzles solved together by the team identified by X-Team-Id.
+     * In cluster mode the request is served by the node that owns the team.
+     * 
+     * @param teamId The team ID header
+     * @return ResponseEntity with the team's members and solved puzzles
+     */
+    @Operation(
+        summary = "👥 Team Progress",
+        description = "See which puzzles the co-op team identified by the X-Team-Id header has solved. " +
+                     "Members join by sending X-Team-Id together with X-Player-Id."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Team progress returned successfully"),
+        @ApiResponse(responseCode = "400", description = "Missing X-Team-Id header")
+    })
+    @GetMapping("/team")
+    public ResponseEntity<TeamResponse> getTeam(
+        @RequestHeader(value = TeamService.TEAM_HEADER, required = false) String teamId) {
+        
+        if (!TeamService.isValidTeamId(teamId)) {
+            return ResponseEntity.badRequest().body(
+                new TeamResponse(null, List.of(), List.of(), false, null)
             );
+        }
+        
+        TeamService.Team team = teamService.getTeam(teamId).orElse(null);
+        if (team == null) {
+            return ResponseEntity.ok(new TeamResponse(teamId, List.of(), List.of(), false, null));
+        }
+        TeamService.TeamState state = team.getState();
+        List<String> members = team.getMembers().stream().sorted().toList();
+        long solvedMask = state.solvedMask();
+        List<String> solved = puzzleService.getAllPuzzles().stream()
+                .filter(p -> (solvedMask & PlayerProgressService.maskOf(p)) != 0)
+                .map(Puzzle::getEndpoint)
+                .toList();
+        boolean escaped = puzzleService.hasEscaped(solvedMask);
+        return ResponseEntity.ok(new TeamResponse(teamId, members, solved, escaped, state.lastSolver()));
+    }
+
+    /**
+     * Headers every answer endpoint reads.
+     */
+    private record AnswerHeaders(String playerId, String progressToken, String teamId, String language) {
+    }
+
+    /**
+     * Constructor of a view response carrying the player's own challenge.
+     */
+    @FunctionalInterface
+    private interface ChallengeView<T> {
+        T create(CharSequence message, CharSequence hint, String status, String challenge);
+    }
+
+    /**
+     * Constructor of an answer response; the progress token is null for wrong answers.
+     */
+    @FunctionalInterface
+    private interface AnswerResponse<T> {
+        T create(CharSequence message, String status, String progressToken);
+    }
+
+    /**
+     * Serve the puzzle at a GET endpoint: the pre-rendered view, or the
+     * player's own instance of a generator puzzle.
+     */
+    private <T> ResponseEntity<T> view(String endpoint, String playerId, String language, ChallengeView<T> response) {
+        PuzzleViewEvent event = new PuzzleViewEvent();
+        event.begin();
+        PuzzlePackService.Page page = page(language, endpoint);
+        Puzzle puzzle = page.puzzle();
+
+        recordView(playerId, puzzle);
+        ChallengeService.Challenge challenge = issueChallenge(playerId, puzzle);
+        event.finish(puzzle, PlayerProgressService.isValidPlayerId(playerId), challenge != null);
+
+        if (challenge == null) {
+            return ResponseEntity.ok(page.view());
+        }
+        return ResponseEntity.ok(response.create(
+            challenge.render(puzzle.getChallengeMessage()),
+            puzzle.getHint(),
+            puzzle.getStatus(),
+            challenge.token()
+        ));
+    }
+
+    /**
+     * Check an answer to the puzzle at a POST endpoint: sequence, challenge
+     * and answer, then record the attempt and issue the next progress token.
+     */
+    private <T> ResponseEntity<T> answer(String endpoint, String answer, String challengeToken,
+                                         AnswerHeaders headers, AnswerResponse<T> response) {
+        AnswerAttemptEvent event = new AnswerAttemptEvent();
+        event.begin();
+        PuzzlePackService.Page page = page(headers.language(), endpoint);
+        Puzzle puzzle = page.puzzle();
+        String playerId = headers.playerId();
+
+        if (answer == null) {
+            finishAttempt(event, playerId, puzzle, AnswerAttemptEvent.MISSING_ANSWER);
+            return ResponseEntity.badRequest().body(page.missingAnswer());
+        }
+
+        long solved = solvedPuzzles(playerId, headers.teamId(), headers.progressToken());
+        if (!isUnlocked(puzzle, solved)) {
+            finishAttempt(event, playerId, puzzle, AnswerAttemptEvent.SEQUENCE_LOCKED);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(page.locked());
+        }
+
+        ChallengeService.Challenge challenge = verifyChallenge(playerId, puzzle, challengeToken);
+        if (!isAnswerCorrect(puzzle, challenge, answer)) {
+            recordAttempt(event, playerId, headers.teamId(), puzzle, false);
+            return ResponseEntity.ok(failureResponse(page, challenge, response));
+        }
+        recordAttempt(event, playerId, headers.teamId(), puzzle, true);
+        return ResponseEntity.ok(response.create(
+            resultMessage(puzzle.getSuccessMessage(), puzzle.getChallengeSuccessMessage(), challenge),
+            puzzle.getSuccessStatus(),
+            progressTokenService.issue(playerId, solved | PlayerProgressService.maskOf(puzzle))
+        ));
+    }
+
+    /**
+     * Solved puzzles the sequence is checked against: the team's shared
+     * progression for identified team members, otherwise the progress token.
+     */
+    private long solvedPuzzles(String playerId, String teamId, String progressToken) {
+        if (isTeamPlay(playerId, teamId)) {
+            return teamService.getSolvedMask(teamId, playerId);
+        }
+        return progressTokenService.verify(playerId, progressToken);
+    }
+
+    private static boolean isTeamPlay(String playerId, String teamId) {
+        return PlayerProgressService.isValidPlayerId(playerId) && TeamService.isValidTeamId(teamId);
+    }
+
+    /**
+     * Check the puzzle sequence against the solved puzzles.
+     */
+    private boolean isUnlocked(Puzzle puzzle, long solvedMask) {
+        return !enforceOrder || puzzleService.isUnlocked(puzzle, solvedMask);
+    }
+
+    /**
+     * Generate the player's own instance of the puzzle presented by a view,
+     * if that puzzle has a generator. Anonymous players get a random instance.
+     */
+    private ChallengeService.Challenge issueChallenge(String playerId, Puzzle view) {
+        if (view.getChallengeMessage() == null) {
+            return null;
+        }
+        return puzzleService.getAnswerPuzzleFor(view.getEndpoint())
+                .filter(p -> p.getGenerator() != null)
+                .map(p -> challengeService.issue(challengePlayer(playerId), p))
+                .orElse(null);
+    }
+
+    /**
+     * Verify the challenge token sent with an answer.
+     */
+    private ChallengeService.Challenge verifyChallenge(String playerId, Puzzle puzzle, String token) {
+        return challengeService.verify(challengePlayer(playerId), puzzle, token);
+    }
+
+    /**
+     * Challenges are bound to identified players. Anyone else gets a random
+     * instance per view, valid only with the token issued for it and only
+     * until that token expires.
+     */
+    private static String challengePlayer(String playerId) {
+        return PlayerProgressService.isValidPlayerId(playerId) ? playerId : null;
+    }
+
+    /**
+     * Generator puzzles must be answered with the instance the player was
+     * shown, identified or not; the rest are checked against puzzles.json.
+     */
+    private boolean isAnswerCorrect(Puzzle puzzle, ChallengeService.Challenge challenge, String answer) {
+        if (puzzle.getGenerator() != null) {
+            return challenge != null && challengeService.isAnswerCorrect(challenge, answer);
+        }
+        return puzzleService.isAnswerCorrect(puzzle, answer);
+    }
+
+    private CharSequence resultMessage(CharSequence message, CharSequence challengeMessage,
+                                       ChallengeService.Challenge challenge) {
+        return challenge != null && challengeMessage != null ? challenge.render(challengeMessage) : message;
+    }
+
+    /**
+     * Wrong answer: the pre-rendered failure, unless the player's own challenge must be echoed back.
+     */
+    private <T> T failureResponse(PuzzlePackService.Page page, ChallengeService.Challenge challenge,
+                                  AnswerResponse<T> response) {
+        Puzzle puzzle = page.puzzle();
+        if (challenge == null || puzzle.getChallengeFailureMessage() == null) {
+            return page.failure();
+        }
+        return response.create(challenge.render(puzzle.getChallengeFailureMessage()), puzzle.getFailureStatus(), null);
+    }
+
+    /**
+     * Get a puzzle rendered in the language of the Accept-Language header.
+     */
+    private PuzzlePackService.Page page(String language, String endpoint) {
+        PuzzlePackService.Page page = packService.resolve(language).page(endpoint);
+        if (page == null) {
+            throw new RuntimeException("Puzzle not found");
+        }
+        return page;
+    }
+
+    /**
+     * Start the hint clock when an identified player views a puzzle.
+     */
+    private void recordView(String playerId, Puzzle puzzle) {
+        if (PlayerProgressService.isValidPlayerId(playerId)) {
+            hintService.startClock(playerId, puzzle);
+            solveTimeRecorder.viewed(playerId, puzzle);
+        }
+    }
+
+    /**
+     * Remember an answer attempt for identified players; anonymous play is not tracked.
+     * A correct answer from a team member also advances the team, once per puzzle.
+     */
+    private void recordAttempt(AnswerAttemptEvent event, String playerId, String teamId, Puzzle puzzle, boolean correct) {
+        finishAttempt(event, playerId, puzzle, correct ? AnswerAttemptEvent.CORRECT : AnswerAttemptEvent.INCORRECT);
+        if (!PlayerProgressService.isValidPlayerId(playerId)) {
+            return;
+        }
+        solveTimeRecorder.attempted(playerId, puzzle, correct);
+        if (correct) {
+            if (TeamService.isValidTeamId(teamId)) {
+                teamService.recordSolve(teamId, playerId, puzzle);
+            }
+            progressService.recordSolve(playerId, puzzle);
+            hintService.stopClock(playerId, puzzle);
         } else {
-            return ResponseEntity.ok(
-                new EscapeResponse(
-                    puzzle.getFailureMessage(),
-                    puzzle.getFailureStatus()
-                )
-            );
+            hintService.startClock(playerId, puzzle);
         }
     }
 
+    /**
+     * Close the JFR event of an answer attempt (a no-op unless the event is enabled)
+     * and journal the attempt for export.
+     */
+    private void finishAttempt(AnswerAttemptEvent event, String playerId, Puzzle puzzle, String outcome) {
+        event.finish(puzzle, outcome, PlayerProgressService.isValidPlayerId(playerId));
+        attemptJournal.record(playerId, puzzle, outcome);
+    }
+
     /**
      * GET / - Welcome Endpoint
      * 
@@ -583,32 +743,9 @@ public class EscapeRoomController {
         @ApiResponse(responseCode = "200", description = "Welcome message with complete game guide")
     })
     @GetMapping("/")
-    public ResponseEntity<String> welcome() {
-        return ResponseEntity.ok(
-            "👻 Welcome to The Phantom Code: Escape from the Haunted Server 👻\n\n" +
-            "During a late-night maintenance session, you discovered a forgotten server.\n" +
-            "Project ECHO - Artificial Consciousness Simulation - awaits your help.\n\n" +
-            "=== GAME STRUCTURE ===\n" +
-            "Complete 9 puzzles across 3 difficulty levels:\n\n" +
-            "📗 EASY LEVEL (3 puzzles):\n" +
-            "  1. GET  /room              - Wake up in the electric room\n" +
-            "  2. POST /door              - Unlock the first door\n" +
-            "  3. GET  /hallway           - Enter the code corridor\n\n" +
-            "📘 MEDIUM LEVEL (3 puzzles):\n" +
-            "  4. POST /binary-puzzle     - Solve binary conversion\n" +
-            "  5. GET  /memory-chamber    - View memory challenge\n" +
-            "     POST /memory-puzzle     - Solve memory hierarchy\n" +
-            "  6. GET  /process-hall      - View process challenge\n" +
-            "     POST /process-puzzle    - Identify OS core\n\n" +
-            "📕 HARD LEVEL (3 puzzles):\n" +
-            "  7. GET  /cryptic-terminal  - View crypto challenge\n" +
-            "     POST /crypto-puzzle     - Decode the message\n" +
-            "  8. GET  /root-access       - View root challenge\n" +
-            "     POST /root-puzzle       - Identify superuser\n" +
-            "  9. GET  /final-chamber     - View final challenge\n" +
-            "     POST /escape            - FINAL ESCAPE ATTEMPT\n\n" +
-            "Good luck... The Ghost Server is waiting.\n\n" +
-            "Created by: Johan Gloria, Melany Rivera, Jese Sanchez, Luis Mendoza, Leonel Campos"
-        );
+    public ResponseEntity<CharSequence> welcome(
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        // Rendered once per pack: a heap String, or an ArenaText written straight from the arena
+        return ResponseEntity.ok(packService.resolve(language).getWelcome());
     }
 }
@@ -0,0 +1,91 @@
+package com.spookathon.demo.controller;
+
+import com.spookathon.demo.model.HintResponse;
+import com.spookathon.demo.service.HintService;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.PuzzlePackService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for progressive hints.
+ * 
+ * Hints defined in the "hints" list of each puzzle in puzzles.json unlock
+ * while a player stays stuck on that puzzle. Players are identified by the
+ * X-Player-Id header; hint texts follow the Accept-Language header.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@RestController
+@RequestMapping("/hints")
+@Tag(name = "💡 Hints", description = "Progressive hints that unlock while you are stuck on a puzzle")
+public class HintController {
+
+    @Autowired
+    private HintService hintService;
+
+    @Autowired
+    private PuzzlePackService packService;
+
+    /**
+     * GET /hints - Poll unlocked hints for a puzzle.
+     * 
+     * @param puzzle Endpoint of the puzzle (e.g., "/door" or "/room")
+     * @param playerId The player ID header
+     * @return ResponseEntity with unlocked hints and time until the next one
+     */
+    @Operation(
+        summary = "💡 Unlocked Hints",
+        description = "List the hints unlocked so far for a puzzle. The clock starts when you first view or attempt the puzzle."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Unlocked hints returned successfully"),
+        @ApiResponse(responseCode = "400", description = "Missing X-Player-Id header")
+    })
+    @GetMapping
+    public ResponseEntity<HintResponse> getHints(
+        @Parameter(description = "Puzzle endpoint, e.g. /door", required = true)
+        @RequestParam String puzzle,
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        
+        if (!PlayerProgressService.isValidPlayerId(playerId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hintService.getHints(playerId, puzzle, packService.resolve(language)));
+    }
+
+    /**
+     * GET /hints/stream - Receive hints as they unlock (Server-Sent Events).
+     * 
+     * @param playerId The player ID header
+     * @return Event stream with one "hint" event per unlocked hint
+     */
+    @Operation(
+        summary = "📡 Hint Stream",
+        description = "Server-Sent Events stream that pushes each hint as soon as it unlocks."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamHints(
+        @RequestHeader(value = PlayerProgressService.PLAYER_HEADER, required = false) String playerId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String language) {
+        
+        if (!PlayerProgressService.isValidPlayerId(playerId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hintService.subscribe(playerId, packService.resolve(language)));
+    }
+}
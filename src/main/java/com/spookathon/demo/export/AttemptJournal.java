@@ -0,0 +1,210 @@
+package com.spookathon.demo.export;
+
+import com.spookathon.demo.config.ExportProperties;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PlayerProgressService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Journals every answer attempt to local disk for {@link GameExporter}.
+ * 
+ * Like traffic capture, request threads only offer a record to a bounded
+ * queue and a background writer appends batches to the file, so journaling
+ * never blocks a player. Attempts of synthetic warm-up players are skipped.
+ * 
+ * The writer starts a new file once the current one reaches
+ * escape.export.rotate-megabytes, and older files are deleted once they
+ * are past escape.export.retention-hours or the directory grows beyond
+ * escape.export.max-total-megabytes, so the journal never fills the disk.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class AttemptJournal {
+
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long MEGABYTE = 1024 * 1024;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final ExportProperties properties;
+    private final BlockingQueue<AttemptRecord> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Path file;
+    private long openedAt;
+    private Thread writer;
+    private volatile boolean running;
+
+    public AttemptJournal(ExportProperties properties) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    /**
+     * Apply retention and open a new journal file when journaling is enabled.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(getDirectory());
+        enforceRetention();
+        DataOutputStream out = open();
+        running = true;
+        writer = new Thread(() -> runWriter(out), "attempt-journal");
+        writer.setDaemon(true);
+        writer.start();
+        System.out.println("📒 Journaling answer attempts to " + file);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    public Path getDirectory() {
+        return Path.of(properties.getDirectory());
+    }
+
+    /**
+     * Queue an answer attempt for writing. Never blocks.
+     * 
+     * @param playerId The X-Player-Id header, may be null
+     * @param puzzle The attempted puzzle
+     * @param outcome One of {@link AttemptLog#OUTCOMES}
+     */
+    public void record(String playerId, Puzzle puzzle, String outcome) {
+        if (!running) {
+            return;
+        }
+        boolean identified = PlayerProgressService.isValidPlayerId(playerId);
+        if (PlayerProgressService.isSyntheticPlayer(playerId)) {
+            return;
+        }
+        AttemptRecord attempt = new AttemptRecord(System.currentTimeMillis(), identified ? playerId : "",
+                puzzle.getId(), outcome);
+        if (!queue.offer(attempt)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Delete journal files past the retention age, then the oldest ones while
+     * the directory is over its size cap. The file being written is kept.
+     */
+    @Scheduled(fixedRate = 10, timeUnit = TimeUnit.MINUTES)
+    public void enforceRetention() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            List<Path> files = AttemptLog.files(getDirectory());
+            long total = 0;
+            for (Path journal : files) {
+                total += Files.size(journal);
+            }
+            long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(properties.getRetentionHours());
+            long maxTotal = properties.getMaxTotalMegabytes() * MEGABYTE;
+            for (Path journal : files) {
+                if (journal.equals(file)) {
+                    continue;
+                }
+                long size = Files.size(journal);
+                if (total > maxTotal || Files.getLastModifiedTime(journal).toMillis() < cutoff) {
+                    Files.deleteIfExists(journal);
+                    total -= size;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Attempt journal retention failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the queued attempts and close the journal file.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("📒 Attempt journal closed: " + file
+                + (dropped.get() > 0 ? " (" + dropped.get() + " attempts dropped)" : ""));
+    }
+
+    /**
+     * Start a journal file named by its start time, kept unique and increasing
+     * even when files rotate within the same millisecond.
+     */
+    private DataOutputStream open() throws IOException {
+        openedAt = Math.max(System.currentTimeMillis(), openedAt + 1);
+        Path next = getDirectory().resolve(AttemptLog.PREFIX + FILE_TIME.format(Instant.ofEpochMilli(openedAt))
+                + AttemptLog.SUFFIX);
+        DataOutputStream out = AttemptLog.create(next, openedAt);
+        file = next;
+        return out;
+    }
+
+    private void runWriter(DataOutputStream opened) {
+        List<AttemptRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        long rotateBytes = Math.min(properties.getRotateMegabytes() * MEGABYTE, Integer.MAX_VALUE);
+        DataOutputStream out = opened;
+        try {
+            while (running || !queue.isEmpty()) {
+                AttemptRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                for (AttemptRecord attempt : batch) {
+                    AttemptLog.write(out, attempt);
+                }
+                batch.clear();
+                out.flush();
+                if (out.size() >= rotateBytes) {
+                    out.close();
+                    out = open();
+                }
+            }
+        } catch (IOException e) {
+            running = false;
+            System.err.println("❌ Attempt journal stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("❌ Attempt journal not closed cleanly: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.spookathon.demo.export;
+
+import com.spookathon.demo.jfr.AnswerAttemptEvent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Binary file format of the attempt journal.
+ * 
+ * Layout: int magic, short version, long journal start (epoch millis), then
+ * records of long timestamp, byte puzzleId, byte outcome (index into
+ * {@link #OUTCOMES}), UTF playerId. Files are only ever appended to and are
+ * read back one record at a time, so exports never hold more than a record.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class AttemptLog {
+
+    static final int MAGIC = 0x45534154;
+    static final short VERSION = 1;
+    static final String PREFIX = "attempts-";
+    static final String SUFFIX = ".bin";
+
+    /** Attempt outcomes, in file order. */
+    public static final List<String> OUTCOMES = List.of(
+            AnswerAttemptEvent.CORRECT, AnswerAttemptEvent.INCORRECT,
+            AnswerAttemptEvent.MISSING_ANSWER, AnswerAttemptEvent.SEQUENCE_LOCKED);
+
+    private AttemptLog() {
+    }
+
+    /**
+     * Create a journal file and write its header.
+     */
+    static DataOutputStream create(Path file, long startedAt) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(startedAt);
+        return out;
+    }
+
+    static void write(DataOutputStream out, AttemptRecord attempt) throws IOException {
+        out.writeLong(attempt.timestamp());
+        out.writeByte(attempt.puzzleId());
+        out.writeByte(OUTCOMES.indexOf(attempt.outcome()));
+        out.writeUTF(attempt.playerId());
+    }
+
+    /**
+     * Journal files of a directory, oldest first (they are named by start time).
+     * 
+     * @param directory The journal directory
+     * @return The files, empty if the directory does not exist
+     */
+    static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Stream the attempts of every journal file in a directory, oldest file
+     * first. A record cut off at the end of a file (still being written, or
+     * a crash) ends that file; a file deleted by retention meanwhile is skipped.
+     * 
+     * @param directory The journal directory
+     * @param from First timestamp to include (epoch millis)
+     * @param to First timestamp to leave out (epoch millis)
+     * @param action Callback for each attempt in the range
+     */
+    public static void forEach(Path directory, long from, long to, Consumer<AttemptRecord> action) throws IOException {
+        for (Path file : files(directory)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+                if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                    throw new IOException("Not an attempt journal: " + file);
+                }
+                if (in.readLong() >= to) {
+                    // Files are named by start time, so every later file starts after the range too
+                    return;
+                }
+                while (true) {
+                    long timestamp = in.readLong();
+                    int puzzleId = in.readByte();
+                    int outcome = in.readByte();
+                    String playerId = in.readUTF();
+                    if (timestamp >= from && timestamp < to) {
+                        action.accept(new AttemptRecord(timestamp, playerId, puzzleId, OUTCOMES.get(outcome)));
+                    }
+                }
+            } catch (EOFException end) {
+                // End of this file, or a record that is not fully written yet
+            } catch (NoSuchFileException deleted) {
+                // Removed by retention after it was listed
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.spookathon.demo.export;
+
+/**
+ * One answer attempt as kept in the attempt journal.
+ *
+ * @param timestamp When the attempt was answered (epoch millis)
+ * @param playerId The X-Player-Id header, or empty for anonymous players
+ * @param puzzleId The attempted puzzle
+ * @param outcome correct, incorrect, missing_answer or sequence_locked
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public record AttemptRecord(long timestamp, String playerId, int puzzleId, String outcome) {
+}
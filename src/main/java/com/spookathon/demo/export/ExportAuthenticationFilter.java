@@ -0,0 +1,67 @@
+package com.spookathon.demo.export;
+
+import com.spookathon.demo.config.ExportProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Only lets requests carrying escape.export.token reach /admin/export/.
+ *
+ * Exports list every player ID and answer, so they need the token as
+ * "Authorization: Bearer &lt;token&gt;"; while no token is configured the
+ * export routes are closed altogether.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ExportAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String EXPORT_PATH = "/admin/export/";
+    private static final String BEARER = "Bearer ";
+    private static final byte[] UNAUTHORIZED_BODY = "{\"message\":\"Export token required.\",\"status\":\"unauthorized\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ExportProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(EXPORT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = properties.getToken();
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token == null || token.isEmpty() || authorization == null || !authorization.startsWith(BEARER)
+                || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                        authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8))) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(UNAUTHORIZED_BODY.length);
+            response.getOutputStream().write(UNAUTHORIZED_BODY);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
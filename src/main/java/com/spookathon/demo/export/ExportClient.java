@@ -0,0 +1,102 @@
+package com.spookathon.demo.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Downloads a play data export from a running instance.
+ *
+ * Usage: ExportClient &lt;attempts|sessions&gt; [--target=http://localhost:8080]
+ *     [--token=...] [--format=csv|ndjson] [--gzip] [--from=2025-10-31T18:00:00Z] [--to=...]
+ *     [--puzzle=10] [--level=HARD] [--out=night.csv.gz]
+ *
+ * The response is copied to the output file (or stdout) as it arrives, so
+ * exports of any size run in constant memory. With --gzip the file is
+ * written compressed, exactly as the server sent it. The export token
+ * (escape.export.token) comes from --token or the ESCAPE_EXPORT_TOKEN
+ * environment variable.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class ExportClient {
+
+    private ExportClient() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0 || GameExporter.Dataset.parse(args[0]) == null) {
+            System.err.println("Usage: ExportClient <attempts|sessions> [--target=http://localhost:8080] [--token=TOKEN] "
+                    + "[--format=csv|ndjson] [--gzip] [--from=ISO-8601] [--to=ISO-8601] [--puzzle=ID] [--level=LEVEL] [--out=FILE]");
+            System.exit(2);
+        }
+        String target = "http://localhost:8080";
+        String token = System.getenv("ESCAPE_EXPORT_TOKEN");
+        String out = null;
+        StringBuilder query = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--target=")) {
+                target = arg.substring("--target=".length());
+            } else if (arg.startsWith("--token=")) {
+                token = arg.substring("--token=".length());
+            } else if (arg.startsWith("--out=")) {
+                out = arg.substring("--out=".length());
+            } else if ("--gzip".equals(arg)) {
+                append(query, "gzip", "true");
+            } else if (arg.startsWith("--") && arg.indexOf('=') > 2) {
+                append(query, arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        if (target.endsWith("/")) {
+            target = target.substring(0, target.length() - 1);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + "/admin/export/" + args[0].toLowerCase()
+                + (query.isEmpty() ? "" : "?" + query))).GET();
+        if (token != null && !token.isEmpty()) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                System.err.println("❌ Export failed with HTTP " + response.statusCode() + ": "
+                        + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                System.exit(1);
+            }
+            if (out == null) {
+                body.transferTo(System.out);
+                System.out.flush();
+                return;
+            }
+            long bytes;
+            try (OutputStream file = Files.newOutputStream(Path.of(out))) {
+                bytes = body.transferTo(file);
+            }
+            System.err.println("✅ Wrote " + bytes + " bytes to " + out);
+        }
+    }
+
+    private static void append(StringBuilder query, String name, String value) {
+        if (!query.isEmpty()) {
+            query.append('&');
+        }
+        query.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package com.spookathon.demo.export;
+
+import java.time.Instant;
+
+/**
+ * Which records an export includes.
+ *
+ * @param from First instant to include (epoch millis)
+ * @param to First instant to leave out (epoch millis)
+ * @param puzzleId Only this puzzle, or null for all
+ * @param level Only puzzles of this level (EASY, MEDIUM, HARD), or null for all
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public record ExportFilter(long from, long to, Integer puzzleId, String level) {
+
+    /**
+     * Build a filter from optional bounds.
+     * 
+     * @param from Start of the range, or null for the beginning
+     * @param to End of the range (exclusive), or null for now and later
+     * @param puzzleId Puzzle ID, or null
+     * @param level Puzzle level, or null
+     * @return The filter
+     */
+    public static ExportFilter of(Instant from, Instant to, Integer puzzleId, String level) {
+        return new ExportFilter(
+                from != null ? from.toEpochMilli() : Long.MIN_VALUE,
+                to != null ? to.toEpochMilli() : Long.MAX_VALUE,
+                puzzleId,
+                level != null && !level.isBlank() ? level : null);
+    }
+}
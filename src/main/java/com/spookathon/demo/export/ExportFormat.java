@@ -0,0 +1,50 @@
+package com.spookathon.demo.export;
+
+/**
+ * Output formats of the play data export.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public enum ExportFormat {
+
+    /** Comma separated values with a header row (RFC 4180 quoting). */
+    CSV("text/csv;charset=UTF-8", ".csv"),
+
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", ".ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Look up a format by name, ignoring case.
+     * 
+     * @param name "csv" or "ndjson"
+     * @return The format, or null if unknown
+     */
+    public static ExportFormat parse(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
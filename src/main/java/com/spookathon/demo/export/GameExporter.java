@@ -0,0 +1,261 @@
+package com.spookathon.demo.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.model.PlayerProgress;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.PuzzleGraph;
+import com.spookathon.demo.service.PuzzleService;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams play data for offline analysis.
+ *
+ * Attempts are read back from the {@link AttemptJournal} one record at a
+ * time and sessions are visited straight from the players held on this
+ * node; every record is written as soon as it is read, so an export of a
+ * whole night needs no more memory than a single row.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class GameExporter {
+
+    /** What to export. */
+    public enum Dataset {
+        /** One row per answer attempt. */
+        ATTEMPTS,
+        /** One row per player: start, last solve, solved puzzles, escape. */
+        SESSIONS;
+
+        public static Dataset parse(String name) {
+            for (Dataset dataset : values()) {
+                if (dataset.name().equalsIgnoreCase(name)) {
+                    return dataset;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final String[] ATTEMPT_COLUMNS = {"timestamp", "player_id", "puzzle_id", "endpoint", "level", "outcome"};
+    private static final String[] SESSION_COLUMNS = {"player_id", "started_at", "updated_at", "duration_seconds",
+            "solved_count", "solved", "escaped"};
+
+    private final PuzzleService puzzleService;
+    private final PlayerProgressService progressService;
+    private final AttemptJournal journal;
+    private final ObjectMapper objectMapper;
+
+    public GameExporter(PuzzleService puzzleService, PlayerProgressService progressService,
+                        AttemptJournal journal, ObjectMapper objectMapper) {
+        this.puzzleService = puzzleService;
+        this.progressService = progressService;
+        this.journal = journal;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write an export to a stream. The stream is finished but not closed.
+     *
+     * @param dataset Attempts or sessions
+     * @param filter Time range, puzzle and level
+     * @param format CSV or NDJSON
+     * @param gzip Whether to gzip the output
+     * @param out Destination, e.g. the response body
+     */
+    public void export(Dataset dataset, ExportFilter filter, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        Rows rows = new Rows(format, compressed != null ? compressed : out, objectMapper);
+        if (dataset == Dataset.ATTEMPTS) {
+            writeAttempts(filter, rows);
+        } else {
+            writeSessions(filter, rows);
+        }
+        rows.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    private void writeAttempts(ExportFilter filter, Rows rows) throws IOException {
+        Puzzle[] puzzles = puzzlesById();
+        rows.header(ATTEMPT_COLUMNS);
+        try {
+            AttemptLog.forEach(journal.getDirectory(), filter.from(), filter.to(), attempt -> {
+                Puzzle puzzle = puzzles[attempt.puzzleId() & (PuzzleGraph.MAX_PUZZLES - 1)];
+                if (puzzle == null || !matches(filter, puzzle)) {
+                    return;
+                }
+                rows.row(Instant.ofEpochMilli(attempt.timestamp()).toString(), attempt.playerId(), attempt.puzzleId(),
+                        puzzle.getEndpoint(), puzzle.getLevel(), attempt.outcome());
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeSessions(ExportFilter filter, Rows rows) throws IOException {
+        // Puzzles a session must have solved to pass the puzzle and level filters
+        long wanted = 0;
+        for (Puzzle puzzle : puzzleService.getAllPuzzles()) {
+            if ("POST".equalsIgnoreCase(puzzle.getMethod()) && matches(filter, puzzle)) {
+                wanted |= PlayerProgressService.maskOf(puzzle);
+            }
+        }
+        boolean filtered = filter.puzzleId() != null || filter.level() != null;
+        long required = wanted;
+        rows.header(SESSION_COLUMNS);
+        StringBuilder solved = new StringBuilder();
+        try {
+            progressService.forEachPlayer(progress -> {
+                if (progress.getUpdatedAt() < filter.from() || progress.getStartedAt() >= filter.to()
+                        || (filtered && (progress.getSolvedMask() & required) == 0)) {
+                    return;
+                }
+                writeSession(progress, solved, rows);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeSession(PlayerProgress progress, StringBuilder solved, Rows rows) {
+        long mask = progress.getSolvedMask();
+        solved.setLength(0);
+        for (Puzzle puzzle : puzzleService.getAllPuzzles()) {
+            if ((mask & PlayerProgressService.maskOf(puzzle)) != 0) {
+                if (!solved.isEmpty()) {
+                    solved.append(';');
+                }
+                solved.append(puzzle.getEndpoint());
+            }
+        }
+        rows.row(progress.getPlayerId(),
+                Instant.ofEpochMilli(progress.getStartedAt()).toString(),
+                Instant.ofEpochMilli(progress.getUpdatedAt()).toString(),
+                (progress.getUpdatedAt() - progress.getStartedAt()) / 1000,
+                Long.bitCount(mask),
+                solved.toString(),
+                puzzleService.hasEscaped(mask));
+    }
+
+    private static boolean matches(ExportFilter filter, Puzzle puzzle) {
+        return (filter.puzzleId() == null || filter.puzzleId().equals(puzzle.getId()))
+                && (filter.level() == null || filter.level().equalsIgnoreCase(puzzle.getLevel()));
+    }
+
+    private Puzzle[] puzzlesById() {
+        Puzzle[] puzzles = new Puzzle[PuzzleGraph.MAX_PUZZLES];
+        for (Puzzle puzzle : puzzleService.getAllPuzzles()) {
+            puzzles[puzzle.getId()] = puzzle;
+        }
+        return puzzles;
+    }
+
+    /**
+     * Writes rows in the chosen format. Write failures (usually a client
+     * that went away) surface as UncheckedIOException so rows can be
+     * written from callbacks.
+     */
+    private static final class Rows {
+        private final ExportFormat format;
+        private final Writer writer;
+        private final JsonGenerator json;
+        private String[] columns;
+
+        Rows(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.format = format;
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            this.json = format == ExportFormat.NDJSON ? objectMapper.getFactory().createGenerator(writer) : null;
+            if (json != null) {
+                // Rows are flushed into the buffered writer, not all the way to the client
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+                // Objects are separated by the newline written after each row
+                json.setRootValueSeparator(null);
+            }
+        }
+
+        void header(String[] columns) throws IOException {
+            this.columns = columns;
+            if (format == ExportFormat.CSV) {
+                writer.write(String.join(",", columns));
+                writer.write('\n');
+            }
+        }
+
+        void row(Object... values) {
+            try {
+                if (json != null) {
+                    json.writeStartObject();
+                    for (int i = 0; i < values.length; i++) {
+                        json.writeFieldName(columns[i]);
+                        writeJson(values[i]);
+                    }
+                    json.writeEndObject();
+                    json.flush();
+                    writer.write('\n');
+                    return;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCsv(String.valueOf(values[i]));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeJson(Object value) throws IOException {
+            if (value instanceof Number number) {
+                json.writeNumber(number.longValue());
+            } else if (value instanceof Boolean bool) {
+                json.writeBoolean(bool);
+            } else {
+                json.writeString(String.valueOf(value));
+            }
+        }
+
+        private void writeCsv(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        void flush() throws IOException {
+            if (json != null) {
+                json.flush();
+            }
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.spookathon.demo.hint;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical timing wheel for very large numbers of timers.
+ * 
+ * Level 0 has one bucket per tick; every higher level covers 64 times the
+ * range of the level below it. A timer is placed in the coarsest level that
+ * still distinguishes its deadline and moves down a level each time the
+ * wheel below completes a revolution (cascading), so scheduling and
+ * cancelling are O(1): a doubly-linked list insert or unlink.
+ * 
+ * A single daemon thread advances the wheel and runs expired tasks, so tasks
+ * must be short and must not block.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public static final class Timeout {
+        private final HierarchicalTimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private Bucket bucket;
+        private boolean cancelled;
+
+        private Timeout(HierarchicalTimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancel the task if it has not run yet.
+         * 
+         * @return true if the task was still pending
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    /** Intrusive doubly-linked list of timers. */
+    private static final class Bucket {
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        Timeout detachAll() {
+            Timeout first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Bucket[][] wheels = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Object lock = new Object();
+    private final Thread worker;
+
+    /** Next tick to be processed; guarded by lock. */
+    private long currentTick;
+    private int pending;
+    private volatile boolean running = true;
+
+    /**
+     * Create and start a wheel.
+     * 
+     * @param tick Resolution of the wheel
+     * @param unit Unit of tick
+     * @param threadName Name of the worker thread
+     */
+    public HierarchicalTimingWheel(long tick, TimeUnit unit, String threadName) {
+        this.tickNanos = unit.toNanos(tick);
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        for (Bucket[] level : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Run a task after a delay, rounded up to the next tick.
+     * 
+     * @param task The task to run on the wheel thread
+     * @param delay Delay before running
+     * @param unit Unit of delay
+     * @return Handle that can cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long elapsedTicks = (System.nanoTime() - startNanos) / tickNanos;
+        long delayTicks = (unit.toNanos(Math.max(0, delay)) + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(this, task, elapsedTicks + Math.max(1, delayTicks));
+        synchronized (lock) {
+            place(timeout);
+            pending++;
+        }
+        return timeout;
+    }
+
+    /**
+     * Number of scheduled tasks that have neither run nor been cancelled.
+     */
+    public int pendingCount() {
+        synchronized (lock) {
+            return pending;
+        }
+    }
+
+    private boolean cancel(Timeout timeout) {
+        synchronized (lock) {
+            if (timeout.cancelled || timeout.bucket == null) {
+                return false;
+            }
+            timeout.cancelled = true;
+            timeout.bucket.remove(timeout);
+            pending--;
+            return true;
+        }
+    }
+
+    /**
+     * Put a timer in the coarsest level whose slot still separates it from now.
+     * Deadlines beyond the wheel's range park in the top level and are
+     * re-placed when cascaded. Must hold lock.
+     */
+    private void place(Timeout timeout) {
+        long deadline = Math.max(timeout.deadlineTick, currentTick);
+        long delta = Math.min(deadline - currentTick, MAX_DELTA);
+        long slotTick = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((slotTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        wheels[level][index].add(timeout);
+    }
+
+    /**
+     * Process one tick: cascade higher levels when level 0 wraps, then
+     * collect the timers due in the current slot. Must hold lock.
+     */
+    private Timeout advance() {
+        int index = (int) (currentTick & WHEEL_MASK);
+        if (index == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int levelIndex = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                Timeout t = wheels[level][levelIndex].detachAll();
+                while (t != null) {
+                    Timeout next = t.next;
+                    place(t);
+                    t = next;
+                }
+                if (levelIndex != 0) {
+                    break;
+                }
+            }
+        }
+
+        Timeout due = null;
+        Timeout t = wheels[0][index].detachAll();
+        while (t != null) {
+            Timeout next = t.next;
+            if (t.deadlineTick > currentTick) {
+                // Parked beyond the wheel's range; not due yet
+                place(t);
+            } else {
+                t.bucket = null;
+                t.prev = null;
+                t.next = due;
+                due = t;
+                pending--;
+            }
+            t = next;
+        }
+        currentTick++;
+        return due;
+    }
+
+    private void run() {
+        while (running) {
+            long targetTick = (System.nanoTime() - startNanos) / tickNanos;
+            while (running) {
+                Timeout due;
+                synchronized (lock) {
+                    if (currentTick > targetTick) {
+                        break;
+                    }
+                    due = advance();
+                }
+                // Run outside the lock so tasks may schedule or cancel timers
+                while (due != null) {
+                    Timeout next = due.next;
+                    due.next = null;
+                    try {
+                        due.task.run();
+                    } catch (RuntimeException e) {
+                        System.err.println("❌ Timer task failed: " + e.getMessage());
+                    }
+                    due = next;
+                }
+            }
+            long nextTickAt = startNanos + (targetTick + 1) * tickNanos;
+            LockSupport.parkNanos(nextTickAt - System.nanoTime());
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+}
@@ -0,0 +1,64 @@
+package com.spookathon.demo.jfr;
+
+import com.spookathon.demo.model.Puzzle;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a POST answer attempt, spanning the whole handler.
+ * The submitted answer is never recorded.
+ * 
+ * Disabled unless the escape-room.jfc settings profile is active.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Name("com.spookathon.AnswerAttempt")
+@Label("Answer Attempt")
+@Description("A player submitted an answer")
+@Category({"Escape Room", "Puzzles"})
+@Enabled(false)
+@StackTrace(false)
+public class AnswerAttemptEvent extends Event {
+
+    public static final String CORRECT = "correct";
+    public static final String INCORRECT = "incorrect";
+    public static final String MISSING_ANSWER = "missing_answer";
+    public static final String SEQUENCE_LOCKED = "sequence_locked";
+
+    @Label("Puzzle ID")
+    int puzzleId;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Outcome")
+    @Description("correct, incorrect, missing_answer or sequence_locked")
+    String outcome;
+
+    @Label("Identified Player")
+    @Description("Whether the request carried X-Player-Id")
+    boolean identified;
+
+    /**
+     * End the event and record it if enabled and over the threshold.
+     */
+    public void finish(Puzzle puzzle, String outcome, boolean identified) {
+        end();
+        if (shouldCommit()) {
+            this.puzzleId = puzzle.getId();
+            this.endpoint = puzzle.getEndpoint();
+            this.outcome = outcome;
+            this.identified = identified;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.spookathon.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for loading or reloading the puzzle catalog or its locale packs.
+ * 
+ * Disabled unless the escape-room.jfc settings profile is active.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Name("com.spookathon.CatalogLoad")
+@Label("Catalog Load")
+@Description("Puzzle catalog or locale packs loaded from JSON")
+@Category({"Escape Room", "Catalog"})
+@Enabled(false)
+public class CatalogLoadEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Reload")
+    @Description("Whether a catalog was already loaded")
+    boolean reload;
+
+    @Label("Entries")
+    @Description("Puzzles or locale packs loaded")
+    int entries;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * End the event and record it if enabled and over the threshold.
+     */
+    public void finish(String source, boolean reload, int entries, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.reload = reload;
+            this.entries = entries;
+            this.success = success;
+            commit();
+        }
+    }
+}
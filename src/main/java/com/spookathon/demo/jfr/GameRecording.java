@@ -0,0 +1,84 @@
+package com.spookathon.demo.jfr;
+
+import com.spookathon.demo.config.JfrProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Optional flight recording started by the application itself, for hosts
+ * where JVM flags cannot be changed.
+ * 
+ * Combines a JDK profile (GC, CPU samples, locks...) with the escape-room.jfc
+ * game events and writes the recording to disk on exit; it can also be
+ * dumped at any time with "jcmd <pid> JFR.dump name=escape-room".
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class GameRecording {
+
+    /** Settings profile enabling the game events. */
+    public static final String PROFILE = "jfr/escape-room.jfc";
+
+    private final JfrProperties properties;
+    private Recording recording;
+
+    public GameRecording(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(properties.getSettings()).getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(PROFILE).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        Path destination = Path.of(properties.getDestination()).toAbsolutePath();
+        Files.createDirectories(destination.getParent());
+        recording = new Recording(settings);
+        recording.setName("escape-room");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(properties.getMaxAgeMinutes()));
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        System.out.println("🎥 Flight recording started (" + properties.getSettings() + " + " + PROFILE + "), dumps to " + destination);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return;
+        }
+        try {
+            // Stopping writes the recording to its destination
+            recording.stop();
+        } catch (IllegalStateException e) {
+            // The JVM's own JFR shutdown hook stopped and wrote it first
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.spookathon.demo.jfr;
+
+import com.spookathon.demo.model.Puzzle;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a GET puzzle view, spanning the whole handler.
+ * 
+ * Disabled unless the escape-room.jfc settings profile is active.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Name("com.spookathon.PuzzleView")
+@Label("Puzzle View")
+@Description("A player viewed a puzzle")
+@Category({"Escape Room", "Puzzles"})
+@Enabled(false)
+@StackTrace(false)
+public class PuzzleViewEvent extends Event {
+
+    @Label("Puzzle ID")
+    int puzzleId;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Identified Player")
+    @Description("Whether the request carried X-Player-Id")
+    boolean identified;
+
+    @Label("Personal Challenge")
+    @Description("Whether a per-player challenge was generated")
+    boolean challenge;
+
+    /**
+     * End the event and record it if enabled and over the threshold.
+     */
+    public void finish(Puzzle puzzle, boolean identified, boolean challenge) {
+        end();
+        if (shouldCommit()) {
+            this.puzzleId = puzzle.getId();
+            this.endpoint = puzzle.getEndpoint();
+            this.identified = identified;
+            this.challenge = challenge;
+            commit();
+        }
+    }
+}
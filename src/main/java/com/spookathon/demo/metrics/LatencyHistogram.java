@@ -0,0 +1,114 @@
+package com.spookathon.demo.metrics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * Every power of two is split into 16 linear sub-buckets, so a bucket is at
+ * most 1/16 of its value wide (about 3% error when reporting the bucket
+ * midpoint) while 528 counters cover 1 ns to about 68 s. Recording is one
+ * bucket computation and one atomic increment; no locks, no allocation.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+    private static final int MAX_BITS = 36;
+
+    /** Largest recordable value; longer latencies are counted here. */
+    public static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+
+    /** Number of counters, shared by every histogram so snapshots can be merged. */
+    public static final int BUCKETS = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKETS);
+
+    /**
+     * Count one value (nanoseconds). Negative values count as zero.
+     */
+    public void record(long value) {
+        counts.getAndIncrement(bucketOf(value));
+    }
+
+    /**
+     * Add this histogram's counts to an accumulator of {@link #BUCKETS} entries.
+     */
+    public void addTo(long[] accumulator) {
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulator[i] += counts.get(i);
+        }
+    }
+
+    /**
+     * Clear all counts. Only safe once writers have moved to another histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value <= 0) {
+            return 0;
+        }
+        long v = Math.min(value, MAX_VALUE);
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        if (msb < SUB_BUCKET_BITS) {
+            return (int) v;
+        }
+        int shift = msb - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((v >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    static long lowerBound(int bucket) {
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        if (shift <= 0) {
+            return bucket;
+        }
+        return (long) (SUB_BUCKETS + (bucket & SUB_BUCKET_MASK)) << shift;
+    }
+
+    static long width(int bucket) {
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        return shift <= 0 ? 1 : 1L << shift;
+    }
+
+    /**
+     * Value at quantile q (0..1) of merged counts, reported as the bucket midpoint.
+     */
+    public static long valueAtQuantile(long[] counts, long total, double q) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return lowerBound(i) + (width(i) >> 1);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    /**
+     * Upper bound of the highest non-empty bucket of merged counts.
+     */
+    public static long maxValue(long[] counts) {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return lowerBound(i) + width(i) - 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,235 @@
+package com.spookathon.demo.metrics;
+
+import com.spookathon.demo.config.LatencyProperties;
+import com.spookathon.demo.model.EndpointLatency;
+import com.spookathon.demo.model.LatencyPercentiles;
+import com.spookathon.demo.model.LatencyResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-endpoint request latency, split into body parsing, handler
+ * and serialization stages, over sliding windows.
+ *
+ * Each endpoint keeps one {@link LatencyHistogram} per stage and window
+ * slot. Writers always increment the current slot; a scheduled tick clears
+ * the oldest slot and makes it current, so a window is the merge of the
+ * last few slots and recording never takes a lock.
+ *
+ * Stage timestamps are kept in a reused per-thread object, since a servlet
+ * request is handled on one thread from filter to response.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class LatencyRecorder {
+
+    /** Request stages, in report order. */
+    public enum Stage {
+        TOTAL, PARSE, HANDLER, SERIALIZE;
+
+        private final String label = name().toLowerCase();
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    /** Histograms of one endpoint, indexed by [stage][slot]. */
+    static final class Endpoint {
+        private final String name;
+        private final LatencyHistogram[][] histograms;
+
+        Endpoint(String name, int slots) {
+            this.name = name;
+            this.histograms = new LatencyHistogram[STAGES.length][slots];
+            for (LatencyHistogram[] stage : histograms) {
+                for (int i = 0; i < slots; i++) {
+                    stage[i] = new LatencyHistogram();
+                }
+            }
+        }
+
+        void record(Stage stage, int slot, long nanos) {
+            histograms[stage.ordinal()][slot].record(nanos);
+        }
+    }
+
+    /** Stage timestamps of the request running on this thread. */
+    private static final class RequestTiming {
+        private Endpoint endpoint;
+        private long start;
+        private long handlerStart;
+        private long parseStart;
+        private long parseNanos;
+        private boolean parsed;
+        private long writeStart;
+        private boolean writing;
+    }
+
+    private final LatencyProperties properties;
+    private final int slots;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ThreadLocal<RequestTiming> timings = ThreadLocal.withInitial(RequestTiming::new);
+    private volatile int currentSlot;
+
+    public LatencyRecorder(LatencyProperties properties) {
+        this.properties = properties;
+        this.slots = Math.max(1, properties.getSlots());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Start timing a request (called first thing by the filter).
+     */
+    public void begin() {
+        RequestTiming timing = timings.get();
+        timing.endpoint = null;
+        timing.parsed = false;
+        timing.parseNanos = 0;
+        timing.writing = false;
+        timing.start = System.nanoTime();
+    }
+
+    /**
+     * Mark that the request was mapped to a timed handler method.
+     *
+     * @param method The handler method, used as the endpoint key
+     * @param request The request, used to name the endpoint on first sight
+     */
+    public void handlerStarted(Method method, HttpServletRequest request) {
+        RequestTiming timing = timings.get();
+        Endpoint endpoint = endpoints.get(method);
+        if (endpoint == null) {
+            String name = endpointName(request);
+            endpoint = endpoints.computeIfAbsent(method, m -> new Endpoint(name, slots));
+        }
+        timing.endpoint = endpoint;
+        timing.handlerStart = System.nanoTime();
+    }
+
+    public void bodyReadStarted() {
+        timings.get().parseStart = System.nanoTime();
+    }
+
+    public void bodyReadFinished() {
+        RequestTiming timing = timings.get();
+        timing.parseNanos += System.nanoTime() - timing.parseStart;
+        timing.parsed = true;
+    }
+
+    public void bodyWriteStarted() {
+        RequestTiming timing = timings.get();
+        timing.writeStart = System.nanoTime();
+        timing.writing = true;
+    }
+
+    /**
+     * Finish timing the request and record every stage it went through.
+     * Requests that never reached a timed handler are ignored.
+     */
+    public void end() {
+        long end = System.nanoTime();
+        RequestTiming timing = timings.get();
+        Endpoint endpoint = timing.endpoint;
+        if (endpoint == null) {
+            return;
+        }
+        timing.endpoint = null;
+
+        int slot = currentSlot;
+        long handlerEnd = timing.writing ? timing.writeStart : end;
+        endpoint.record(Stage.TOTAL, slot, end - timing.start);
+        endpoint.record(Stage.HANDLER, slot, handlerEnd - timing.handlerStart - timing.parseNanos);
+        if (timing.parsed) {
+            endpoint.record(Stage.PARSE, slot, timing.parseNanos);
+        }
+        if (timing.writing) {
+            endpoint.record(Stage.SERIALIZE, slot, end - timing.writeStart);
+        }
+    }
+
+    /**
+     * Advance the sliding window: clear the oldest slot and make it current.
+     */
+    @Scheduled(fixedRateString = "${escape.latency.slot-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        int next = (currentSlot + 1) % slots;
+        for (Endpoint endpoint : endpoints.values()) {
+            for (LatencyHistogram[] stage : endpoint.histograms) {
+                stage[next].reset();
+            }
+        }
+        currentSlot = next;
+    }
+
+    /**
+     * Percentiles per endpoint and stage over the last windowSeconds,
+     * rounded up to whole slots.
+     */
+    public LatencyResponse report(int windowSeconds) {
+        int slotSeconds = Math.max(1, properties.getSlotSeconds());
+        int windowSlots = Math.min(slots, Math.max(1, (windowSeconds + slotSeconds - 1) / slotSeconds));
+        int current = currentSlot;
+
+        List<EndpointLatency> result = new ArrayList<>();
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        for (Endpoint endpoint : endpoints.values()) {
+            Map<String, LatencyPercentiles> stages = new LinkedHashMap<>();
+            for (Stage stage : STAGES) {
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < windowSlots; i++) {
+                    endpoint.histograms[stage.ordinal()][Math.floorMod(current - i, slots)].addTo(counts);
+                }
+                long total = 0;
+                for (long count : counts) {
+                    total += count;
+                }
+                if (total > 0) {
+                    stages.put(stage.label, percentiles(counts, total));
+                }
+            }
+            if (!stages.isEmpty()) {
+                result.add(new EndpointLatency(endpoint.name, stages));
+            }
+        }
+        result.sort(Comparator.comparing(EndpointLatency::getEndpoint));
+        return new LatencyResponse(windowSlots * slotSeconds, result);
+    }
+
+    private static String endpointName(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static LatencyPercentiles percentiles(long[] counts, long total) {
+        return new LatencyPercentiles(
+                total,
+                micros(LatencyHistogram.valueAtQuantile(counts, total, 0.50)),
+                micros(LatencyHistogram.valueAtQuantile(counts, total, 0.90)),
+                micros(LatencyHistogram.valueAtQuantile(counts, total, 0.99)),
+                micros(LatencyHistogram.valueAtQuantile(counts, total, 0.999)),
+                micros(LatencyHistogram.maxValue(counts)));
+    }
+
+    private static double micros(long nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+}
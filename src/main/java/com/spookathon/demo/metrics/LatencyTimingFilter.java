@@ -0,0 +1,50 @@
+package com.spookathon.demo.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Brackets each request for the {@link LatencyRecorder}.
+ * 
+ * Runs after cluster forwarding, so only requests handled on this node are
+ * timed; whether a request counts is decided later by
+ * {@link LatencyTimingInterceptor} once its handler is known.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LatencyTimingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LatencyRecorder recorder;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !recorder.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        recorder.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recorder.end();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.spookathon.demo.metrics;
+
+import com.spookathon.demo.controller.EscapeRoomController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Starts the handler stage for requests mapped to {@link EscapeRoomController}.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class LatencyTimingInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private LatencyRecorder recorder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (recorder.isEnabled()
+                && handler instanceof HandlerMethod method
+                && method.getBeanType() == EscapeRoomController.class) {
+            recorder.handlerStarted(method.getMethod(), request);
+        }
+        return true;
+    }
+}
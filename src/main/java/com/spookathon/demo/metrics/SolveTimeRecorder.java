@@ -0,0 +1,306 @@
+package com.spookathon.demo.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.cluster.ClusterMembership;
+import com.spookathon.demo.config.DifficultyProperties;
+import com.spookathon.demo.model.DifficultyResponse;
+import com.spookathon.demo.model.PuzzleDifficulty;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.SolvePercentiles;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.PuzzleGraph;
+import com.spookathon.demo.service.PuzzleService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how hard each puzzle really is: the time from a player's first
+ * view of a puzzle to its correct answer, and the answers sent per solve.
+ *
+ * Both are kept per puzzle in {@link LatencyHistogram}s, here counting
+ * milliseconds and attempts: fixed memory whatever the number of players,
+ * about 3% error on any quantile, and no raw events. Histograms of several
+ * nodes merge by adding their counts, so GET /admin/difficulty can report
+ * over the whole cluster.
+ *
+ * Only identified players are measured. The clock of a player starts at
+ * the first view of the puzzle's GET endpoint; a solve without a view (the
+ * player went straight to the POST endpoint) counts its attempts but not
+ * its time, and puzzles the player had already solved are not measured
+ * again. Open clocks are forgotten after escape.difficulty.open-ttl-minutes.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class SolveTimeRecorder {
+
+    /** Internal endpoint serving this node's histograms to its peers. */
+    public static final String SKETCHES_PATH = "/internal/cluster/solve-sketches";
+
+    /**
+     * Non-empty histogram buckets per puzzle ID, as flat (bucket, count)
+     * pairs, for merging on another node.
+     */
+    public record Snapshot(Map<Integer, long[]> solveMillis, Map<Integer, long[]> attempts) {
+    }
+
+    /** A puzzle a player is working on. */
+    private record OpenKey(String playerId, int puzzleId) {
+    }
+
+    /** Clock of one player on one puzzle; only changed inside ConcurrentMap.compute. */
+    private static final class OpenPuzzle {
+        private final long viewedAt;
+        private int attempts;
+        private volatile long touchedAt;
+
+        private OpenPuzzle(long viewedAt, long now) {
+            this.viewedAt = viewedAt;
+            this.touchedAt = now;
+        }
+    }
+
+    private final PuzzleService puzzleService;
+    private final PlayerProgressService progressService;
+    private final ClusterMembership membership;
+    private final DifficultyProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyHistogram[] solveMillis = new LatencyHistogram[PuzzleGraph.MAX_PUZZLES];
+    private final LatencyHistogram[] attempts = new LatencyHistogram[PuzzleGraph.MAX_PUZZLES];
+    private final ConcurrentMap<OpenKey, OpenPuzzle> open = new ConcurrentHashMap<>();
+
+    public SolveTimeRecorder(PuzzleService puzzleService, PlayerProgressService progressService,
+                             ClusterMembership membership, DifficultyProperties properties) {
+        this.puzzleService = puzzleService;
+        this.progressService = progressService;
+        this.membership = membership;
+        this.properties = properties;
+        for (int i = 0; i < PuzzleGraph.MAX_PUZZLES; i++) {
+            solveMillis[i] = new LatencyHistogram();
+            attempts[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Start the clock of the puzzle answered after this view, unless it is already running.
+     *
+     * @param playerId The player ID, already validated
+     * @param puzzle The viewed puzzle (GET) or the puzzle itself (POST)
+     */
+    public void viewed(String playerId, Puzzle puzzle) {
+        if (!isMeasured(playerId)) {
+            return;
+        }
+        Puzzle target = puzzleService.getAnswerPuzzleFor(puzzle.getEndpoint()).orElse(null);
+        if (target == null || isSolved(playerId, target)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        open.compute(new OpenKey(playerId, target.getId()), (key, clock) -> {
+            if (clock == null) {
+                return new OpenPuzzle(now, now);
+            }
+            clock.touchedAt = now;
+            return clock;
+        });
+    }
+
+    /**
+     * Count an answer; a correct one closes the clock and records the solve.
+     * Call before the solve is recorded in the player's progress.
+     *
+     * @param playerId The player ID, already validated
+     * @param puzzle The answered puzzle
+     * @param correct Whether the answer was correct
+     */
+    public void attempted(String playerId, Puzzle puzzle, boolean correct) {
+        if (!isMeasured(playerId)) {
+            return;
+        }
+        OpenKey key = new OpenKey(playerId, puzzle.getId());
+        long now = System.currentTimeMillis();
+        if (!correct) {
+            open.compute(key, (k, clock) -> {
+                if (clock == null) {
+                    if (isSolved(playerId, puzzle)) {
+                        return null;
+                    }
+                    clock = new OpenPuzzle(0, now);
+                }
+                clock.attempts++;
+                clock.touchedAt = now;
+                return clock;
+            });
+            return;
+        }
+        OpenPuzzle clock = open.remove(key);
+        if (clock == null && isSolved(playerId, puzzle)) {
+            return;
+        }
+        int id = puzzle.getId();
+        attempts[id].record(clock != null ? clock.attempts + 1 : 1);
+        if (clock != null && clock.viewedAt > 0) {
+            solveMillis[id].record(now - clock.viewedAt);
+        }
+    }
+
+    /**
+     * Forget clocks of players who stopped playing.
+     */
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+    public void expire() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(properties.getOpenTtlMinutes());
+        open.values().removeIf(clock -> clock.touchedAt < cutoff);
+    }
+
+    /**
+     * This node's histograms, for {@link #report(boolean)} on a peer.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(sparse(solveMillis), sparse(attempts));
+    }
+
+    /**
+     * Solve time and attempt percentiles of every answerable puzzle.
+     *
+     * @param cluster Whether to merge in the histograms of every live peer
+     * @return Percentiles per puzzle, in puzzles.json order
+     */
+    public DifficultyResponse report(boolean cluster) {
+        long[][] solveCounts = new long[PuzzleGraph.MAX_PUZZLES][LatencyHistogram.BUCKETS];
+        long[][] attemptCounts = new long[PuzzleGraph.MAX_PUZZLES][LatencyHistogram.BUCKETS];
+        for (int i = 0; i < PuzzleGraph.MAX_PUZZLES; i++) {
+            solveMillis[i].addTo(solveCounts[i]);
+            attempts[i].addTo(attemptCounts[i]);
+        }
+
+        List<String> nodes = new ArrayList<>();
+        List<String> unreachable = new ArrayList<>();
+        nodes.add(membership.isEnabled() ? membership.getSelf() : "local");
+        if (cluster && membership.isEnabled()) {
+            for (String node : membership.getLiveNodes()) {
+                if (node.equals(membership.getSelf())) {
+                    continue;
+                }
+                Snapshot peer = fetch(node);
+                if (peer == null) {
+                    unreachable.add(node);
+                    continue;
+                }
+                merge(peer.solveMillis(), solveCounts);
+                merge(peer.attempts(), attemptCounts);
+                nodes.add(node);
+            }
+        }
+
+        List<PuzzleDifficulty> puzzles = new ArrayList<>();
+        for (Puzzle puzzle : puzzleService.getAllPuzzles()) {
+            if ("POST".equalsIgnoreCase(puzzle.getMethod())) {
+                int id = puzzle.getId();
+                puzzles.add(new PuzzleDifficulty(id, puzzle.getEndpoint(), puzzle.getLevel(),
+                        percentiles(solveCounts[id], 0.001), percentiles(attemptCounts[id], 1)));
+            }
+        }
+        return new DifficultyResponse(nodes, unreachable, puzzles);
+    }
+
+    private boolean isMeasured(String playerId) {
+        return properties.isEnabled() && !PlayerProgressService.isSyntheticPlayer(playerId);
+    }
+
+    private boolean isSolved(String playerId, Puzzle puzzle) {
+        long bit = PlayerProgressService.maskOf(puzzle);
+        return progressService.getProgress(playerId).map(p -> (p.getSolvedMask() & bit) != 0).orElse(false);
+    }
+
+    private Snapshot fetch(String node) {
+        try {
+            HttpRequest request = membership.peerRequest(node, SKETCHES_PATH, "GET", null).build();
+            HttpResponse<byte[]> response = membership.getHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() == 200 ? objectMapper.readValue(response.body(), Snapshot.class) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Map<Integer, long[]> sparse(LatencyHistogram[] histograms) {
+        Map<Integer, long[]> result = new HashMap<>();
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        for (int id = 0; id < histograms.length; id++) {
+            histograms[id].addTo(counts);
+            int used = 0;
+            for (long count : counts) {
+                used += count != 0 ? 1 : 0;
+            }
+            if (used > 0) {
+                long[] pairs = new long[used * 2];
+                int next = 0;
+                for (int bucket = 0; bucket < counts.length; bucket++) {
+                    if (counts[bucket] != 0) {
+                        pairs[next++] = bucket;
+                        pairs[next++] = counts[bucket];
+                        counts[bucket] = 0;
+                    }
+                }
+                result.put(id, pairs);
+            }
+        }
+        return result;
+    }
+
+    private static void merge(Map<Integer, long[]> sparse, long[][] into) {
+        if (sparse == null) {
+            return;
+        }
+        for (Map.Entry<Integer, long[]> entry : sparse.entrySet()) {
+            int id = entry.getKey();
+            long[] pairs = entry.getValue();
+            if (id < 0 || id >= into.length || pairs == null) {
+                continue;
+            }
+            for (int i = 0; i + 1 < pairs.length; i += 2) {
+                if (pairs[i] >= 0 && pairs[i] < LatencyHistogram.BUCKETS) {
+                    into[id][(int) pairs[i]] += pairs[i + 1];
+                }
+            }
+        }
+    }
+
+    /**
+     * Percentiles of merged counts, scaled to the reported unit
+     * (milliseconds to seconds, attempts as they are).
+     */
+    private static SolvePercentiles percentiles(long[] counts, double scale) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return new SolvePercentiles(total,
+                round(LatencyHistogram.valueAtQuantile(counts, total, 0.50) * scale),
+                round(LatencyHistogram.valueAtQuantile(counts, total, 0.90) * scale),
+                round(LatencyHistogram.valueAtQuantile(counts, total, 0.99) * scale),
+                round(LatencyHistogram.maxValue(counts) * scale));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
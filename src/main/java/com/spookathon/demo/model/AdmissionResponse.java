@@ -0,0 +1,26 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for GET /admin/admission endpoint.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdmissionResponse {
+    private boolean enabled;
+    private int limit;
+    private int inFlight;
+    private double noLoadLatencyMs;
+    private long rejectedGets;
+    private long rejectedPosts;
+}
@@ -0,0 +1,25 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How a puzzle's answers are compared, from the "validator" field in puzzles.json.
+ * Types: "exact" (default), "numeric", "regex" (with "pattern") and "base64"
+ * (optionally with the "encoded" message); see AnswerMatchers.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerValidator {
+    private String type;
+    private String pattern;
+    private String encoded;
+}
@@ -0,0 +1,26 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for GET /admin/difficulty.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DifficultyResponse {
+    // Nodes whose statistics are merged in, and peers that did not answer
+    private List<String> nodes;
+    private List<String> unreachable;
+    private List<PuzzleDifficulty> puzzles;
+}
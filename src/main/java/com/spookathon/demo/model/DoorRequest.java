@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 /**
  * Request DTO for POST /door endpoint.
  * Contains the key attempt to unlock the first door.
+ * Also used by the other answer endpoints, where challenge carries the
+ * token of a generated puzzle instance.
  * 
  * @author Johan Gloria
  * @author Melany Rivera
@@ -21,4 +23,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class DoorRequest {
     private String key;
+    private String challenge;
+
+    public DoorRequest(String key) {
+        this(key, null);
+    }
 }
@@ -1,5 +1,6 @@
 package com.spookathon.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,6 +21,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class DoorResponse {
-    private String message;
+    private CharSequence message;
     private String status;
+    
+    // Signed token listing the solved puzzles, only after a correct answer
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String progressToken;
+
+    public DoorResponse(CharSequence message, String status) {
+        this(message, status, null);
+    }
 }
@@ -0,0 +1,25 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Latency of one endpoint, split by request stage
+ * (total, parse, handler, serialize).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointLatency {
+    private String endpoint;
+    private Map<String, LatencyPercentiles> stages;
+}
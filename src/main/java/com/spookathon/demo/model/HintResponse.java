@@ -0,0 +1,26 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for GET /hints endpoint.
+ * Contains the hints unlocked so far and when the next one unlocks.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HintResponse {
+    private String puzzle;
+    private List<CharSequence> hints;
+    private Long nextHintInSeconds;
+}
@@ -0,0 +1,26 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency percentiles of one request stage, in microseconds.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LatencyPercentiles {
+    private long count;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double p999;
+    private double max;
+}
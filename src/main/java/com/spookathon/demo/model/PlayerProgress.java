@@ -0,0 +1,25 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a single player through the escape room.
+ * Solved puzzles are kept as a bitmask where bit {@code n} is puzzle id {@code n}.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerProgress {
+    private String playerId;
+    private long solvedMask;
+    private long startedAt;
+    private long updatedAt;
+}
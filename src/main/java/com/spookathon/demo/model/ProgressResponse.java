@@ -0,0 +1,26 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for GET /progress endpoint.
+ * Lists the puzzles the player has solved so far.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgressResponse {
+    private String playerId;
+    private List<String> solvedPuzzles;
+    private boolean escaped;
+}
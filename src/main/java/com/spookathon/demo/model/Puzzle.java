@@ -1,14 +1,20 @@
 package com.spookathon.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spookathon.demo.answer.AnswerMatcher;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 
 /**
  * Puzzle configuration loaded from JSON.
  * Represents a single puzzle/challenge in the escape room.
+ * Player-facing messages are Strings as loaded, or ArenaText when puzzle
+ * packs keep their texts off-heap (see TextArena).
  * 
  * @author Johan Gloria
  * @author Melany Rivera
@@ -28,15 +34,41 @@ public class Puzzle {
     private String method;
     
     // For GET endpoints
-    private String message;
-    private String hint;
+    private CharSequence message;
+    private CharSequence hint;
     private String status;
     
     // For POST endpoints
     private String correctAnswer;
     private List<String> alternativeAnswers;
-    private String successMessage;
+    private CharSequence successMessage;
     private String successStatus;
-    private String failureMessage;
+    private CharSequence failureMessage;
     private String failureStatus;
+    private CharSequence missingAnswerMessage;
+    
+    // How answers are compared, and the check compiled from it when the catalog loads
+    private AnswerValidator validator;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AnswerMatcher answerMatcher;
+    
+    // Branching: what unlocks a POST puzzle (see PuzzleGraph), side puzzles and endings
+    private String prerequisites;
+    private Boolean optional;
+    private Boolean ending;
+    
+    // Response DTO of the endpoint: "room" or "hallway" for GET, "door" or "escape" for POST.
+    // Defaults to "room" for views, and for answers to "escape" on endings and "door" otherwise
+    private String responseType;
+    
+    // Progressive hints, unlocked while the player is stuck
+    private List<TimedHint> hints;
+    
+    // Per-player instances: {challenge} and {answer} are replaced in these messages
+    private PuzzleGenerator generator;
+    private CharSequence challengeMessage;
+    private CharSequence challengeSuccessMessage;
+    private CharSequence challengeFailureMessage;
 }
@@ -9,6 +9,9 @@ import java.util.Map;
 
 /**
  * Root configuration for all puzzles loaded from puzzles.json.
+ * Locale packs (packs/puzzles_<locale>.json) use the same shape and only
+ * list the texts they translate. Texts are Strings as loaded, or ArenaText
+ * once puzzle packs have moved them off-heap (see TextArena).
  * 
  * @author Johan Gloria
  * @author Melany Rivera
@@ -20,6 +23,10 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PuzzleConfig {
+    private String locale;
+    private CharSequence welcome;
+    private CharSequence apiDescription;
+    private Map<String, CharSequence> messages;
     private Map<String, Object> gameInfo;
     private List<Puzzle> puzzles;
 }
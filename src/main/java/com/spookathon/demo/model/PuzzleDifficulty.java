@@ -0,0 +1,29 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Measured difficulty of one answerable puzzle.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PuzzleDifficulty {
+    private int id;
+    private String endpoint;
+    private String level;
+    
+    // Seconds from the first view of the puzzle to its correct answer
+    private SolvePercentiles solveSeconds;
+    
+    // Answers sent per solve, the correct one included
+    private SolvePercentiles attempts;
+}
@@ -0,0 +1,30 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Generator settings loaded from JSON for puzzles with per-player answers.
+ * 
+ * Types:
+ * - "binary": a number between minValue and maxValue shown in binary, answered in decimal
+ * - "base64": two words from the list shown Base64-encoded, answered decoded
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PuzzleGenerator {
+    private String type;
+    private Integer minValue;
+    private Integer maxValue;
+    private List<String> words;
+}
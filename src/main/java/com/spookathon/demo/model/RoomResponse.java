@@ -1,5 +1,6 @@
 package com.spookathon.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,7 +21,15 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class RoomResponse {
-    private String message;
-    private String hint;
+    private CharSequence message;
+    private CharSequence hint;
     private String status;
+    
+    // Signed per-player challenge token, only for generated puzzles
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String challenge;
+
+    public RoomResponse(CharSequence message, CharSequence hint, String status) {
+        this(message, hint, status, null);
+    }
 }
@@ -0,0 +1,25 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Percentiles of one solve statistic (seconds or attempts) of a puzzle.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SolvePercentiles {
+    private long count;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double max;
+}
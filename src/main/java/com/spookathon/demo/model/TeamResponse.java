@@ -0,0 +1,28 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for GET /team endpoint.
+ * Shows the progression shared by the members of a co-op team.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamResponse {
+    private String teamId;
+    private List<String> members;
+    private List<String> solvedPuzzles;
+    private boolean escaped;
+    private String lastSolver;
+}
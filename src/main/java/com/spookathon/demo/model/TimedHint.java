@@ -0,0 +1,23 @@
+package com.spookathon.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progressive hint loaded from JSON.
+ * Unlocks once a player has been stuck on a puzzle for afterSeconds.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimedHint {
+    private Integer afterSeconds;
+    private CharSequence text;
+}
@@ -0,0 +1,125 @@
+package com.spookathon.demo.security;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * HMAC-SHA256 signer that is cheap to call on every request.
+ * 
+ * Each thread keeps its own javax.crypto.Mac, initialised with the key once
+ * the first time that thread signs. Later MACs only reset it, so signing
+ * never repeats key setup and never contends on a shared instance; the
+ * result is written straight into the caller's buffer.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class HmacSigner {
+
+    public static final int MAC_LENGTH = 32;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * One HMAC computation in progress. Obtained from {@link #start()},
+     * reused by the same thread for every call.
+     */
+    public final class Session {
+        private final Mac mac = newMac(key);
+        private byte[] scratch = new byte[128];
+
+        private Session() {
+        }
+
+        public Session update(byte b) {
+            mac.update(b);
+            return this;
+        }
+
+        public Session update(byte[] bytes, int offset, int length) {
+            mac.update(bytes, offset, length);
+            return this;
+        }
+
+        /**
+         * Add a string as UTF-8, without allocating for ASCII input.
+         */
+        public Session updateUtf8(String value) {
+            int length = value.length();
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    mac.update(utf8, 0, utf8.length);
+                    return this;
+                }
+                scratch[i] = (byte) c;
+            }
+            mac.update(scratch, 0, length);
+            return this;
+        }
+
+        /**
+         * Complete the MAC and write its 32 bytes to out.
+         */
+        public void finish(byte[] out, int offset) {
+            try {
+                mac.doFinal(out, offset);
+            } catch (ShortBufferException e) {
+                throw new IllegalArgumentException("No room for a " + MAC_LENGTH + "-byte MAC at " + offset, e);
+            }
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Session> sessions = ThreadLocal.withInitial(Session::new);
+
+    public HmacSigner(byte[] key) {
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        // Fail on a bad key here rather than on the first request
+        newMac(this.key);
+    }
+
+    /**
+     * Start a MAC computation on this thread's session.
+     * 
+     * @return The thread-local session, keyed and ready for updates
+     */
+    public Session start() {
+        Session session = sessions.get();
+        // A computation abandoned halfway must not leak into this one
+        session.mac.reset();
+        return session;
+    }
+
+    /**
+     * Compare two byte ranges in constant time.
+     */
+    public static boolean constantTimeEquals(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[aOffset + i] ^ b[bOffset + i];
+        }
+        return diff == 0;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.answer.AnswerMatchers;
+import com.spookathon.demo.config.TokenProperties;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleGenerator;
+import com.spookathon.demo.security.HmacSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies per-player puzzle instances without storing any state.
+ * 
+ * For puzzles with a "generator" in puzzles.json, the shown value (a binary
+ * number, a Base64 string) is derived from a seed computed as
+ * HMAC(secret, puzzle id, player id). The player receives a challenge token
+ * carrying that seed and a MAC binding it to the player, and sends it back with
+ * the answer. Any instance sharing the secret can verify the token and
+ * recompute the expected answer.
+ * 
+ * Anonymous players get a random seed on every view instead, with the token
+ * bound to an empty player ID (real IDs are never blank). They must answer
+ * the instance they were shown, so dropping X-Player-Id does not bring back
+ * the fixed answer from puzzles.json. Tokens carry their issue time and
+ * expire after escape.challenge.token-ttl-minutes, so a solved anonymous
+ * instance cannot be replayed forever.
+ * 
+ * Token layout (Base64url, 40 chars): byte version, byte puzzleId,
+ * long seed, int issuedAt (epoch seconds), 16 bytes of
+ * HMAC(secret, 'C', version, puzzleId, seed, issuedAt, playerId).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class ChallengeService {
+
+    private static final byte VERSION = 2;
+    private static final byte SEED_DOMAIN = 'S';
+    private static final byte TOKEN_DOMAIN = 'C';
+    private static final int TOKEN_MAC_LENGTH = 16;
+    private static final int TOKEN_BODY_LENGTH = 1 + 1 + 8 + 4;
+    private static final int TOKEN_LENGTH = TOKEN_BODY_LENGTH + TOKEN_MAC_LENGTH;
+    private static final String ANONYMOUS = "";
+
+    private static final int DEFAULT_MIN_VALUE = 5;
+    private static final int DEFAULT_MAX_VALUE = 255;
+    private static final List<String> DEFAULT_WORDS = List.of(
+            "hello", "world", "ghost", "server", "kernel", "daemon", "echo", "phantom", "root", "cache");
+
+    /**
+     * A puzzle instance generated for one player.
+     */
+    public record Challenge(Puzzle puzzle, long seed, String token) {
+
+        /**
+         * The value shown to the player (binary digits or Base64 text).
+         */
+        public String display() {
+            if (isBinary(puzzle)) {
+                return Long.toBinaryString(binaryValue(puzzle.getGenerator(), seed));
+            }
+            return Base64.getEncoder().encodeToString(plaintext(puzzle.getGenerator(), seed).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * The expected answer, in the canonical form.
+         */
+        public String answer() {
+            if (isBinary(puzzle)) {
+                return Long.toString(binaryValue(puzzle.getGenerator(), seed));
+            }
+            return "base64:" + plaintext(puzzle.getGenerator(), seed);
+        }
+
+        /**
+         * Replace {challenge} and {answer} in a message template.
+         */
+        public String render(CharSequence template) {
+            return template.toString().replace("{challenge}", display()).replace("{answer}", answer());
+        }
+    }
+
+    private final HmacSigner signer;
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[HmacSigner.MAC_LENGTH]);
+    private final long ttlSeconds;
+
+    public ChallengeService(TokenProperties properties,
+                            @Value("${escape.challenge.token-ttl-minutes:60}") long ttlMinutes) {
+        this.signer = new HmacSigner(properties.getSecretBytes());
+        this.ttlSeconds = TimeUnit.MINUTES.toSeconds(ttlMinutes);
+    }
+
+    /**
+     * Generate the instance of a puzzle for a player.
+     * 
+     * @param playerId The player ID, or null for a random anonymous instance
+     * @param puzzle A puzzle with a generator
+     * @return The challenge, including its signed token
+     */
+    public Challenge issue(String playerId, Puzzle puzzle) {
+        byte[] out = scratch.get();
+
+        long seed;
+        if (playerId == null) {
+            seed = ThreadLocalRandom.current().nextLong();
+        } else {
+            signer.start()
+                    .update(SEED_DOMAIN)
+                    .update(puzzle.getId().byteValue())
+                    .updateUtf8(playerId)
+                    .finish(out, 0);
+            seed = readLong(out, 0);
+        }
+
+        byte[] token = new byte[TOKEN_LENGTH];
+        token[0] = VERSION;
+        token[1] = puzzle.getId().byteValue();
+        writeLong(token, 2, seed);
+        writeInt(token, 10, (int) TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        sign(token, playerId, out);
+        System.arraycopy(out, 0, token, TOKEN_BODY_LENGTH, TOKEN_MAC_LENGTH);
+        return new Challenge(puzzle, seed, Base64.getUrlEncoder().withoutPadding().encodeToString(token));
+    }
+
+    /**
+     * Check a challenge token sent back by a player.
+     * 
+     * @param playerId The player ID the token must be bound to, or null for an anonymous token
+     * @param puzzle The puzzle being answered
+     * @param token The challenge token from the request
+     * @return The challenge if the token is authentic and not expired, or null
+     */
+    public Challenge verify(String playerId, Puzzle puzzle, String token) {
+        if (token == null || puzzle.getGenerator() == null) {
+            return null;
+        }
+        byte[] decoded;
+        try {
+            decoded = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (decoded.length != TOKEN_LENGTH || decoded[0] != VERSION || decoded[1] != puzzle.getId().byteValue()) {
+            return null;
+        }
+        byte[] out = scratch.get();
+        sign(decoded, playerId, out);
+        if (!HmacSigner.constantTimeEquals(out, 0, decoded, TOKEN_BODY_LENGTH, TOKEN_MAC_LENGTH)) {
+            return null;
+        }
+        long issuedAt = readInt(decoded, 10) & 0xFFFFFFFFL;
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        if (now - issuedAt > ttlSeconds) {
+            return null;
+        }
+        return new Challenge(puzzle, readLong(decoded, 2), token);
+    }
+
+    /**
+     * Check an answer against a verified challenge, comparing it with the
+     * generated value the way the puzzle's validator compares answers
+     * (numbers in any radix for "numeric", decoded text with or without the
+     * "base64:" prefix for "base64").
+     * 
+     * @param challenge The verified challenge
+     * @param userAnswer The user's submitted answer
+     * @return true if the answer is correct
+     */
+    public boolean isAnswerCorrect(Challenge challenge, String userAnswer) {
+        if (userAnswer == null) {
+            return false;
+        }
+        return AnswerMatchers.matchesValue(challenge.puzzle().getValidator(), userAnswer, challenge.answer());
+    }
+
+    private void sign(byte[] token, String playerId, byte[] out) {
+        signer.start()
+                .update(TOKEN_DOMAIN)
+                .update(token, 0, TOKEN_BODY_LENGTH)
+                .updateUtf8(playerId != null ? playerId : ANONYMOUS)
+                .finish(out, 0);
+    }
+
+    private static boolean isBinary(Puzzle puzzle) {
+        return "binary".equalsIgnoreCase(puzzle.getGenerator().getType());
+    }
+
+    private static long binaryValue(PuzzleGenerator generator, long seed) {
+        int min = generator.getMinValue() != null ? generator.getMinValue() : DEFAULT_MIN_VALUE;
+        int max = generator.getMaxValue() != null ? generator.getMaxValue() : DEFAULT_MAX_VALUE;
+        return min + Long.remainderUnsigned(seed, max - min + 1L);
+    }
+
+    private static String plaintext(PuzzleGenerator generator, long seed) {
+        List<String> words = generator.getWords() != null && !generator.getWords().isEmpty()
+                ? generator.getWords()
+                : DEFAULT_WORDS;
+        return words.get((int) Long.remainderUnsigned(seed, words.size()))
+                + " " + words.get((int) Long.remainderUnsigned(seed >>> 32, words.size()));
+    }
+
+    private static long readLong(byte[] b, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (b[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readInt(byte[] b, int offset) {
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16)
+                | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(byte[] b, int offset, int value) {
+        b[offset] = (byte) (value >>> 24);
+        b[offset + 1] = (byte) (value >>> 16);
+        b[offset + 2] = (byte) (value >>> 8);
+        b[offset + 3] = (byte) value;
+    }
+
+    private static void writeLong(byte[] b, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            b[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
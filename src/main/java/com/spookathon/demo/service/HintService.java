@@ -0,0 +1,255 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.config.HintProperties;
+import com.spookathon.demo.hint.HierarchicalTimingWheel;
+import com.spookathon.demo.model.HintResponse;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.TimedHint;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unlocks progressive hints for players who are stuck on a puzzle.
+ * 
+ * The clock starts the first time a player views or attempts a puzzle and
+ * stops when it is solved. Only the next hint of each player/puzzle pair is
+ * scheduled at any time, on a shared hierarchical timing wheel, so hundreds
+ * of thousands of active players cost one timer each.
+ * 
+ * Unlocked hints can be polled (GET /hints) or pushed over Server-Sent Events
+ * (GET /hints/stream), in the language of the request that asked for them.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class HintService {
+
+    /** Hint clock for one player on one puzzle. Guarded by its own monitor. */
+    private static final class HintTrack {
+        private final String playerId;
+        private final Puzzle puzzle;
+        private final long startedAt;
+        private int unlocked;
+        private boolean stopped;
+        private HierarchicalTimingWheel.Timeout pending;
+
+        private HintTrack(String playerId, Puzzle puzzle, long startedAt) {
+            this.playerId = playerId;
+            this.puzzle = puzzle;
+            this.startedAt = startedAt;
+        }
+    }
+
+    /** Open hint stream of a player and the language it was opened in. */
+    private record Subscriber(SseEmitter emitter, PuzzlePackService.Pack pack) {
+    }
+
+    private final PuzzleService puzzleService;
+    private final HintProperties properties;
+    private final ConcurrentMap<String, ConcurrentMap<Integer, HintTrack>> tracks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService pushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "hint-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private HierarchicalTimingWheel wheel;
+
+    public HintService(PuzzleService puzzleService, HintProperties properties) {
+        this.puzzleService = puzzleService;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void init() {
+        wheel = new HierarchicalTimingWheel(properties.getTickMs(), TimeUnit.MILLISECONDS, "hint-wheel");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+        pushExecutor.shutdownNow();
+    }
+
+    /**
+     * Start the hint clock for the puzzle a player is working on, unless it is already running.
+     * 
+     * @param playerId The player ID
+     * @param puzzle The puzzle viewed or attempted
+     */
+    public void startClock(String playerId, Puzzle puzzle) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Puzzle target = puzzleService.getAnswerPuzzleFor(puzzle.getEndpoint()).orElse(null);
+        if (target == null || target.getHints() == null || target.getHints().isEmpty()) {
+            return;
+        }
+        tracks.compute(playerId, (id, playerTracks) -> {
+            ConcurrentMap<Integer, HintTrack> result = playerTracks != null ? playerTracks : new ConcurrentHashMap<>();
+            result.computeIfAbsent(target.getId(), puzzleId -> {
+                HintTrack track = new HintTrack(playerId, target, System.currentTimeMillis());
+                synchronized (track) {
+                    scheduleNext(track);
+                }
+                return track;
+            });
+            return result;
+        });
+    }
+
+    /**
+     * Stop the hint clock once the player solved the puzzle.
+     * 
+     * @param playerId The player ID
+     * @param puzzle The solved puzzle
+     */
+    public void stopClock(String playerId, Puzzle puzzle) {
+        HintTrack track = removeTrack(playerId, puzzle.getId());
+        if (track != null) {
+            synchronized (track) {
+                track.stopped = true;
+                if (track.pending != null) {
+                    track.pending.cancel();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the hints a player has unlocked for the puzzle at an endpoint.
+     * 
+     * @param playerId The player ID
+     * @param endpoint The endpoint path of the puzzle (GET or POST)
+     * @param pack Language of the hint texts
+     * @return Unlocked hints and time until the next one
+     */
+    public HintResponse getHints(String playerId, String endpoint, PuzzlePackService.Pack pack) {
+        Puzzle target = puzzleService.getAnswerPuzzleFor(endpoint).orElse(null);
+        if (target == null) {
+            return new HintResponse(endpoint, List.of(), null);
+        }
+        Map<Integer, HintTrack> playerTracks = tracks.get(playerId);
+        HintTrack track = playerTracks != null ? playerTracks.get(target.getId()) : null;
+        if (track == null) {
+            return new HintResponse(target.getEndpoint(), List.of(), null);
+        }
+        synchronized (track) {
+            List<TimedHint> hints = localized(pack, target);
+            List<CharSequence> unlocked = new ArrayList<>(track.unlocked);
+            for (int i = 0; i < track.unlocked; i++) {
+                unlocked.add(hints.get(i).getText());
+            }
+            Long nextIn = null;
+            if (track.unlocked < hints.size()) {
+                long dueAt = track.startedAt + TimeUnit.SECONDS.toMillis(hints.get(track.unlocked).getAfterSeconds());
+                nextIn = Math.max(0, TimeUnit.MILLISECONDS.toSeconds(dueAt - System.currentTimeMillis()));
+            }
+            return new HintResponse(target.getEndpoint(), unlocked, nextIn);
+        }
+    }
+
+    /**
+     * Subscribe to hint pushes for a player. A new subscription replaces the previous one.
+     * 
+     * @param playerId The player ID
+     * @param pack Language of the pushed hint texts
+     * @return Emitter receiving a "hint" event each time a hint unlocks
+     */
+    public SseEmitter subscribe(String playerId, PuzzlePackService.Pack pack) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, pack);
+        emitter.onCompletion(() -> subscribers.remove(playerId, subscriber));
+        emitter.onTimeout(() -> subscribers.remove(playerId, subscriber));
+        emitter.onError(e -> subscribers.remove(playerId, subscriber));
+        Subscriber previous = subscribers.put(playerId, subscriber);
+        if (previous != null) {
+            previous.emitter().complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Number of hint timers currently pending on the wheel.
+     */
+    public int getPendingTimers() {
+        return wheel.pendingCount();
+    }
+
+    /** Must hold the track's monitor. */
+    private void scheduleNext(HintTrack track) {
+        List<TimedHint> hints = track.puzzle.getHints();
+        if (track.unlocked >= hints.size()) {
+            // Everything is unlocked; forget the track after a while
+            track.pending = wheel.schedule(() -> expire(track), properties.getTrackTtlMinutes(), TimeUnit.MINUTES);
+            return;
+        }
+        long dueAt = track.startedAt + TimeUnit.SECONDS.toMillis(hints.get(track.unlocked).getAfterSeconds());
+        track.pending = wheel.schedule(() -> unlock(track), dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Runs on the wheel thread. */
+    private void unlock(HintTrack track) {
+        int index;
+        synchronized (track) {
+            if (track.stopped) {
+                return;
+            }
+            index = track.unlocked++;
+            scheduleNext(track);
+        }
+        Subscriber subscriber = subscribers.get(track.playerId);
+        if (subscriber != null) {
+            Map<String, Object> event = Map.of(
+                    "puzzle", track.puzzle.getEndpoint(),
+                    "level", index + 1,
+                    "hint", localized(subscriber.pack(), track.puzzle).get(index).getText());
+            pushExecutor.execute(() -> {
+                try {
+                    subscriber.emitter().send(SseEmitter.event().name("hint").data(event));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(track.playerId, subscriber);
+                }
+            });
+        }
+    }
+
+    /** Hints of a puzzle in a pack's language; timings match puzzles.json. */
+    private static List<TimedHint> localized(PuzzlePackService.Pack pack, Puzzle puzzle) {
+        PuzzlePackService.Page page = pack.page(puzzle.getEndpoint());
+        return page != null && page.puzzle().getHints() != null ? page.puzzle().getHints() : puzzle.getHints();
+    }
+
+    /** Runs on the wheel thread. */
+    private void expire(HintTrack track) {
+        tracks.computeIfPresent(track.playerId, (id, playerTracks) -> {
+            playerTracks.remove(track.puzzle.getId(), track);
+            return playerTracks.isEmpty() ? null : playerTracks;
+        });
+    }
+
+    private HintTrack removeTrack(String playerId, Integer puzzleId) {
+        HintTrack[] removed = new HintTrack[1];
+        tracks.computeIfPresent(playerId, (id, playerTracks) -> {
+            removed[0] = playerTracks.remove(puzzleId);
+            return playerTracks.isEmpty() ? null : playerTracks;
+        });
+        return removed[0];
+    }
+}
@@ -0,0 +1,191 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.model.PlayerProgress;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.store.ProgressStore;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps per-player progress through the puzzle sequence.
+ * Players are identified by the X-Player-Id request header; requests without
+ * it are anonymous and do not record any state.
+ * 
+ * Entries are never mutated in place: every update swaps in a new
+ * PlayerProgress, so readers always see a consistent snapshot.
+ * Updates are acknowledged from memory and persisted in the background
+ * by {@link ProgressStore}.
+ * 
+ * Synthetic players (IDs starting with {@link #SYNTHETIC_PREFIX}, used by
+ * the JIT warm-up) are kept in a separate map: they never reach the store,
+ * snapshots, exports or other nodes, and no real player can collide with
+ * them because HTTP header values cannot carry the control character.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class PlayerProgressService {
+
+    public static final String PLAYER_HEADER = "X-Player-Id";
+
+    /** Longer IDs are treated as anonymous so they cannot bloat the store. */
+    public static final int MAX_PLAYER_ID_LENGTH = 128;
+
+    /** Prefix of in-process synthetic players; Tomcat rejects control characters in headers. */
+    public static final String SYNTHETIC_PREFIX = "\u0001warmup-";
+
+    private final ProgressStore store;
+    private final ConcurrentMap<String, PlayerProgress> syntheticPlayers = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, PlayerProgress> players = new ConcurrentHashMap<>();
+
+    public PlayerProgressService(ProgressStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Restores persisted progress on application startup.
+     */
+    @PostConstruct
+    public void loadProgress() {
+        players = new ConcurrentHashMap<>(store.recover());
+        store.start(players);
+    }
+
+    /**
+     * Check whether a header value can be used as a player ID.
+     * 
+     * @param playerId The X-Player-Id header value
+     * @return true if progress should be tracked for it
+     */
+    public static boolean isValidPlayerId(String playerId) {
+        return playerId != null && !playerId.isBlank() && playerId.length() <= MAX_PLAYER_ID_LENGTH;
+    }
+
+    /**
+     * Check whether a player ID belongs to an in-process synthetic player.
+     * 
+     * @param playerId The player ID
+     * @return true if the player is never persisted, exported or measured
+     */
+    public static boolean isSyntheticPlayer(String playerId) {
+        return playerId != null && playerId.startsWith(SYNTHETIC_PREFIX);
+    }
+
+    /**
+     * Bit used for a puzzle in {@link PlayerProgress#getSolvedMask()}.
+     * 
+     * @param puzzle The puzzle
+     * @return Mask with only the puzzle's bit set
+     */
+    public static long maskOf(Puzzle puzzle) {
+        return 1L << puzzle.getId();
+    }
+
+    /**
+     * Get the progress of a player.
+     * 
+     * @param playerId The player ID
+     * @return Optional containing the progress if the player is known here
+     */
+    public Optional<PlayerProgress> getProgress(String playerId) {
+        return Optional.ofNullable(mapOf(playerId).get(playerId));
+    }
+
+    /**
+     * Mark a puzzle as solved for a player, creating the player if needed.
+     * 
+     * @param playerId The player ID
+     * @param puzzle The solved puzzle
+     * @return The updated progress
+     */
+    public PlayerProgress recordSolve(String playerId, Puzzle puzzle) {
+        long now = System.currentTimeMillis();
+        long bit = maskOf(puzzle);
+        PlayerProgress updated = mapOf(playerId).compute(playerId, (id, current) -> current == null
+                ? new PlayerProgress(id, bit, now, now)
+                : new PlayerProgress(id, current.getSolvedMask() | bit, current.getStartedAt(), now));
+        if (!isSyntheticPlayer(playerId)) {
+            store.markDirty(playerId);
+        }
+        return updated;
+    }
+
+    /**
+     * Merge progress handed over by another node.
+     * Solved puzzles are combined, so importing the same state twice is harmless.
+     * 
+     * @param incoming Progress received from a peer
+     */
+    public void importProgress(PlayerProgress incoming) {
+        if (isSyntheticPlayer(incoming.getPlayerId())) {
+            return;
+        }
+        players.merge(incoming.getPlayerId(), incoming, (current, other) -> new PlayerProgress(
+                current.getPlayerId(),
+                current.getSolvedMask() | other.getSolvedMask(),
+                Math.min(current.getStartedAt(), other.getStartedAt()),
+                Math.max(current.getUpdatedAt(), other.getUpdatedAt())));
+        store.markDirty(incoming.getPlayerId());
+    }
+
+    /**
+     * Drop a player's progress once it has been handed to its new owner.
+     * 
+     * @param playerId The player ID
+     */
+    public void removeProgress(String playerId) {
+        if (isSyntheticPlayer(playerId)) {
+            syntheticPlayers.remove(playerId);
+            return;
+        }
+        players.remove(playerId);
+        store.markDirty(playerId);
+    }
+
+    /**
+     * Drop a player's progress only if it has not changed since it was handed over.
+     * 
+     * @param playerId The player ID
+     * @param handedOver The progress that was sent to the new owner
+     * @return true if it was removed, false if the player changed in the meantime
+     */
+    public boolean removeProgress(String playerId, PlayerProgress handedOver) {
+        if (!players.remove(playerId, handedOver)) {
+            return false;
+        }
+        store.markDirty(playerId);
+        return true;
+    }
+
+    private ConcurrentMap<String, PlayerProgress> mapOf(String playerId) {
+        return isSyntheticPlayer(playerId) ? syntheticPlayers : players;
+    }
+
+    /**
+     * Visit every (non-synthetic) player held on this node.
+     * 
+     * @param action Callback for each player
+     */
+    public void forEachPlayer(Consumer<PlayerProgress> action) {
+        players.values().forEach(action);
+    }
+
+    /**
+     * Get all (non-synthetic) players held on this node.
+     * 
+     * @return Live view of the stored progress
+     */
+    public Collection<PlayerProgress> getAllProgress() {
+        return players.values();
+    }
+}
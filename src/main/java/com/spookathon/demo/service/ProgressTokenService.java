@@ -0,0 +1,169 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.config.TokenProperties;
+import com.spookathon.demo.security.HmacSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies signed progress tokens.
+ * 
+ * A token carries the set of solved puzzles, so any instance sharing the
+ * secret can enforce the puzzle sequence without a session store. Tokens are
+ * bound to the X-Player-Id header when one is sent.
+ * 
+ * Token layout (Base64url, 39 chars): byte version, long solvedMask,
+ * int issuedAt (epoch seconds), 16 bytes of HMAC(secret, 'P', body, playerId).
+ * 
+ * Verification decodes into thread-local buffers and signs with a
+ * per-thread Mac, so the only allocation is the one the JDK's HMAC makes
+ * for its inner digest (32 bytes).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class ProgressTokenService {
+
+    public static final String TOKEN_HEADER = "X-Progress-Token";
+
+    private static final byte VERSION = 1;
+    private static final byte DOMAIN = 'P';
+    private static final int BODY_LENGTH = 1 + 8 + 4;
+    private static final int MAC_LENGTH = 16;
+    private static final int TOKEN_LENGTH = BODY_LENGTH + MAC_LENGTH;
+    private static final int TOKEN_CHARS = (TOKEN_LENGTH * 4 + 2) / 3;
+
+    private static final int[] BASE64URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    /** Per-thread buffers: decoded token followed by the computed MAC. */
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[TOKEN_LENGTH + HmacSigner.MAC_LENGTH]);
+    private final HmacSigner signer;
+    private final long ttlSeconds;
+
+    public ProgressTokenService(TokenProperties properties,
+                                @Value("${escape.progress.token-ttl-hours:24}") long ttlHours) {
+        this.signer = new HmacSigner(properties.getSecretBytes());
+        this.ttlSeconds = TimeUnit.HOURS.toSeconds(ttlHours);
+    }
+
+    /**
+     * Create a token for a set of solved puzzles.
+     * 
+     * @param playerId The player ID to bind the token to, or null
+     * @param solvedMask Solved puzzles, one bit per puzzle ID
+     * @return The Base64url token
+     */
+    public String issue(String playerId, long solvedMask) {
+        byte[] token = new byte[TOKEN_LENGTH + HmacSigner.MAC_LENGTH];
+        token[0] = VERSION;
+        writeLong(token, 1, solvedMask);
+        writeInt(token, 9, (int) TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        sign(token, playerId, token, TOKEN_LENGTH);
+        System.arraycopy(token, TOKEN_LENGTH, token, BODY_LENGTH, MAC_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(token, TOKEN_LENGTH));
+    }
+
+    /**
+     * Read the solved puzzles from a token.
+     * Missing, tampered, expired or foreign tokens count as no progress.
+     * 
+     * @param playerId The player ID sent with the request, or null
+     * @param token The token from the X-Progress-Token header
+     * @return Solved puzzles, one bit per puzzle ID (0 if the token is not valid)
+     */
+    public long verify(String playerId, String token) {
+        if (token == null || token.length() != TOKEN_CHARS) {
+            return 0;
+        }
+        byte[] buffer = scratch.get();
+        if (!decode(token, buffer) || buffer[0] != VERSION) {
+            return 0;
+        }
+        sign(buffer, playerId, buffer, TOKEN_LENGTH);
+        if (!HmacSigner.constantTimeEquals(buffer, TOKEN_LENGTH, buffer, BODY_LENGTH, MAC_LENGTH)) {
+            return 0;
+        }
+        long issuedAt = readInt(buffer, 9) & 0xFFFFFFFFL;
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        if (now - issuedAt > ttlSeconds) {
+            return 0;
+        }
+        return readLong(buffer, 1);
+    }
+
+    private void sign(byte[] body, String playerId, byte[] out, int outOffset) {
+        HmacSigner.Session session = signer.start()
+                .update(DOMAIN)
+                .update(body, 0, BODY_LENGTH);
+        if (playerId != null) {
+            session.updateUtf8(playerId);
+        }
+        session.finish(out, outOffset);
+    }
+
+    /** Base64url decode (no padding) of exactly TOKEN_LENGTH bytes into out. */
+    private static boolean decode(String token, byte[] out) {
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = 0; i < TOKEN_CHARS; i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return false;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (written < TOKEN_LENGTH) {
+                    out[written++] = (byte) (bits >> bitCount);
+                }
+            }
+        }
+        return written == TOKEN_LENGTH;
+    }
+
+    private static long readLong(byte[] b, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (b[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readInt(byte[] b, int offset) {
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16)
+                | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    private static void writeLong(byte[] b, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            b[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static void writeInt(byte[] b, int offset, int value) {
+        b[offset] = (byte) (value >>> 24);
+        b[offset + 1] = (byte) (value >>> 16);
+        b[offset + 2] = (byte) (value >>> 8);
+        b[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,306 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puzzle prerequisites compiled into bit masks.
+ *
+ * Each POST puzzle may declare a prerequisite expression in puzzles.json,
+ * naming other POST puzzles by endpoint:
+ * <ul>
+ *   <li>{@code "/door"} - that puzzle must be solved</li>
+ *   <li>{@code "all(/binary-puzzle, /memory-puzzle)"} - every listed puzzle</li>
+ *   <li>{@code "any(2, /a, /b, /c)"} - at least 2 of the listed puzzles
+ *       ({@code "any(/a, /b)"} means at least one)</li>
+ *   <li>{@code "none"} - always open</li>
+ * </ul>
+ * {@code all(...)} may nest {@code all} and {@code any}; {@code any} only
+ * lists puzzles. Puzzles without an expression require every earlier
+ * POST puzzle that is not {@code optional}, which is the classic fixed line.
+ *
+ * An expression compiles to one "all of these" mask plus a few "at least k
+ * of these" masks, so checking a player's solved puzzles is an AND and a
+ * popcount per clause, never a walk over the graph. Expressions that do not
+ * parse, name unknown puzzles or leave a puzzle unreachable fail the load.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class PuzzleGraph {
+
+    /**
+     * Puzzle IDs are bits of a long, so a catalog holds at most 64 puzzles.
+     * The same long is a player's or team's progress everywhere (the store,
+     * progress tokens, exports); larger catalogs fail the load.
+     */
+    public static final int MAX_PUZZLES = 64;
+
+    private static final long[] NO_MASKS = new long[0];
+    private static final int[] NO_COUNTS = new int[0];
+
+    private final long[] requiredMasks = new long[MAX_PUZZLES];
+    private final long[][] anyMasks = new long[MAX_PUZZLES][];
+    private final int[][] anyCounts = new int[MAX_PUZZLES][];
+    private final long endingMask;
+
+    private PuzzleGraph(long endingMask) {
+        this.endingMask = endingMask;
+        for (int i = 0; i < MAX_PUZZLES; i++) {
+            anyMasks[i] = NO_MASKS;
+            anyCounts[i] = NO_COUNTS;
+        }
+    }
+
+    /**
+     * Compile the prerequisites of a puzzle list.
+     *
+     * @param puzzles Puzzles in puzzles.json order, IDs between 0 and 63
+     * @return The compiled graph
+     * @throws IllegalStateException if an expression is invalid or a puzzle can never be unlocked
+     */
+    public static PuzzleGraph compile(List<Puzzle> puzzles) {
+        Map<String, Puzzle> answerable = new HashMap<>();
+        long endings = 0;
+        Puzzle last = null;
+        for (Puzzle puzzle : puzzles) {
+            if (isAnswerable(puzzle)) {
+                answerable.put(puzzle.getEndpoint(), puzzle);
+                last = puzzle;
+                if (Boolean.TRUE.equals(puzzle.getEnding())) {
+                    endings |= PlayerProgressService.maskOf(puzzle);
+                }
+            }
+        }
+        // Without declared endings the last puzzle is the way out, as before
+        if (endings == 0 && last != null) {
+            endings = PlayerProgressService.maskOf(last);
+        }
+
+        PuzzleGraph graph = new PuzzleGraph(endings);
+        long solvedBefore = 0;
+        for (Puzzle puzzle : puzzles) {
+            if (!isAnswerable(puzzle)) {
+                continue;
+            }
+            Clauses clauses = new Clauses();
+            if (puzzle.getPrerequisites() == null) {
+                clauses.required = solvedBefore;
+            } else {
+                new Parser(puzzle, answerable).parse(clauses);
+            }
+            graph.set(puzzle, clauses);
+            if (!Boolean.TRUE.equals(puzzle.getOptional())) {
+                solvedBefore |= PlayerProgressService.maskOf(puzzle);
+            }
+        }
+        graph.checkReachable(answerable.values());
+        return graph;
+    }
+
+    private static boolean isAnswerable(Puzzle puzzle) {
+        return "POST".equalsIgnoreCase(puzzle.getMethod());
+    }
+
+    /**
+     * Check whether a puzzle may be attempted.
+     *
+     * @param puzzleId The puzzle ID
+     * @param solvedMask Solved puzzles, one bit per puzzle ID
+     * @return true if the puzzle's prerequisites are met
+     */
+    public boolean isUnlocked(int puzzleId, long solvedMask) {
+        long required = requiredMasks[puzzleId];
+        if ((solvedMask & required) != required) {
+            return false;
+        }
+        long[] masks = anyMasks[puzzleId];
+        int[] counts = anyCounts[puzzleId];
+        for (int i = 0; i < masks.length; i++) {
+            if (Long.bitCount(solvedMask & masks[i]) < counts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether solved puzzles include an ending.
+     *
+     * @param solvedMask Solved puzzles, one bit per puzzle ID
+     * @return true if the player escaped
+     */
+    public boolean hasEscaped(long solvedMask) {
+        return (solvedMask & endingMask) != 0;
+    }
+
+    /**
+     * Puzzles that end the game, one bit per puzzle ID.
+     */
+    public long getEndingMask() {
+        return endingMask;
+    }
+
+    private void set(Puzzle puzzle, Clauses clauses) {
+        int id = puzzle.getId();
+        requiredMasks[id] = clauses.required;
+        if (!clauses.anyMasks.isEmpty()) {
+            anyMasks[id] = clauses.anyMasks.stream().mapToLong(Long::longValue).toArray();
+            anyCounts[id] = clauses.anyCounts.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Solve everything that unlocks until nothing changes; whatever is left
+     * waits on a cycle or on a count that can never be reached.
+     */
+    private void checkReachable(Iterable<Puzzle> puzzles) {
+        long solved = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Puzzle puzzle : puzzles) {
+                long bit = PlayerProgressService.maskOf(puzzle);
+                if ((solved & bit) == 0 && isUnlocked(puzzle.getId(), solved)) {
+                    solved |= bit;
+                    changed = true;
+                }
+            }
+        }
+        for (Puzzle puzzle : puzzles) {
+            if ((solved & PlayerProgressService.maskOf(puzzle)) == 0) {
+                throw new IllegalStateException("Puzzle " + puzzle.getEndpoint() + " can never be unlocked: "
+                        + puzzle.getPrerequisites());
+            }
+        }
+    }
+
+    /** Compiled form of one expression. */
+    private static final class Clauses {
+        long required;
+        final List<Long> anyMasks = new ArrayList<>();
+        final List<Integer> anyCounts = new ArrayList<>();
+    }
+
+    /**
+     * Recursive descent over a prerequisite expression.
+     */
+    private static final class Parser {
+        private final Puzzle puzzle;
+        private final Map<String, Puzzle> answerable;
+        private final String text;
+        private int pos;
+
+        Parser(Puzzle puzzle, Map<String, Puzzle> answerable) {
+            this.puzzle = puzzle;
+            this.answerable = answerable;
+            this.text = puzzle.getPrerequisites();
+        }
+
+        void parse(Clauses clauses) {
+            if ("none".equals(text.trim())) {
+                return;
+            }
+            term(clauses);
+            skipSpaces();
+            if (pos < text.length()) {
+                throw error("unexpected '" + text.charAt(pos) + "'");
+            }
+        }
+
+        private void term(Clauses clauses) {
+            String word = word();
+            if ("all".equals(word)) {
+                expect('(');
+                do {
+                    term(clauses);
+                } while (accept(','));
+                expect(')');
+            } else if ("any".equals(word)) {
+                any(clauses);
+            } else {
+                clauses.required |= reference(word);
+            }
+        }
+
+        private void any(Clauses clauses) {
+            expect('(');
+            int count = 1;
+            long mask = 0;
+            String first = word();
+            if (!first.isEmpty() && Character.isDigit(first.charAt(0))) {
+                count = Integer.parseInt(first);
+            } else {
+                mask |= reference(first);
+            }
+            while (accept(',')) {
+                mask |= reference(word());
+            }
+            expect(')');
+            int listed = Long.bitCount(mask);
+            if (count < 1 || count > listed) {
+                throw error("any(" + count + ", ...) over " + listed + " puzzles");
+            }
+            if (count == listed) {
+                clauses.required |= mask;
+            } else {
+                clauses.anyMasks.add(mask);
+                clauses.anyCounts.add(count);
+            }
+        }
+
+        private long reference(String endpoint) {
+            Puzzle target = answerable.get(endpoint);
+            if (target == null) {
+                throw error("no answerable puzzle at '" + endpoint + "'");
+            }
+            if (target.getId().equals(puzzle.getId())) {
+                throw error("puzzle requires itself");
+            }
+            return PlayerProgressService.maskOf(target);
+        }
+
+        private String word() {
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && "(),".indexOf(text.charAt(pos)) < 0
+                    && !Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            return text.substring(start, pos);
+        }
+
+        private boolean accept(char c) {
+            skipSpaces();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw error("expected '" + c + "' at position " + pos);
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalStateException error(String problem) {
+            return new IllegalStateException("Invalid prerequisites for " + puzzle.getEndpoint()
+                    + " (\"" + text + "\"): " + problem);
+        }
+    }
+}
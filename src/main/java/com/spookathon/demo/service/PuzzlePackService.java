@@ -0,0 +1,459 @@
+package com.spookathon.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.answer.AnswerMatchers;
+import com.spookathon.demo.config.TextArenaProperties;
+import com.spookathon.demo.jfr.CatalogLoadEvent;
+import com.spookathon.demo.model.*;
+import com.spookathon.demo.text.TextArena;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service that serves puzzle content in the player's language.
+ *
+ * puzzles.json holds the default (English) pack. Every file matching
+ * packs/puzzles_<locale>.json overrides its texts by puzzle ID; answers,
+ * statuses and timings always come from puzzles.json, and translated
+ * alternative answers are accepted in addition to the original ones.
+ *
+ * Each pack renders its welcome text and the fixed responses of every puzzle
+ * once at load time. Accept-Language headers are parsed once per distinct
+ * value and then resolved with a single map lookup.
+ *
+ * With escape.text-arena.enabled, the player-facing texts of every pack,
+ * hints and welcome included, are kept as deduplicated UTF-8 in a
+ * {@link TextArena} outside the heap and written from there into responses.
+ * PuzzleService then publishes a copy of the base catalog holding the arena
+ * copies of its texts, so no heap String of them outlives the load.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class PuzzlePackService {
+
+    private static final String PACK_LOCATION = "classpath*:packs/puzzles_*.json";
+    private static final String SEQUENCE_LOCKED_STATUS = "sequence_locked";
+
+    /** Distinct Accept-Language values remembered; clients rarely send more than a handful. */
+    private static final int MAX_CACHED_HEADERS = 1024;
+
+    /**
+     * Pre-rendered responses of one puzzle in one language.
+     * Responses are shared between requests and must not be modified.
+     */
+    public static final class Page {
+        private final Puzzle puzzle;
+        private final Object view;
+        private final Object failure;
+        private final Object missingAnswer;
+        private final Object locked;
+
+        private Page(Puzzle puzzle, Object view, Object failure, Object missingAnswer, Object locked) {
+            this.puzzle = puzzle;
+            this.view = view;
+            this.failure = failure;
+            this.missingAnswer = missingAnswer;
+            this.locked = locked;
+        }
+
+        /** The puzzle with its texts in this language. */
+        public Puzzle puzzle() {
+            return puzzle;
+        }
+
+        /** GET response for anonymous players. */
+        public <T> T view() {
+            return cast(view);
+        }
+
+        /** POST response for a wrong answer to the classic puzzle. */
+        public <T> T failure() {
+            return cast(failure);
+        }
+
+        /** POST response when the answer field is missing. */
+        public <T> T missingAnswer() {
+            return cast(missingAnswer);
+        }
+
+        /** POST response when earlier puzzles are not solved yet. */
+        public <T> T locked() {
+            return cast(locked);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T cast(Object response) {
+            return (T) response;
+        }
+    }
+
+    /**
+     * All content of one language.
+     */
+    public static final class Pack {
+        private final String locale;
+        private final CharSequence welcome;
+        private final CharSequence apiDescription;
+        private final Map<String, Page> pages;
+
+        private Pack(String locale, CharSequence welcome, CharSequence apiDescription, Map<String, Page> pages) {
+            this.locale = locale;
+            this.welcome = welcome;
+            this.apiDescription = apiDescription;
+            this.pages = pages;
+        }
+
+        public String getLocale() {
+            return locale;
+        }
+
+        public CharSequence getWelcome() {
+            return welcome;
+        }
+
+        public CharSequence getApiDescription() {
+            return apiDescription;
+        }
+
+        /**
+         * Get the rendered puzzle at an endpoint.
+         *
+         * @param endpoint The endpoint path (e.g., "/room", "/door")
+         * @return The page, or null if there is no puzzle at that endpoint
+         */
+        public Page page(String endpoint) {
+            return pages.get(endpoint);
+        }
+    }
+
+    /**
+     * Everything one load produced, published as a single immutable snapshot
+     * so a request never sees the packs of one load with the default of another.
+     * The Accept-Language cache belongs to the snapshot and is dropped with it.
+     */
+    private record Packs(Map<String, Pack> byTag, Pack defaults, ConcurrentMap<String, Pack> byHeader) {
+        private Packs(Map<String, Pack> byTag, Pack defaults) {
+            this(Map.copyOf(byTag), defaults, new ConcurrentHashMap<>());
+        }
+    }
+
+    private final PuzzleService puzzleService;
+    private final TextArenaProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile Packs packs = new Packs(Map.of(), null);
+
+    public PuzzlePackService(PuzzleService puzzleService, TextArenaProperties properties) {
+        this.puzzleService = puzzleService;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads and renders every locale pack on application startup.
+     */
+    @PostConstruct
+    public void loadPacks() {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        boolean reload = packs.defaults() != null;
+        List<PuzzleConfig> overlays = new ArrayList<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(PACK_LOCATION)) {
+                PuzzleConfig overlay = objectMapper.readValue(resource.getInputStream(), PuzzleConfig.class);
+                if (overlay.getLocale() == null) {
+                    throw new IllegalStateException("Puzzle pack without locale: " + resource.getFilename());
+                }
+                overlays.add(overlay);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error loading puzzle packs: " + e.getMessage());
+            event.finish(PACK_LOCATION, reload, 0, false);
+            throw new RuntimeException("Failed to load puzzle packs", e);
+        }
+        int packs = loadPacks(puzzleService.getPuzzleConfig(), overlays);
+        event.finish(PACK_LOCATION, reload, packs, true);
+        System.out.println("🌍 Loaded puzzle packs: " + getLocales());
+    }
+
+    /**
+     * Render a catalog and its translations, and serve them from now on.
+     *
+     * @param base The default-locale configuration
+     * @param overlays One configuration per translated locale
+     * @return Number of distinct packs
+     */
+    public int loadPacks(PuzzleConfig base, List<PuzzleConfig> overlays) {
+        TextArena arena = properties.isEnabled() ? new TextArena(properties.getSlabBytes()) : null;
+        Pack defaults = render(base, null, arena);
+
+        Map<String, Pack> byTag = new HashMap<>();
+        register(byTag, defaults);
+        for (PuzzleConfig overlay : overlays) {
+            register(byTag, render(base, overlay, arena));
+        }
+        if (arena != null) {
+            // Every base text is also in a pack, so the copy only references texts already stored
+            puzzleService.replaceTexts(base, storeTexts(base, arena));
+            arena.seal();
+            System.out.printf("📦 Pack texts off-heap: %,d distinct texts, %,d KB (%,d KB before deduplication)%n",
+                    arena.size(), arena.getStoredBytes() / 1024, arena.getRequestedBytes() / 1024);
+        }
+        packs = new Packs(byTag, defaults);
+        return new HashSet<>(byTag.values()).size();
+    }
+
+    /**
+     * Pick the pack for an Accept-Language header (e.g. "es-MX,es;q=0.9,en;q=0.8").
+     *
+     * @param acceptLanguage The raw header, may be null
+     * @return Best matching pack, or the default pack
+     */
+    public Pack resolve(String acceptLanguage) {
+        Packs current = packs;
+        if (acceptLanguage == null || acceptLanguage.isEmpty()) {
+            return current.defaults();
+        }
+        Pack pack = current.byHeader().get(acceptLanguage);
+        if (pack == null) {
+            pack = match(current, acceptLanguage);
+            if (current.byHeader().size() < MAX_CACHED_HEADERS) {
+                current.byHeader().putIfAbsent(acceptLanguage, pack);
+            }
+        }
+        return pack;
+    }
+
+    /**
+     * Pick the pack for a locale.
+     *
+     * @param locale The requested locale, may be null
+     * @return Best matching pack, or the default pack
+     */
+    public Pack resolve(Locale locale) {
+        return locale == null ? packs.defaults() : resolve(locale.toLanguageTag());
+    }
+
+    public Pack getDefaultPack() {
+        return packs.defaults();
+    }
+
+    /**
+     * Locale tags of all loaded packs.
+     */
+    public Set<String> getLocales() {
+        return new TreeSet<>(packs.byTag().keySet());
+    }
+
+    private static Pack match(Packs packs, String acceptLanguage) {
+        List<Locale.LanguageRange> ranges;
+        try {
+            ranges = Locale.LanguageRange.parse(acceptLanguage);
+        } catch (IllegalArgumentException e) {
+            return packs.defaults();
+        }
+        // Ranges come sorted by weight; try "es-mx" and then its language "es"
+        for (Locale.LanguageRange range : ranges) {
+            if (range.getWeight() == 0) {
+                continue;
+            }
+            String tag = range.getRange().toLowerCase(Locale.ROOT);
+            Pack pack = packs.byTag().get(tag);
+            int dash = tag.indexOf('-');
+            if (pack == null && dash > 0) {
+                pack = packs.byTag().get(tag.substring(0, dash));
+            }
+            if (pack != null) {
+                return pack;
+            }
+        }
+        return packs.defaults();
+    }
+
+    private static void register(Map<String, Pack> packs, Pack pack) {
+        String tag = pack.getLocale().toLowerCase(Locale.ROOT);
+        packs.put(tag, pack);
+        int dash = tag.indexOf('-');
+        if (dash > 0) {
+            packs.putIfAbsent(tag.substring(0, dash), pack);
+        }
+    }
+
+    private Pack render(PuzzleConfig base, PuzzleConfig overlay, TextArena arena) {
+        Map<Integer, Puzzle> translations = new HashMap<>();
+        if (overlay != null && overlay.getPuzzles() != null) {
+            for (Puzzle translation : overlay.getPuzzles()) {
+                translations.put(translation.getId(), translation);
+            }
+        }
+        CharSequence lockedMessage = intern(arena, message(base, overlay, "sequenceLocked"));
+
+        Map<String, Page> pages = new HashMap<>();
+        for (Puzzle original : base.getPuzzles()) {
+            Puzzle puzzle = translate(original, translations.get(original.getId()));
+            if (arena != null) {
+                storeTexts(puzzle, arena);
+            }
+            pages.put(puzzle.getEndpoint(), renderPage(puzzle, lockedMessage));
+        }
+        return new Pack(
+                overlay != null ? overlay.getLocale() : Objects.requireNonNullElse(base.getLocale(), "en"),
+                intern(arena, text(base.getWelcome(), overlay != null ? overlay.getWelcome() : null)),
+                intern(arena, text(base.getApiDescription(), overlay != null ? overlay.getApiDescription() : null)),
+                Map.copyOf(pages));
+    }
+
+    /**
+     * Fixed responses of a puzzle, built as the response type it declares.
+     */
+    private static Page renderPage(Puzzle puzzle, CharSequence lockedMessage) {
+        String type = responseType(puzzle);
+        switch (type) {
+            case "room":
+                return new Page(puzzle, new RoomResponse(puzzle.getMessage(), puzzle.getHint(), puzzle.getStatus()),
+                        null, null, null);
+            case "hallway":
+                return new Page(puzzle, new HallwayResponse(puzzle.getMessage(), puzzle.getHint(), puzzle.getStatus()),
+                        null, null, null);
+            case "door":
+                return new Page(puzzle, null,
+                        new DoorResponse(puzzle.getFailureMessage(), puzzle.getFailureStatus()),
+                        new DoorResponse(puzzle.getMissingAnswerMessage(), puzzle.getFailureStatus()),
+                        new DoorResponse(lockedMessage, SEQUENCE_LOCKED_STATUS));
+            case "escape":
+                return new Page(puzzle, null,
+                        new EscapeResponse(puzzle.getFailureMessage(), puzzle.getFailureStatus()),
+                        new EscapeResponse(puzzle.getMissingAnswerMessage(), puzzle.getFailureStatus()),
+                        new EscapeResponse(lockedMessage, SEQUENCE_LOCKED_STATUS));
+            default:
+                throw new IllegalStateException("Unknown responseType '" + type + "' for " + puzzle.getEndpoint());
+        }
+    }
+
+    /**
+     * The declared response type, or the default for the puzzle's method:
+     * "room" for views, "escape" for endings and "door" for other answers.
+     */
+    private static String responseType(Puzzle puzzle) {
+        if (puzzle.getResponseType() != null) {
+            return puzzle.getResponseType().toLowerCase(Locale.ROOT);
+        }
+        if ("GET".equalsIgnoreCase(puzzle.getMethod())) {
+            return "room";
+        }
+        return Boolean.TRUE.equals(puzzle.getEnding()) ? "escape" : "door";
+    }
+
+    /**
+     * Copy a puzzle and replace its texts with the translated ones that are present.
+     */
+    private Puzzle translate(Puzzle original, Puzzle translation) {
+        Puzzle puzzle = objectMapper.convertValue(original, Puzzle.class);
+        // The copy drops the compiled answer check; share the original's unless answers are added
+        puzzle.setAnswerMatcher(original.getAnswerMatcher() != null
+                ? original.getAnswerMatcher()
+                : AnswerMatchers.compile(puzzle));
+        if (translation == null) {
+            return puzzle;
+        }
+        puzzle.setName(text(original.getName(), translation.getName()));
+        puzzle.setMessage(text(original.getMessage(), translation.getMessage()));
+        puzzle.setHint(text(original.getHint(), translation.getHint()));
+        puzzle.setSuccessMessage(text(original.getSuccessMessage(), translation.getSuccessMessage()));
+        puzzle.setFailureMessage(text(original.getFailureMessage(), translation.getFailureMessage()));
+        puzzle.setMissingAnswerMessage(text(original.getMissingAnswerMessage(), translation.getMissingAnswerMessage()));
+        puzzle.setChallengeMessage(text(original.getChallengeMessage(), translation.getChallengeMessage()));
+        puzzle.setChallengeSuccessMessage(text(original.getChallengeSuccessMessage(), translation.getChallengeSuccessMessage()));
+        puzzle.setChallengeFailureMessage(text(original.getChallengeFailureMessage(), translation.getChallengeFailureMessage()));
+
+        if (translation.getAlternativeAnswers() != null) {
+            List<String> answers = new ArrayList<>();
+            if (original.getAlternativeAnswers() != null) {
+                answers.addAll(original.getAlternativeAnswers());
+            }
+            answers.addAll(translation.getAlternativeAnswers());
+            puzzle.setAlternativeAnswers(answers);
+            puzzle.setAnswerMatcher(AnswerMatchers.compile(puzzle));
+        }
+
+        // Hint timings stay those of puzzles.json; only the texts are translated
+        if (original.getHints() != null && translation.getHints() != null) {
+            List<TimedHint> hints = new ArrayList<>();
+            for (int i = 0; i < original.getHints().size(); i++) {
+                TimedHint hint = original.getHints().get(i);
+                CharSequence text = i < translation.getHints().size() ? translation.getHints().get(i).getText() : null;
+                hints.add(new TimedHint(hint.getAfterSeconds(), text(hint.getText(), text)));
+            }
+            puzzle.setHints(hints);
+        }
+        return puzzle;
+    }
+
+    /**
+     * Move the player-facing texts of a rendered puzzle into the arena.
+     */
+    private static void storeTexts(Puzzle puzzle, TextArena arena) {
+        puzzle.setMessage(intern(arena, puzzle.getMessage()));
+        puzzle.setHint(intern(arena, puzzle.getHint()));
+        puzzle.setSuccessMessage(intern(arena, puzzle.getSuccessMessage()));
+        puzzle.setFailureMessage(intern(arena, puzzle.getFailureMessage()));
+        puzzle.setMissingAnswerMessage(intern(arena, puzzle.getMissingAnswerMessage()));
+        puzzle.setChallengeMessage(intern(arena, puzzle.getChallengeMessage()));
+        puzzle.setChallengeSuccessMessage(intern(arena, puzzle.getChallengeSuccessMessage()));
+        puzzle.setChallengeFailureMessage(intern(arena, puzzle.getChallengeFailureMessage()));
+        if (puzzle.getHints() != null) {
+            List<TimedHint> hints = new ArrayList<>(puzzle.getHints().size());
+            for (TimedHint hint : puzzle.getHints()) {
+                hints.add(new TimedHint(hint.getAfterSeconds(), intern(arena, hint.getText())));
+            }
+            puzzle.setHints(List.copyOf(hints));
+        }
+    }
+
+    /**
+     * Copy the base catalog with its texts moved into the arena. The base
+     * catalog may already be published, so neither it nor its puzzles change.
+     */
+    private PuzzleConfig storeTexts(PuzzleConfig base, TextArena arena) {
+        Map<String, CharSequence> messages = null;
+        if (base.getMessages() != null) {
+            messages = new HashMap<>();
+            for (Map.Entry<String, CharSequence> message : base.getMessages().entrySet()) {
+                messages.put(message.getKey(), intern(arena, message.getValue()));
+            }
+            messages = Map.copyOf(messages);
+        }
+        List<Puzzle> puzzles = new ArrayList<>(base.getPuzzles().size());
+        for (Puzzle original : base.getPuzzles()) {
+            Puzzle puzzle = translate(original, null);
+            storeTexts(puzzle, arena);
+            puzzles.add(puzzle);
+        }
+        return new PuzzleConfig(base.getLocale(), intern(arena, base.getWelcome()),
+                intern(arena, base.getApiDescription()), messages, base.getGameInfo(), puzzles);
+    }
+
+    private static CharSequence intern(TextArena arena, CharSequence text) {
+        return arena == null || text == null ? text : arena.intern(text.toString());
+    }
+
+    private static CharSequence message(PuzzleConfig base, PuzzleConfig overlay, String key) {
+        CharSequence original = base.getMessages() != null ? base.getMessages().get(key) : null;
+        CharSequence translated = overlay != null && overlay.getMessages() != null ? overlay.getMessages().get(key) : null;
+        return text(original, translated);
+    }
+
+    private static <T extends CharSequence> T text(T original, T translated) {
+        return translated != null ? translated : original;
+    }
+}
@@ -1,6 +1,9 @@
 package com.spookathon.demo.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.answer.AnswerMatcher;
+import com.spookathon.demo.answer.AnswerMatchers;
+import com.spookathon.demo.jfr.CatalogLoadEvent;
 import com.spookathon.demo.model.Puzzle;
 import com.spookathon.demo.model.PuzzleConfig;
 import org.springframework.core.io.ClassPathResource;
@@ -8,8 +11,10 @@ import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -17,6 +22,11 @@ import java.util.Optional;
  * Service that loads and manages puzzle configurations from JSON file.
  * Provides methods to retrieve puzzles by endpoint or ID.
  * 
+ * The loaded catalog and every index built from it form one immutable
+ * {@link Catalog} published through a volatile field. A reload builds the
+ * next catalog aside and swaps it in with a single write, so request
+ * threads never lock and always see one complete catalog, old or new.
+ * 
  * @author Johan Gloria
  * @author Melany Rivera
  * @author Jese Sanchez
@@ -26,13 +36,18 @@ import java.util.Optional;
 @Service
 public class PuzzleService {
 
-    private PuzzleConfig puzzleConfig;
-    private Map<String, Puzzle> puzzlesByEndpoint;
+    /**
+     * One loaded catalog with its lookup indexes. Never modified once published.
+     */
+    private record Catalog(PuzzleConfig config, Map<String, Puzzle> byEndpoint, Map<String, Puzzle> answerByEndpoint,
+                           Puzzle[] byId, Map<String, List<Puzzle>> byLevel, PuzzleGraph graph) {
+    }
+
+    private volatile Catalog catalog;
     private final ObjectMapper objectMapper;
 
     public PuzzleService() {
         this.objectMapper = new ObjectMapper();
-        this.puzzlesByEndpoint = new HashMap<>();
     }
 
     /**
@@ -40,20 +55,91 @@ public class PuzzleService {
      */
     @PostConstruct
     public void loadPuzzles() {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        boolean reload = catalog != null;
+        int loaded = 0;
         try {
             ClassPathResource resource = new ClassPathResource("puzzles.json");
-            puzzleConfig = objectMapper.readValue(resource.getInputStream(), PuzzleConfig.class);
-            
-            // Index puzzles by endpoint for quick lookup
-            for (Puzzle puzzle : puzzleConfig.getPuzzles()) {
-                puzzlesByEndpoint.put(puzzle.getEndpoint(), puzzle);
-            }
-            
-            System.out.println("✅ Loaded " + puzzleConfig.getPuzzles().size() + " puzzles from JSON");
+            loaded = loadPuzzles(objectMapper.readValue(resource.getInputStream(), PuzzleConfig.class));
+            System.out.println("✅ Loaded " + loaded + " puzzles from JSON");
         } catch (IOException e) {
             System.err.println("❌ Error loading puzzles.json: " + e.getMessage());
             throw new RuntimeException("Failed to load puzzle configuration", e);
+        } finally {
+            event.finish("puzzles.json", reload, loaded, loaded > 0);
+        }
+    }
+
+    /**
+     * Replace the catalog with an already parsed configuration.
+     * Lookups running meanwhile keep using the previous catalog.
+     * 
+     * @param config Parsed puzzles.json content; its puzzle list is frozen
+     * @return Number of puzzles loaded
+     * @throws IllegalStateException if a puzzle ID is out of range or repeated, or a prerequisite is invalid
+     */
+    public synchronized int loadPuzzles(PuzzleConfig config) {
+        List<Puzzle> puzzles = List.copyOf(config.getPuzzles());
+        config.setPuzzles(puzzles);
+        
+        // Index puzzles by endpoint, ID and level for quick lookup
+        Map<String, Puzzle> byEndpoint = new HashMap<>();
+        Puzzle[] byId = new Puzzle[PuzzleGraph.MAX_PUZZLES];
+        Map<String, List<Puzzle>> byLevel = new HashMap<>();
+        for (Puzzle puzzle : puzzles) {
+            // Player progress stores solved puzzles as bits of a long
+            if (puzzle.getId() == null || puzzle.getId() < 0 || puzzle.getId() >= PuzzleGraph.MAX_PUZZLES) {
+                throw new IllegalStateException("Puzzle id must be between 0 and 63: " + puzzle.getId());
+            }
+            // Two puzzles with one ID would share a solved bit
+            if (byId[puzzle.getId()] != null) {
+                throw new IllegalStateException("Duplicate puzzle id " + puzzle.getId() + ": "
+                        + byId[puzzle.getId()].getEndpoint() + " and " + puzzle.getEndpoint());
+            }
+            byEndpoint.put(puzzle.getEndpoint(), puzzle);
+            puzzle.setAnswerMatcher(AnswerMatchers.compile(puzzle));
+            byId[puzzle.getId()] = puzzle;
+            if (puzzle.getLevel() != null) {
+                byLevel.computeIfAbsent(puzzle.getLevel().toUpperCase(Locale.ROOT), level -> new ArrayList<>()).add(puzzle);
+            }
+        }
+        byLevel.replaceAll((level, list) -> List.copyOf(list));
+        
+        // Prerequisite expressions become bit masks once, here
+        PuzzleGraph graph = PuzzleGraph.compile(puzzles);
+        
+        // A GET puzzle presents the riddle answered by the next POST puzzle
+        Map<String, Puzzle> answerByEndpoint = new HashMap<>();
+        for (int i = 0; i < puzzles.size(); i++) {
+            for (int j = i; j < puzzles.size(); j++) {
+                if ("POST".equalsIgnoreCase(puzzles.get(j).getMethod())) {
+                    answerByEndpoint.put(puzzles.get(i).getEndpoint(), puzzles.get(j));
+                    break;
+                }
+            }
+        }
+        
+        catalog = new Catalog(config, Map.copyOf(byEndpoint), Map.copyOf(answerByEndpoint), byId,
+                Map.copyOf(byLevel), graph);
+        return puzzles.size();
+    }
+
+    /**
+     * Publish a copy of the current catalog whose texts were replaced by equal
+     * ones (e.g. off-heap copies). The current catalog and its puzzles are left
+     * untouched; lookups running meanwhile keep using them.
+     * 
+     * @param current The configuration the copy was made from
+     * @param copy Copy of it with the same puzzles and different text references
+     * @return false if another catalog was loaded since the copy was made
+     */
+    public synchronized boolean replaceTexts(PuzzleConfig current, PuzzleConfig copy) {
+        if (catalog == null || catalog.config() != current) {
+            return false;
         }
+        loadPuzzles(copy);
+        return true;
     }
 
     /**
@@ -63,7 +149,40 @@ public class PuzzleService {
      * @return Optional containing the puzzle if found
      */
     public Optional<Puzzle> getPuzzleByEndpoint(String endpoint) {
-        return Optional.ofNullable(puzzlesByEndpoint.get(endpoint));
+        return Optional.ofNullable(catalog.byEndpoint().get(endpoint));
+    }
+
+    /**
+     * Get the puzzle whose answer a player is working towards at an endpoint.
+     * For POST puzzles this is the puzzle itself; for GET puzzles it is the
+     * next POST puzzle in the sequence.
+     * 
+     * @param endpoint The endpoint path (e.g., "/memory-chamber")
+     * @return Optional containing the answer puzzle if there is one
+     */
+    public Optional<Puzzle> getAnswerPuzzleFor(String endpoint) {
+        return Optional.ofNullable(catalog.answerByEndpoint().get(endpoint));
+    }
+
+    /**
+     * Check whether a puzzle may be attempted given the puzzles already solved.
+     * 
+     * @param puzzle The puzzle to attempt
+     * @param solvedMask Solved puzzles, one bit per puzzle ID
+     * @return true if the puzzle's prerequisites are solved
+     */
+    public boolean isUnlocked(Puzzle puzzle, long solvedMask) {
+        return catalog.graph().isUnlocked(puzzle.getId(), solvedMask);
+    }
+
+    /**
+     * Check whether solved puzzles include one of the endings.
+     * 
+     * @param solvedMask Solved puzzles, one bit per puzzle ID
+     * @return true if the player or team escaped
+     */
+    public boolean hasEscaped(long solvedMask) {
+        return catalog.graph().hasEscaped(solvedMask);
     }
 
     /**
@@ -73,9 +192,10 @@ public class PuzzleService {
      * @return Optional containing the puzzle if found
      */
     public Optional<Puzzle> getPuzzleById(Integer id) {
-        return puzzleConfig.getPuzzles().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst();
+        if (id == null || id < 0 || id >= PuzzleGraph.MAX_PUZZLES) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(catalog.byId()[id]);
     }
 
     /**
@@ -84,7 +204,7 @@ public class PuzzleService {
      * @return List of all puzzles
      */
     public List<Puzzle> getAllPuzzles() {
-        return puzzleConfig.getPuzzles();
+        return catalog.config().getPuzzles();
     }
 
     /**
@@ -94,40 +214,37 @@ public class PuzzleService {
      * @return List of puzzles for that level
      */
     public List<Puzzle> getPuzzlesByLevel(String level) {
-        return puzzleConfig.getPuzzles().stream()
-                .filter(p -> p.getLevel().equalsIgnoreCase(level))
-                .toList();
+        return catalog.byLevel().getOrDefault(level.toUpperCase(Locale.ROOT), List.of());
     }
 
     /**
      * Validate if an answer is correct for a given puzzle.
-     * Checks both the main correct answer and alternative answers.
-     * Case-insensitive comparison with trimmed whitespace.
+     * Checks the main and alternative answers with the puzzle's validator
+     * (see AnswerMatchers); by default case-insensitive with trimmed whitespace.
      * 
      * @param puzzle The puzzle to validate against
      * @param userAnswer The user's submitted answer
      * @return true if the answer is correct
      */
     public boolean isAnswerCorrect(Puzzle puzzle, String userAnswer) {
-        if (userAnswer == null || puzzle.getCorrectAnswer() == null) {
+        if (userAnswer == null) {
             return false;
         }
-
-        String normalizedAnswer = userAnswer.trim().toLowerCase();
-        String normalizedCorrect = puzzle.getCorrectAnswer().trim().toLowerCase();
-
-        // Check main answer
-        if (normalizedAnswer.equals(normalizedCorrect)) {
-            return true;
-        }
-
-        // Check alternative answers
-        if (puzzle.getAlternativeAnswers() != null) {
-            return puzzle.getAlternativeAnswers().stream()
-                    .anyMatch(alt -> normalizedAnswer.equals(alt.trim().toLowerCase()));
+        // Compiled when the catalog loads; puzzles built elsewhere are compiled on the spot
+        AnswerMatcher matcher = puzzle.getAnswerMatcher();
+        if (matcher == null) {
+            matcher = AnswerMatchers.compile(puzzle);
         }
+        return matcher.matches(userAnswer);
+    }
 
-        return false;
+    /**
+     * Get the whole default-locale configuration, including the welcome text.
+     * 
+     * @return Configuration loaded from puzzles.json
+     */
+    public PuzzleConfig getPuzzleConfig() {
+        return catalog.config();
     }
 
     /**
@@ -136,6 +253,6 @@ public class PuzzleService {
      * @return Map containing game metadata
      */
     public Map<String, Object> getGameInfo() {
-        return puzzleConfig.getGameInfo();
+        return catalog.config().getGameInfo();
     }
 }
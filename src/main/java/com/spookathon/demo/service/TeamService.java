@@ -0,0 +1,286 @@
+package com.spookathon.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.cluster.ClusterMembership;
+import com.spookathon.demo.config.TeamProperties;
+import com.spookathon.demo.model.Puzzle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the shared progression of co-op teams.
+ * Players join a team by sending the X-Team-Id header next to X-Player-Id;
+ * every member then plays on the team's solved puzzles instead of their own
+ * progress token.
+ *
+ * A team's progression is one immutable {@link TeamState} behind an
+ * AtomicReference. Members advance it with compare-and-set, so two members
+ * answering the same puzzle at the same moment advance the team exactly
+ * once, and no member ever waits on a lock held by a teammate.
+ *
+ * Teams live in memory, like hint clocks, on the node that owns the team ID
+ * on the cluster ring. Members' requests stay on their own nodes, where
+ * their personal progress and clocks live; those nodes read and advance the
+ * team on its owner through POST /internal/cluster/team, so the
+ * compare-and-set still happens in one place. Teams nobody has played on
+ * for escape.teams.idle-ttl-minutes are forgotten.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Service
+public class TeamService {
+
+    public static final String TEAM_HEADER = "X-Team-Id";
+
+    /** Longer IDs are treated as solo play so they cannot bloat the team table. */
+    public static final int MAX_TEAM_ID_LENGTH = 64;
+
+    /** Members remembered per team for the team view; more can still play. */
+    public static final int MAX_LISTED_MEMBERS = 32;
+
+    /** Internal endpoint serving the teams this node owns to its peers. */
+    public static final String TEAM_PATH = "/internal/cluster/team";
+
+    /**
+     * A team operation sent to the team's owner.
+     *
+     * @param teamId The team ID
+     * @param memberId The member making the request
+     * @param bit Puzzle bit to mark as solved, or 0 to only read the team
+     * @param endpoint Endpoint of the solved puzzle, for the log
+     */
+    public record TeamCall(String teamId, String memberId, long bit, String endpoint) {
+    }
+
+    /**
+     * The owner's answer to a {@link TeamCall}.
+     *
+     * @param solvedMask Puzzles the team has solved, after the call
+     * @param advanced Whether the call advanced the team
+     */
+    public record TeamReply(long solvedMask, boolean advanced) {
+    }
+
+    /**
+     * Immutable progression of a team.
+     *
+     * @param solvedMask Puzzles solved by any member, one bit per puzzle ID
+     * @param advances Number of successful advances, one per solved puzzle
+     * @param lastSolver Member whose answer made the last advance
+     * @param updatedAt When the last advance happened (epoch millis)
+     */
+    public record TeamState(long solvedMask, int advances, String lastSolver, long updatedAt) {
+
+        static final TeamState EMPTY = new TeamState(0L, 0, null, 0L);
+
+        TeamState solve(long bit, String memberId, long now) {
+            return new TeamState(solvedMask | bit, advances + 1, memberId, now);
+        }
+    }
+
+    /**
+     * One team: its progression and the members seen so far.
+     */
+    public static final class Team {
+        private final String id;
+        private final AtomicReference<TeamState> state = new AtomicReference<>(TeamState.EMPTY);
+        private final Set<String> members = ConcurrentHashMap.newKeySet();
+        private volatile long touchedAt = System.currentTimeMillis();
+
+        public Team(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public TeamState getState() {
+            return state.get();
+        }
+
+        public Set<String> getMembers() {
+            return members;
+        }
+
+        /**
+         * Mark a puzzle bit as solved by a member.
+         *
+         * @param bit Mask with only the puzzle's bit set
+         * @param memberId The member who answered
+         * @return true if this call advanced the team, false if the puzzle was already solved
+         */
+        public boolean advance(long bit, String memberId) {
+            TeamState current = state.get();
+            while ((current.solvedMask() & bit) == 0) {
+                TeamState next = current.solve(bit, memberId, System.currentTimeMillis());
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+                // A teammate advanced first; retry against the state they published
+                current = state.get();
+            }
+            return false;
+        }
+
+        void join(String memberId) {
+            touchedAt = System.currentTimeMillis();
+            if (members.size() < MAX_LISTED_MEMBERS) {
+                members.add(memberId);
+            }
+        }
+    }
+
+    private final TeamProperties properties;
+    private final ClusterMembership membership;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<String, Team> teams = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TeamService(TeamProperties properties, ClusterMembership membership) {
+        this.properties = properties;
+        this.membership = membership;
+    }
+
+    /**
+     * A single-node team service, for tests and benchmarks.
+     */
+    TeamService() {
+        this(new TeamProperties(), null);
+    }
+
+    /**
+     * Check whether a header value can be used as a team ID.
+     *
+     * @param teamId The X-Team-Id header value
+     * @return true if the request should play on a team's progression
+     */
+    public static boolean isValidTeamId(String teamId) {
+        return teamId != null && !teamId.isBlank() && teamId.length() <= MAX_TEAM_ID_LENGTH;
+    }
+
+    /**
+     * Get a team, creating it when its first member shows up.
+     *
+     * @param teamId The team ID
+     * @param memberId The member making the request
+     * @return The team
+     */
+    public Team join(String teamId, String memberId) {
+        Team team = teams.computeIfAbsent(teamId, Team::new);
+        team.join(memberId);
+        return team;
+    }
+
+    /**
+     * Get a team if it exists on this node.
+     * GET /team is routed to the team's owner, so this is the authoritative copy there.
+     *
+     * @param teamId The team ID
+     * @return Optional containing the team
+     */
+    public Optional<Team> getTeam(String teamId) {
+        return Optional.ofNullable(teams.get(teamId));
+    }
+
+    /**
+     * Puzzles solved by a team so far, read on the node that owns the team.
+     *
+     * @param teamId The team ID
+     * @param memberId The member making the request
+     * @return Solved puzzles as a bit mask
+     */
+    public long getSolvedMask(String teamId, String memberId) {
+        return call(new TeamCall(teamId, memberId, 0L, null)).solvedMask();
+    }
+
+    /**
+     * Record a correct answer from a team member, on the node that owns the team.
+     *
+     * @param teamId The team ID
+     * @param memberId The member who answered
+     * @param puzzle The solved puzzle
+     * @return true if the team advanced, false if a teammate had already solved the puzzle
+     */
+    public boolean recordSolve(String teamId, String memberId, Puzzle puzzle) {
+        return call(new TeamCall(teamId, memberId, PlayerProgressService.maskOf(puzzle), puzzle.getEndpoint())).advanced();
+    }
+
+    /**
+     * Apply a team operation to a team this node owns.
+     *
+     * @param call The operation, from this node or a peer
+     * @return The team's solved puzzles and whether it advanced
+     */
+    public TeamReply apply(TeamCall call) {
+        Team team = join(call.teamId(), call.memberId());
+        boolean advanced = call.bit() != 0 && team.advance(call.bit(), call.memberId());
+        if (advanced) {
+            System.out.println("👥 Team " + call.teamId() + " solved " + call.endpoint() + " (by " + call.memberId() + ")");
+        }
+        return new TeamReply(team.getState().solvedMask(), advanced);
+    }
+
+    /**
+     * Forget teams nobody has played on for a while.
+     */
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+    public void expire() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(properties.getIdleTtlMinutes());
+        teams.values().removeIf(team -> team.touchedAt < cutoff);
+    }
+
+    /**
+     * Run a team operation here or on the team's owner. An unreachable owner
+     * is dropped from the ring and the operation goes to the next owner once.
+     */
+    private TeamReply call(TeamCall call) {
+        IOException failure = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (membership == null || membership.isLocal(call.teamId())) {
+                return apply(call);
+            }
+            String owner = membership.ownerOf(call.teamId());
+            try {
+                return send(owner, call);
+            } catch (IOException e) {
+                membership.markDown(owner);
+                failure = e;
+            }
+        }
+        throw new UncheckedIOException("Owner of team " + call.teamId() + " is unreachable", failure);
+    }
+
+    private TeamReply send(String owner, TeamCall call) throws IOException {
+        HttpRequest request = membership.peerRequest(owner, TEAM_PATH, "POST", objectMapper.writeValueAsBytes(call))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<byte[]> response;
+        try {
+            response = membership.getHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling " + owner, e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(owner + " answered " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), TeamReply.class);
+    }
+}
@@ -0,0 +1,260 @@
+package com.spookathon.demo.store;
+
+import com.spookathon.demo.model.PlayerProgress;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of player progress changes, split into segments.
+ * 
+ * Each record holds the full state of one player (or a delete marker), so
+ * replaying records in order always ends in the latest state. Segments are
+ * named after the first sequence number they contain.
+ * 
+ * Record layout: int bodyLength, int crc32(body), body = long seq, byte type,
+ * short idLength, id bytes, and for PUT records long solvedMask, long startedAt,
+ * long updatedAt.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+class ProgressLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final String PREFIX = "progress-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_BODY_BYTES = 8 + 1 + 2 + 0xFFFF + 24;
+
+    /** Receives replayed records; progress is null for DELETE records. */
+    interface RecordHandler {
+        void onRecord(long seq, String playerId, PlayerProgress progress);
+    }
+
+    private final Path directory;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private long segmentStartSeq;
+    private long syncedBytes;
+
+    ProgressLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Start a new segment whose first record will be {@code firstSeq}.
+     */
+    void open(long firstSeq) throws IOException {
+        FileChannel opened = FileChannel.open(segmentPath(firstSeq),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channel = opened;
+        segmentStartSeq = firstSeq;
+        syncedBytes = opened.size();
+    }
+
+    /**
+     * Buffer one record. Nothing is durable until {@link #sync()} is called.
+     */
+    void append(long seq, String playerId, PlayerProgress progress) throws IOException {
+        byte[] id = playerId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > 0xFFFF) {
+            throw new IllegalArgumentException("Player id too long");
+        }
+        int bodyLength = 8 + 1 + 2 + id.length + (progress != null ? 24 : 0);
+        if (buffer.remaining() < HEADER_BYTES + bodyLength) {
+            drain();
+        }
+
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.putLong(seq);
+        buffer.put(progress != null ? PUT : DELETE);
+        buffer.putShort((short) id.length);
+        buffer.put(id);
+        if (progress != null) {
+            buffer.putLong(progress.getSolvedMask());
+            buffer.putLong(progress.getStartedAt());
+            buffer.putLong(progress.getUpdatedAt());
+        }
+
+        crc.reset();
+        crc.update(buffer.array(), start + HEADER_BYTES, bodyLength);
+        buffer.putInt(start, bodyLength);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    /**
+     * Write buffered records and force them to disk (one fsync per batch).
+     */
+    void sync() throws IOException {
+        drain();
+        channel.force(false);
+        syncedBytes = channel.size();
+    }
+
+    /**
+     * Recover from a failed write: drop buffered records and cut the current
+     * segment back to its last synced length, so no torn record is left in a
+     * segment that may later be followed by others. The caller writes the
+     * lost records again.
+     */
+    void reset() throws IOException {
+        buffer.clear();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // The segment is reopened below either way
+            }
+        }
+        Path segment = segmentPath(segmentStartSeq);
+        try (FileChannel truncating = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            truncating.truncate(syncedBytes);
+        }
+        channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Close the current segment and start a new one.
+     */
+    void rotate(long firstSeq) throws IOException {
+        sync();
+        channel.close();
+        open(firstSeq);
+    }
+
+    /**
+     * Delete every segment older than the current one.
+     * Called once a snapshot covering them is safely on disk.
+     */
+    void deleteOldSegments() throws IOException {
+        for (Path segment : listSegments(directory)) {
+            if (startSeqOf(segment) < segmentStartSeq) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            sync();
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, firstSeq, SUFFIX));
+    }
+
+    /**
+     * Replay all records with a sequence number above {@code afterSeq}.
+     * A torn record at the end of the last segment (crash mid-write) is
+     * truncated away; anything after it is ignored.
+     * 
+     * @return The highest sequence number seen, or afterSeq if none
+     */
+    static long replay(Path directory, long afterSeq, RecordHandler handler) throws IOException {
+        long lastSeq = afterSeq;
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long validBytes = 0;
+            try (InputStream file = Files.newInputStream(segment);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+                byte[] body = new byte[256];
+                CRC32 checksum = new CRC32();
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException end) {
+                        break;
+                    }
+                    int expectedCrc = in.readInt();
+                    if (length <= 0 || length > MAX_BODY_BYTES) {
+                        throw new EOFException("Corrupt record length " + length);
+                    }
+                    if (body.length < length) {
+                        body = new byte[length];
+                    }
+                    in.readFully(body, 0, length);
+                    checksum.reset();
+                    checksum.update(body, 0, length);
+                    if ((int) checksum.getValue() != expectedCrc) {
+                        throw new EOFException("Checksum mismatch");
+                    }
+
+                    ByteBuffer record = ByteBuffer.wrap(body, 0, length);
+                    long seq = record.getLong();
+                    byte type = record.get();
+                    int idLength = record.getShort() & 0xFFFF;
+                    String playerId = new String(body, record.position(), idLength, StandardCharsets.UTF_8);
+                    record.position(record.position() + idLength);
+                    if (seq > afterSeq) {
+                        PlayerProgress progress = type == PUT
+                                ? new PlayerProgress(playerId, record.getLong(), record.getLong(), record.getLong())
+                                : null;
+                        handler.onRecord(seq, playerId, progress);
+                        lastSeq = Math.max(lastSeq, seq);
+                    }
+                    validBytes += HEADER_BYTES + length;
+                }
+            } catch (EOFException torn) {
+                if (i != segments.size() - 1) {
+                    throw new IOException("Corrupt progress log segment " + segment, torn);
+                }
+                System.err.println("❌ Truncating torn tail of " + segment.getFileName() + " at byte " + validBytes);
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    channel.truncate(validBytes);
+                }
+            }
+        }
+        return lastSeq;
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(startSeqOf(a), startSeqOf(b)))
+                    .toList();
+        }
+    }
+
+    private static long startSeqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.spookathon.demo.store;
+
+import com.spookathon.demo.model.PlayerProgress;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary snapshot of all player progress.
+ * 
+ * Layout: magic, version, long lastSeq, then one entry per player
+ * (byte 1, UTF id, long solvedMask, long startedAt, long updatedAt),
+ * a terminating byte 0 and the CRC32 of everything before it.
+ * The file is written to a temporary name and atomically renamed.
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+final class ProgressSnapshot {
+
+    static final String FILE_NAME = "progress.snapshot";
+
+    private static final int MAGIC = 0x45534E50; // "ESNP"
+    private static final int VERSION = 1;
+
+    private ProgressSnapshot() {
+    }
+
+    /**
+     * Write a snapshot of the given players, declared to cover every log record up to lastSeq.
+     * 
+     * @return Number of players written
+     */
+    static int write(Path directory, long lastSeq, Iterable<PlayerProgress> players) throws IOException {
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        int count = 0;
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 64 * 1024), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastSeq);
+            for (PlayerProgress progress : players) {
+                out.writeByte(1);
+                out.writeUTF(progress.getPlayerId());
+                out.writeLong(progress.getSolvedMask());
+                out.writeLong(progress.getStartedAt());
+                out.writeLong(progress.getUpdatedAt());
+                count++;
+            }
+            out.writeByte(0);
+            out.flush();
+            long checksum = checked.getChecksum().getValue();
+            out.writeLong(checksum);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Load the snapshot into the given map.
+     * 
+     * @return The last log sequence number covered by the snapshot, or 0 if there is none
+     */
+    static long read(Path directory, Map<String, PlayerProgress> into) throws IOException {
+        Path path = directory.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (InputStream file = Files.newInputStream(path)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 64 * 1024), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognized progress snapshot " + path);
+            }
+            long lastSeq = in.readLong();
+            while (in.readByte() == 1) {
+                String playerId = in.readUTF();
+                into.put(playerId, new PlayerProgress(playerId, in.readLong(), in.readLong(), in.readLong()));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Progress snapshot checksum mismatch " + path);
+            }
+            return lastSeq;
+        }
+    }
+}
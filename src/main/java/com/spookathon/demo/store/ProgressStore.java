@@ -0,0 +1,289 @@
+package com.spookathon.demo.store;
+
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.model.PlayerProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Durable, write-behind storage for player progress on local disk.
+ * 
+ * Updates are acknowledged from memory: callers only mark a player dirty.
+ * A background writer drains the dirty set in batches, appends the current
+ * state of each player to the log and fsyncs once per batch. Repeated updates
+ * to the same player between two batches are written once.
+ * 
+ * Recovery loads the latest snapshot and replays only the log written after
+ * it. Snapshots are taken every few thousand records, so the replayed tail
+ * stays short no matter how many players there are.
+ * 
+ * A failed write does not lose acknowledged updates: the batch stays dirty,
+ * the log is cut back to its last synced record and the writer retries with
+ * exponential backoff. Meanwhile the store reports DOWN on /actuator/health
+ * (see ProgressStoreHealthIndicator).
+ * 
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class ProgressStore {
+
+    private final ProgressStoreProperties properties;
+    private final Path directory;
+    private final Function<Path, ProgressLog> logs;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private Map<String, PlayerProgress> live;
+    private ProgressLog log;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile String lastError;
+    private volatile long failingSince;
+
+    // Only touched by the writer thread once started
+    private long nextSeq = 1;
+    private long recordsSinceSnapshot;
+    private long lastSnapshotAt;
+
+    @Autowired
+    public ProgressStore(ProgressStoreProperties properties) {
+        this(properties, ProgressLog::new);
+    }
+
+    ProgressStore(ProgressStoreProperties properties, Function<Path, ProgressLog> logs) {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory());
+        this.logs = logs;
+    }
+
+    /**
+     * Rebuild all player progress from the snapshot and the log tail.
+     * 
+     * @return Recovered progress by player ID (empty when the store is disabled)
+     */
+    public Map<String, PlayerProgress> recover() {
+        Map<String, PlayerProgress> recovered = new ConcurrentHashMap<>();
+        if (!properties.isEnabled()) {
+            return recovered;
+        }
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            long snapshotSeq = ProgressSnapshot.read(directory, recovered);
+            int snapshotPlayers = recovered.size();
+            long[] replayed = new long[1];
+            long lastSeq = ProgressLog.replay(directory, snapshotSeq, (seq, playerId, progress) -> {
+                if (progress != null) {
+                    recovered.put(playerId, progress);
+                } else {
+                    recovered.remove(playerId);
+                }
+                replayed[0]++;
+            });
+            nextSeq = lastSeq + 1;
+            recordsSinceSnapshot = replayed[0];
+            System.out.println("✅ Recovered " + recovered.size() + " players (" + snapshotPlayers
+                    + " from snapshot, " + replayed[0] + " log records) in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms");
+            return recovered;
+        } catch (IOException e) {
+            System.err.println("❌ Error recovering player progress: " + e.getMessage());
+            throw new UncheckedIOException("Failed to recover player progress", e);
+        }
+    }
+
+    /**
+     * Start the background writer.
+     * 
+     * @param live The in-memory progress map the writer reads current state from
+     */
+    public void start(Map<String, PlayerProgress> live) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        this.live = live;
+        try {
+            log = logs.apply(directory);
+            log.open(nextSeq);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open progress log", e);
+        }
+        lastSnapshotAt = System.currentTimeMillis();
+        running = true;
+        writer = new Thread(this::runWriter, "progress-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Schedule a player's current state to be written. Never blocks.
+     * 
+     * @param playerId The player ID
+     */
+    public void markDirty(String playerId) {
+        if (running) {
+            dirty.add(playerId);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Why the last write failed.
+     * 
+     * @return The error, or null while writes succeed
+     */
+    public String getLastError() {
+        if (running && !writer.isAlive()) {
+            return "Progress writer thread died";
+        }
+        return lastError;
+    }
+
+    /**
+     * When writes started failing (epoch millis), or 0 while they succeed.
+     */
+    public long getFailingSince() {
+        return failingSince;
+    }
+
+    /**
+     * Players whose latest state is not on disk yet.
+     */
+    public int getPendingPlayers() {
+        return dirty.size();
+    }
+
+    /**
+     * Flush pending updates and write a final snapshot so the next start is fast.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        long backoffMs = 0;
+        while (running) {
+            LockSupport.parkNanos(backoffMs > 0 ? TimeUnit.MILLISECONDS.toNanos(backoffMs) : flushIntervalNanos);
+            try {
+                flushDirty();
+                if (recordsSinceSnapshot >= properties.getSnapshotEveryRecords()
+                        || (recordsSinceSnapshot > 0
+                            && System.currentTimeMillis() - lastSnapshotAt >= properties.getSnapshotIntervalMs())) {
+                    snapshot();
+                }
+                if (lastError != null) {
+                    System.out.println("✅ Progress writes recovered after "
+                            + (System.currentTimeMillis() - failingSince) + " ms");
+                    lastError = null;
+                    failingSince = 0;
+                }
+                backoffMs = 0;
+            } catch (IOException e) {
+                backoffMs = Math.min(Math.max(backoffMs * 2, properties.getFlushIntervalMs() * 2),
+                        properties.getMaxRetryBackoffMs());
+                failed(e, backoffMs);
+            }
+        }
+        try {
+            flushDirty();
+            if (recordsSinceSnapshot > 0) {
+                snapshot();
+            }
+            log.close();
+        } catch (IOException e) {
+            System.err.println("❌ Progress writer stopped with " + dirty.size() + " players not persisted: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Report a failed write and cut the log back to its last synced record.
+     */
+    private void failed(IOException e, long backoffMs) {
+        if (lastError == null) {
+            failingSince = System.currentTimeMillis();
+        }
+        lastError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        System.err.println("❌ Progress write failed (" + dirty.size() + " players pending), retrying in "
+                + backoffMs + " ms: " + lastError);
+        try {
+            log.reset();
+        } catch (IOException resetFailure) {
+            // Retried with the next attempt
+        }
+    }
+
+    /**
+     * Write every dirty player, one fsync per batch.
+     */
+    private void flushDirty() throws IOException {
+        List<String> batch = new ArrayList<>();
+        while (!dirty.isEmpty()) {
+            batch.clear();
+            Iterator<String> it = dirty.iterator();
+            try {
+                while (it.hasNext() && batch.size() < properties.getMaxBatchSize()) {
+                    String playerId = it.next();
+                    // Remove before reading so a concurrent update re-marks the player
+                    it.remove();
+                    batch.add(playerId);
+                    log.append(nextSeq++, playerId, live.get(playerId));
+                }
+                log.sync();
+            } catch (IOException e) {
+                // Not durable: write the batch again on the next attempt
+                dirty.addAll(batch);
+                throw e;
+            }
+            recordsSinceSnapshot += batch.size();
+        }
+    }
+
+    /**
+     * Start a new log segment, snapshot the live map and drop the old segments.
+     * Players changed while the snapshot runs are still dirty and will be
+     * written to the new segment, so replaying it on top of the snapshot is safe.
+     */
+    private void snapshot() throws IOException {
+        long coveredSeq = nextSeq - 1;
+        log.rotate(nextSeq);
+        int players = ProgressSnapshot.write(directory, coveredSeq, live.values());
+        log.deleteOldSegments();
+        recordsSinceSnapshot = 0;
+        lastSnapshotAt = System.currentTimeMillis();
+        System.out.println("💾 Progress snapshot: " + players + " players at seq " + coveredSeq);
+    }
+}
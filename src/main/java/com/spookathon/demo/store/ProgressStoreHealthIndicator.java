@@ -0,0 +1,41 @@
+package com.spookathon.demo.store;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Reports the durable progress store on /actuator/health: DOWN while writes
+ * are failing, so acknowledged progress that is not on disk yet is noticed.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class ProgressStoreHealthIndicator implements HealthIndicator {
+
+    private final ProgressStore store;
+
+    public ProgressStoreHealthIndicator(ProgressStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Health health() {
+        if (!store.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        String error = store.getLastError();
+        Health.Builder health = error == null
+                ? Health.up()
+                : Health.down()
+                        .withDetail("error", error)
+                        .withDetail("failingSince", Instant.ofEpochMilli(store.getFailingSince()).toString());
+        return health.withDetail("pendingPlayers", store.getPendingPlayers()).build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.spookathon.demo.text;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A text stored as UTF-8 in a {@link TextArena}.
+ *
+ * JSON responses copy the bytes straight into the output (see
+ * {@link ArenaTextSerializer}); {@link #toString()} decodes a new String
+ * each time and is meant for the few places that need one, such as
+ * templates filled in per player.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@JsonSerialize(using = ArenaTextSerializer.class)
+public final class ArenaText implements CharSequence {
+
+    private final ByteBuffer slab;
+    private final int offset;
+    private final int byteLength;
+    private final int charLength;
+
+    ArenaText(ByteBuffer slab, int offset, int byteLength, int charLength) {
+        this.slab = slab;
+        this.offset = offset;
+        this.byteLength = byteLength;
+        this.charLength = charLength;
+    }
+
+    /** Length of the UTF-8 encoding. */
+    public int byteLength() {
+        return byteLength;
+    }
+
+    /**
+     * Copy the UTF-8 bytes into an array.
+     *
+     * @param dst Destination, at least {@link #byteLength()} long
+     */
+    public void copyTo(byte[] dst) {
+        slab.get(offset, dst, 0, byteLength);
+    }
+
+    /**
+     * Copy part of the UTF-8 bytes into an array.
+     *
+     * @param from First byte to copy
+     * @param dst Destination
+     * @param length Number of bytes
+     */
+    public void copyTo(int from, byte[] dst, int length) {
+        slab.get(offset + from, dst, 0, length);
+    }
+
+    @Override
+    public int length() {
+        return charLength;
+    }
+
+    @Override
+    public char charAt(int index) {
+        // Pure ASCII texts have one byte per char
+        if (byteLength == charLength) {
+            if (index < 0 || index >= charLength) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) slab.get(offset + index);
+        }
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[byteLength];
+        copyTo(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Texts are deduplicated, so equal texts of one arena are the same object;
+     * otherwise the bytes are compared where they are, without copies or views.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArenaText other) || byteLength != other.byteLength) {
+            return false;
+        }
+        for (int i = 0; i < byteLength; i++) {
+            if (slab.get(offset + i) != other.slab.get(other.offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < byteLength; i++) {
+            hash = 31 * hash + slab.get(offset + i);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,67 @@
+package com.spookathon.demo.text;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes an {@link ArenaText} response body as plain UTF-8 text.
+ *
+ * Endpoints that answer with plain text (GET /) return the pack's text as
+ * it is; the bytes go from the arena to the response through a per-thread
+ * buffer, so no String is built per request. Heap Strings are still
+ * written by Spring's own StringHttpMessageConverter.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public class ArenaTextHttpMessageConverter extends AbstractHttpMessageConverter<ArenaText> {
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    public ArenaTextHttpMessageConverter() {
+        super(StandardCharsets.UTF_8, TEXT_PLAIN_UTF8, MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ArenaText.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ArenaText readInternal(Class<? extends ArenaText> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Arena texts are never read from requests", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ArenaText text, MediaType contentType) {
+        return (long) text.byteLength();
+    }
+
+    @Override
+    protected void writeInternal(ArenaText text, HttpOutputMessage outputMessage) throws IOException {
+        byte[] buffer = BUFFERS.get();
+        OutputStream out = outputMessage.getBody();
+        for (int from = 0; from < text.byteLength(); from += buffer.length) {
+            int length = Math.min(buffer.length, text.byteLength() - from);
+            text.copyTo(from, buffer, length);
+            out.write(buffer, 0, length);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.spookathon.demo.text;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link ArenaText} as a JSON string.
+ *
+ * Responses written to a byte stream (Spring MVC, writeValueAsBytes) get
+ * the arena's UTF-8 copied into a per-thread buffer and escaped straight
+ * into the output; no String is created. Character-based generators
+ * (writeValueAsString, convertValue) fall back to {@link ArenaText#toString()}.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public class ArenaTextSerializer extends StdSerializer<ArenaText> {
+
+    private static final int MAX_CACHED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[4096]);
+
+    public ArenaTextSerializer() {
+        super(ArenaText.class);
+    }
+
+    @Override
+    public void serialize(ArenaText text, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!(gen instanceof UTF8JsonGenerator)) {
+            gen.writeString(text.toString());
+            return;
+        }
+        int length = text.byteLength();
+        byte[] buffer = BUFFERS.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            // Keep the buffer unless one huge text would pin it to the thread
+            if (buffer.length <= MAX_CACHED_BUFFER) {
+                BUFFERS.set(buffer);
+            }
+        }
+        text.copyTo(buffer);
+        gen.writeUTF8String(buffer, 0, length);
+    }
+}
@@ -0,0 +1,124 @@
+package com.spookathon.demo.text;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only UTF-8 storage for catalog texts, outside the Java heap.
+ *
+ * Texts are copied into direct buffers ("slabs") and handed out as
+ * {@link ArenaText} views of 32 bytes each, whatever their length. Equal
+ * texts are stored once: packs repeat the untranslated texts of
+ * puzzles.json and many puzzles share the same boilerplate, so a catalog
+ * of thousands of puzzles in several languages shrinks to its distinct
+ * sentences.
+ *
+ * An arena is filled once, by one thread, while a catalog loads, and then
+ * {@link #seal() sealed}; sealing drops the deduplication index and makes
+ * it safe to share. The memory is released with the last ArenaText that
+ * points into it, when the catalog is replaced.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class TextArena {
+
+    private final int slabBytes;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private Map<String, ArenaText> interned = new HashMap<>();
+    private ByteBuffer current;
+    private int texts;
+    private long storedBytes;
+    private long requestedBytes;
+
+    /**
+     * @param slabBytes Size of each direct buffer
+     */
+    public TextArena(int slabBytes) {
+        if (slabBytes <= 0) {
+            throw new IllegalArgumentException("Slab size must be positive: " + slabBytes);
+        }
+        this.slabBytes = slabBytes;
+    }
+
+    /**
+     * Store a text, or find the stored copy of an equal one.
+     *
+     * @param text The text, may be null
+     * @return Its arena copy, or null for null
+     * @throws IllegalStateException if the arena is sealed
+     */
+    public ArenaText intern(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (interned == null) {
+            throw new IllegalStateException("Text arena is sealed");
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        requestedBytes += utf8.length;
+        ArenaText stored = interned.get(text);
+        if (stored != null) {
+            return stored;
+        }
+        ByteBuffer slab = slabFor(utf8.length);
+        int offset = slab.position();
+        slab.put(utf8);
+        storedBytes += utf8.length;
+        texts++;
+        stored = new ArenaText(slab, offset, utf8.length, text.length());
+        interned.put(text, stored);
+        return stored;
+    }
+
+    /**
+     * Stop accepting texts and let go of the deduplication index.
+     */
+    public void seal() {
+        interned = null;
+    }
+
+    /** Distinct texts stored. */
+    public int size() {
+        return texts;
+    }
+
+    /** Bytes of UTF-8 actually stored. */
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /** Bytes of UTF-8 that would have been stored without deduplication. */
+    public long getRequestedBytes() {
+        return requestedBytes;
+    }
+
+    /** Direct memory held by the slabs. */
+    public long getCapacityBytes() {
+        long capacity = 0;
+        for (ByteBuffer slab : slabs) {
+            capacity += slab.capacity();
+        }
+        return capacity;
+    }
+
+    private ByteBuffer slabFor(int length) {
+        if (length > slabBytes) {
+            ByteBuffer own = ByteBuffer.allocateDirect(length);
+            slabs.add(own);
+            return own;
+        }
+        if (current == null || current.remaining() < length) {
+            current = ByteBuffer.allocateDirect(slabBytes);
+            slabs.add(current);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,261 @@
+package com.spookathon.demo.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.WarmupProperties;
+import com.spookathon.demo.controller.EscapeRoomController;
+import com.spookathon.demo.model.DoorRequest;
+import com.spookathon.demo.model.DoorResponse;
+import com.spookathon.demo.model.EscapeRequest;
+import com.spookathon.demo.model.EscapeResponse;
+import com.spookathon.demo.model.HallwayResponse;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.RoomResponse;
+import com.spookathon.demo.service.ChallengeService;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.PuzzlePackService;
+import com.spookathon.demo.service.PuzzleService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Warms up the JIT before the instance reports ready.
+ *
+ * Runs synthetic full playthroughs through the real EscapeRoomController,
+ * with request bodies parsed and responses written by the application's
+ * Jackson ObjectMapper, until JIT compilation goes quiet (or playthrough
+ * throughput stops improving) or the time budget runs out. Spring Boot only switches readiness to ACCEPTING_TRAFFIC after
+ * application runners return, so /actuator/health/readiness (and the
+ * cluster ping) keep traffic away until the hot paths are compiled.
+ *
+ * Handlers are called directly, so warm-up requests never reach the
+ * latency statistics, traffic capture or cluster forwarding. Synthetic
+ * players use {@link PlayerProgressService#SYNTHETIC_PREFIX}, so they never
+ * touch the durable store and are removed again when their playthrough ends.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+@Component
+public class JitWarmup implements ApplicationRunner {
+
+    /** Answer handler with the signature shared by the POST endpoints. */
+    private interface Answer<T> {
+        ResponseEntity<?> submit(T request, String playerId, String progressToken, String teamId, String language);
+    }
+
+    private final WarmupProperties properties;
+    private final EscapeRoomController controller;
+    private final PuzzleService puzzleService;
+    private final PuzzlePackService packService;
+    private final ChallengeService challengeService;
+    private final PlayerProgressService progressService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, BiFunction<String, String, ResponseEntity<?>>> views = new HashMap<>();
+    private final Map<String, Answer<DoorRequest>> answers = new HashMap<>();
+
+    public JitWarmup(WarmupProperties properties, EscapeRoomController controller, PuzzleService puzzleService,
+                     PuzzlePackService packService, ChallengeService challengeService,
+                     PlayerProgressService progressService, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.controller = controller;
+        this.puzzleService = puzzleService;
+        this.packService = packService;
+        this.challengeService = challengeService;
+        this.progressService = progressService;
+        this.objectMapper = objectMapper;
+
+        views.put("/room", controller::getRoom);
+        views.put("/hallway", controller::getHallway);
+        views.put("/memory-chamber", controller::getMemoryChamber);
+        views.put("/process-hall", controller::getProcessHall);
+        views.put("/cryptic-terminal", controller::getCrypticTerminal);
+        views.put("/root-access", controller::getRootAccess);
+        views.put("/final-chamber", controller::getFinalChamber);
+        answers.put("/door", controller::openDoor);
+        answers.put("/binary-puzzle", controller::solveBinaryPuzzle);
+        answers.put("/memory-puzzle", controller::solveMemoryPuzzle);
+        answers.put("/process-puzzle", controller::solveProcessPuzzle);
+        answers.put("/crypto-puzzle", controller::solveCryptoPuzzle);
+        answers.put("/root-puzzle", controller::solveRootPuzzle);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        System.out.println("🔥 Warming up before accepting traffic...");
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getMaxMillis());
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean canMeasure = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long compileTimeAtStart = canMeasure ? jit.getTotalCompilationTime() : 0;
+
+        AtomicInteger playthroughs = new AtomicInteger();
+        AtomicInteger escapes = new AtomicInteger();
+        List<String> languages = packService.getLocales().stream().toList();
+        int threads = Math.max(1, properties.getThreads());
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "jit-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        int n = playthroughs.getAndIncrement();
+                        if (playthrough(n, languages.get(n % languages.size()))) {
+                            escapes.incrementAndGet();
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Warm-up playthrough failed: " + e);
+                }
+            });
+        }
+
+        // Stop once compilation is quiet or throughput stopped improving for a few intervals.
+        // Compile time is wall-clock per compiler thread, so on busy small machines it stays
+        // high long after the hot paths are compiled; the throughput plateau catches that.
+        String reason = "time budget spent";
+        long lastCompileTime = compileTimeAtStart;
+        int lastPlaythroughs = 0;
+        int lastRate = 0;
+        int settled = 0;
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(properties.getCheckIntervalMs());
+            int done = playthroughs.get();
+            int rate = done - lastPlaythroughs;
+            lastPlaythroughs = done;
+            boolean stable = lastRate > 0
+                    && Math.abs(rate - lastRate) * 100L <= lastRate * (long) properties.getStableThroughputPercent();
+            lastRate = rate;
+            boolean quiet = false;
+            if (canMeasure) {
+                long compileTime = jit.getTotalCompilationTime();
+                quiet = compileTime - lastCompileTime < properties.getQuietCompileMs();
+                lastCompileTime = compileTime;
+            }
+            settled = quiet || stable ? settled + 1 : 0;
+            if (settled >= properties.getQuietChecks() && done >= properties.getMinPlaythroughs()) {
+                reason = quiet ? "compilation settled" : "throughput settled";
+                break;
+            }
+        }
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+
+        System.out.println("🔥 Warm-up done (" + reason + "): " + playthroughs.get() + " playthroughs, "
+                + escapes.get() + " escapes in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms"
+                + (canMeasure ? ", " + (lastCompileTime - compileTimeAtStart) + " ms of JIT compilation" : ""));
+    }
+
+    /**
+     * Play the whole sequence as a fresh synthetic player. Every fourth
+     * player first gets each answer wrong, so failure paths warm up too.
+     *
+     * @return true if the player escaped
+     */
+    private boolean playthrough(int n, String language) {
+        String playerId = PlayerProgressService.SYNTHETIC_PREFIX + n;
+        boolean stumble = n % 4 == 0;
+        String progressToken = null;
+        String challenge = null;
+        boolean escaped = false;
+        try {
+            serialize(controller.welcome(language));
+            for (Puzzle puzzle : puzzleService.getAllPuzzles()) {
+                String endpoint = puzzle.getEndpoint();
+                if ("GET".equals(puzzle.getMethod())) {
+                    Object view = serialize(views.get(endpoint).apply(playerId, language));
+                    challenge = view instanceof RoomResponse room ? room.getChallenge()
+                            : view instanceof HallwayResponse hallway ? hallway.getChallenge() : null;
+                    continue;
+                }
+                if (stumble) {
+                    submit(endpoint, "boo", challenge, playerId, progressToken, language);
+                }
+                Object result = submit(endpoint, answerFor(playerId, puzzle, challenge), challenge,
+                        playerId, progressToken, language);
+                if (result instanceof DoorResponse door && door.getProgressToken() != null) {
+                    progressToken = door.getProgressToken();
+                } else if (result instanceof EscapeResponse escape) {
+                    escaped = escape.getProgressToken() != null;
+                }
+            }
+            serialize(controller.getProgress(playerId));
+        } finally {
+            progressService.removeProgress(playerId);
+        }
+        return escaped;
+    }
+
+    private Object submit(String endpoint, String answer, String challenge, String playerId,
+                          String progressToken, String language) {
+        Map<String, String> body = new HashMap<>();
+        if (answers.containsKey(endpoint)) {
+            body.put("key", answer);
+            body.put("challenge", challenge);
+            DoorRequest request = parse(body, DoorRequest.class);
+            return serialize(answers.get(endpoint).submit(request, playerId, progressToken, null, language));
+        }
+        body.put("final_key", answer);
+        EscapeRequest request = parse(body, EscapeRequest.class);
+        return serialize(controller.escape(request, playerId, progressToken, null, language));
+    }
+
+    /**
+     * The player's generated answer when the puzzle has a generator, else the classic one.
+     */
+    private String answerFor(String playerId, Puzzle puzzle, String challengeToken) {
+        if (puzzle.getGenerator() != null && challengeToken != null) {
+            ChallengeService.Challenge challenge = challengeService.verify(playerId, puzzle, challengeToken);
+            if (challenge != null) {
+                return challenge.answer();
+            }
+        }
+        return puzzle.getCorrectAnswer();
+    }
+
+    /**
+     * Round-trip a request body through JSON, as Spring MVC would read it.
+     */
+    private <T> T parse(Map<String, String> body, Class<T> type) {
+        try {
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(body), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write a response body the way the message converter would, and return it.
+     */
+    private Object serialize(ResponseEntity<?> response) {
+        try {
+            objectMapper.writeValueAsBytes(response.getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return response.getBody();
+    }
+}
@@ -0,0 +1,72 @@
+package com.spookathon.demo.admission;
+
+import com.spookathon.demo.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import static com.spookathon.demo.admission.AdaptiveConcurrencyLimiter.Priority.GET;
+import static com.spookathon.demo.admission.AdaptiveConcurrencyLimiter.Priority.POST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final int WINDOW_SAMPLES = 10;
+
+	private static AdaptiveConcurrencyLimiter limiter() {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.setWindowMs(0);
+		properties.setMinWindowSamples(WINDOW_SAMPLES);
+		return new AdaptiveConcurrencyLimiter(properties);
+	}
+
+	/** One sampling window in which the whole limit was busy and every request took rttMicros. */
+	private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttMicros) {
+		int limit = limiter.getLimit();
+		for (int i = 0; i < WINDOW_SAMPLES; i++) {
+			limiter.tryAcquire(POST);
+			limiter.release(rttMicros * 1000, limit);
+		}
+	}
+
+	@Test
+	void limitGrowsWhileLatencyHoldsAndShrinksWhenRequestsQueue() {
+		AdaptiveConcurrencyLimiter limiter = limiter();
+		for (int i = 0; i < 20; i++) {
+			saturate(limiter, 200);
+		}
+		int grown = limiter.getLimit();
+		assertThat(grown).isGreaterThan(20);
+
+		for (int i = 0; i < 20; i++) {
+			saturate(limiter, 2_000);
+		}
+		assertThat(limiter.getLimit()).isLessThan(grown / 2);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void idleWindowsDoNotRaiseTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = limiter();
+		for (int i = 0; i < 100; i++) {
+			limiter.release(100_000, limiter.tryAcquire(GET));
+		}
+		assertThat(limiter.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void narrativeGetsAreShedBeforeAnswers() {
+		AdaptiveConcurrencyLimiter limiter = limiter();
+		int gets = 0;
+		while (limiter.tryAcquire(GET) > 0) {
+			gets++;
+		}
+		assertThat(gets).isEqualTo(15);
+		assertThat(limiter.tryAcquire(POST)).isEqualTo(16);
+
+		for (int i = 0; i < 4; i++) {
+			limiter.tryAcquire(POST);
+		}
+		assertThat(limiter.tryAcquire(POST)).isZero();
+		assertThat(limiter.report().getRejectedGets()).isEqualTo(1);
+		assertThat(limiter.report().getRejectedPosts()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,118 @@
+package com.spookathon.demo.answer;
+
+import com.spookathon.demo.model.AnswerValidator;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleGenerator;
+import com.spookathon.demo.service.PuzzleService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnswerMatchersTest {
+
+	@Test
+	void exactAnswersIgnoreCaseAndSurroundingSpaces() {
+		AnswerMatcher matcher = AnswerMatchers.compile(puzzle("Logic", List.of("code"), null));
+
+		assertThat(matcher.matches(" LOGIC\n")).isTrue();
+		assertThat(matcher.matches("Code")).isTrue();
+		assertThat(matcher.matches("logics")).isFalse();
+		assertThat(matcher.matches("   ")).isFalse();
+		assertThat(AnswerMatchers.compile(puzzle(null, null, null)).matches("logic")).isFalse();
+	}
+
+	@Test
+	void numericAnswersAreEqualInAnyRadix() {
+		AnswerMatcher matcher = AnswerMatchers.compile(puzzle("10", null, new AnswerValidator("numeric", null, null)));
+
+		assertThat(List.of("10", " +10 ", "0xA", "0Xa", "0b1010", "0o12", "010")).allMatch(matcher::matches);
+		assertThat(List.of("11", "-10", "0x", "0b102", "ten", "", "99999999999999999999")).noneMatch(matcher::matches);
+		assertThat(AnswerMatchers.parseNumber("-0x7fffffffffffffff")).isEqualTo(-Long.MAX_VALUE);
+	}
+
+	@Test
+	void numericAnswersAcceptListedWordsAsTexts() {
+		AnswerMatcher matcher = AnswerMatchers.compile(puzzle("10", List.of("ten", "0xA"),
+				new AnswerValidator("numeric", null, null)));
+
+		assertThat(List.of("10", "0b1010", " TEN ", "Ten")).allMatch(matcher::matches);
+		assertThat(List.of("tens", "eleven", "11")).noneMatch(matcher::matches);
+	}
+
+	@Test
+	void regexAnswersMatchTheWholeTrimmedAnswer() {
+		AnswerMatcher matcher = AnswerMatchers.compile(puzzle("https", List.of("secure"),
+				new AnswerValidator("regex", "https|tls( ?v?1\\.[0-3])?", null)));
+
+		assertThat(List.of("HTTPS", " TLS v1.3 ", "tlsv1.2", "secure")).allMatch(matcher::matches);
+		assertThat(List.of("http", "tls 2.0", "xhttps")).noneMatch(matcher::matches);
+	}
+
+	@Test
+	void base64AnswersAreTheDecodedText() {
+		AnswerMatcher matcher = AnswerMatchers.compile(puzzle("base64:ghost", null,
+				new AnswerValidator("base64", null, "aGVsbG8gd29ybGQ=")));
+
+		assertThat(List.of("hello world", "BASE64:Hello World", " base64:ghost ")).allMatch(matcher::matches);
+		assertThat(List.of("aGVsbG8gd29ybGQ=", "base64:", "hello")).noneMatch(matcher::matches);
+	}
+
+	@Test
+	void invalidValidatorsFailTheLoad() {
+		assertThatThrownBy(() -> AnswerMatchers.compile(puzzle("ten", null, new AnswerValidator("numeric", null, null))))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("'ten'");
+		assertThatThrownBy(() -> AnswerMatchers.compile(puzzle("a", null, new AnswerValidator("regex", "(a", null))))
+				.hasMessageContaining("Invalid pattern");
+		assertThatThrownBy(() -> AnswerMatchers.compile(puzzle("a", null, new AnswerValidator("fuzzy", null, null))))
+				.hasMessageContaining("Unknown validator 'fuzzy'");
+	}
+
+	@Test
+	void shippedPuzzlesAreCompiledWhenTheCatalogLoads() {
+		PuzzleService service = new PuzzleService();
+		service.loadPuzzles();
+		Puzzle binary = service.getPuzzleByEndpoint("/binary-puzzle").orElseThrow();
+		Puzzle crypto = service.getPuzzleByEndpoint("/crypto-puzzle").orElseThrow();
+
+		assertThat(binary.getAnswerMatcher()).isNotNull();
+		assertThat(service.isAnswerCorrect(binary, "0b1010")).isTrue();
+		assertThat(service.isAnswerCorrect(crypto, "hello world")).isTrue();
+		assertThat(service.isAnswerCorrect(crypto, "base64:hello world")).isTrue();
+		// Generated values are checked by the same validator type
+		assertThat(AnswerMatchers.matchesValue(binary.getValidator(), " 0x2A ", "42")).isTrue();
+		assertThat(AnswerMatchers.matchesValue(crypto.getValidator(), "GHOST echo", "base64:ghost echo")).isTrue();
+		assertThat(AnswerMatchers.matchesValue(crypto.getValidator(), "base64:ghost", "base64:ghost echo")).isFalse();
+	}
+
+	@Test
+	void generatorPuzzlesNeedAValidatorThatFitsTheirValues() {
+		Puzzle binary = puzzle("10", null, new AnswerValidator("regex", "1+", null));
+		binary.setGenerator(new PuzzleGenerator("binary", 5, 255, null));
+		assertThatThrownBy(() -> AnswerMatchers.compile(binary))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Validator 'regex' cannot check the binary values generated for /test");
+
+		Puzzle crypto = puzzle("base64:hello world", null, new AnswerValidator("base64", null, "aGVsbG8gd29ybGQ="));
+		crypto.setGenerator(new PuzzleGenerator("base64", null, null, null));
+		assertThatThrownBy(() -> AnswerMatchers.compile(crypto))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("cannot check the base64 values");
+
+		binary.setValidator(new AnswerValidator("numeric", null, null));
+		assertThat(AnswerMatchers.compile(binary).matches("0b1010")).isTrue();
+	}
+
+	private static Puzzle puzzle(String correctAnswer, List<String> alternativeAnswers, AnswerValidator validator) {
+		Puzzle puzzle = new Puzzle();
+		puzzle.setEndpoint("/test");
+		puzzle.setMethod("POST");
+		puzzle.setCorrectAnswer(correctAnswer);
+		puzzle.setAlternativeAnswers(alternativeAnswers);
+		puzzle.setValidator(validator);
+		return puzzle;
+	}
+}
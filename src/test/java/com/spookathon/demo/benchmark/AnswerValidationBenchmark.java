@@ -0,0 +1,86 @@
+package com.spookathon.demo.benchmark;
+
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PuzzleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answer checks compiled from the puzzle's validator against the previous
+ * isAnswerCorrect, which trimmed and lower-cased the answer and every
+ * expected answer on each request. Each call checks a correct, a padded
+ * upper-case and a wrong answer. Run with -prof gc to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerValidationBenchmark {
+
+	private static final Map<String, String[]> ANSWERS = Map.of(
+			"/door", new String[] {"logic", "  CODE ", "magic"},
+			"/binary-puzzle", new String[] {"10", " 10 ", "11"},
+			"/crypto-puzzle", new String[] {"base64:hello world", " Hello World ", "hello ghost"},
+			"/escape", new String[] {"https", " TLS ", "http"});
+
+	@Param({"/door", "/binary-puzzle", "/crypto-puzzle", "/escape"})
+	public String endpoint;
+
+	private PuzzleService service;
+	private Puzzle puzzle;
+	private String[] answers;
+
+	@Setup
+	public void setup() {
+		service = new PuzzleService();
+		service.loadPuzzles();
+		puzzle = service.getPuzzleByEndpoint(endpoint).orElseThrow();
+		answers = ANSWERS.get(endpoint);
+	}
+
+	@Benchmark
+	public void legacy(Blackhole blackhole) {
+		for (String answer : answers) {
+			blackhole.consume(legacyIsAnswerCorrect(puzzle, answer));
+		}
+	}
+
+	@Benchmark
+	public void compiled(Blackhole blackhole) {
+		for (String answer : answers) {
+			blackhole.consume(service.isAnswerCorrect(puzzle, answer));
+		}
+	}
+
+	/** PuzzleService.isAnswerCorrect before validators. */
+	private static boolean legacyIsAnswerCorrect(Puzzle puzzle, String userAnswer) {
+		if (userAnswer == null || puzzle.getCorrectAnswer() == null) {
+			return false;
+		}
+		String normalizedAnswer = userAnswer.trim().toLowerCase();
+		String normalizedCorrect = puzzle.getCorrectAnswer().trim().toLowerCase();
+		if (normalizedAnswer.equals(normalizedCorrect)) {
+			return true;
+		}
+		if (puzzle.getAlternativeAnswers() != null) {
+			return puzzle.getAlternativeAnswers().stream()
+					.anyMatch(alt -> normalizedAnswer.equals(alt.trim().toLowerCase()));
+		}
+		return false;
+	}
+}
@@ -0,0 +1,107 @@
+package com.spookathon.demo.benchmark;
+
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PuzzleService;
+import com.spookathon.demo.stress.StressCatalogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of each PuzzleService lookup with all four running side by
+ * side, once on a steady catalog and once while a fifth thread replaces the
+ * catalog about every 100 µs. Run it before and after changing how the
+ * catalog is published: the reloading scores should stay close to the
+ * steady ones.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogLookupBenchmark {
+
+	private final PuzzleService service = StressCatalogs.service();
+	private final Puzzle door = service.getPuzzleByEndpoint(StressCatalogs.DOOR).orElseThrow();
+	private boolean second;
+
+	@Benchmark
+	@Group("steady")
+	@GroupThreads(1)
+	public Optional<Puzzle> steadyByEndpoint() {
+		return service.getPuzzleByEndpoint("/crypto-puzzle");
+	}
+
+	@Benchmark
+	@Group("steady")
+	@GroupThreads(1)
+	public Optional<Puzzle> steadyById() {
+		return service.getPuzzleById(10);
+	}
+
+	@Benchmark
+	@Group("steady")
+	@GroupThreads(1)
+	public List<Puzzle> steadyByLevel() {
+		return service.getPuzzlesByLevel("HARD");
+	}
+
+	@Benchmark
+	@Group("steady")
+	@GroupThreads(1)
+	public boolean steadyAnswer() {
+		return service.isAnswerCorrect(door, " Logic ");
+	}
+
+	@Benchmark
+	@Group("reloading")
+	@GroupThreads(1)
+	public Optional<Puzzle> reloadingByEndpoint() {
+		return service.getPuzzleByEndpoint("/crypto-puzzle");
+	}
+
+	@Benchmark
+	@Group("reloading")
+	@GroupThreads(1)
+	public Optional<Puzzle> reloadingById() {
+		return service.getPuzzleById(10);
+	}
+
+	@Benchmark
+	@Group("reloading")
+	@GroupThreads(1)
+	public List<Puzzle> reloadingByLevel() {
+		return service.getPuzzlesByLevel("HARD");
+	}
+
+	@Benchmark
+	@Group("reloading")
+	@GroupThreads(1)
+	public boolean reloadingAnswer() {
+		return service.isAnswerCorrect(door, " Logic ");
+	}
+
+	@Benchmark
+	@Group("reloading")
+	@GroupThreads(1)
+	public int reloadingReload() {
+		second = !second;
+		int loaded = service.loadPuzzles(second ? StressCatalogs.second() : StressCatalogs.first());
+		LockSupport.parkNanos(100_000);
+		return loaded;
+	}
+}
@@ -0,0 +1,185 @@
+package com.spookathon.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.TokenProperties;
+import com.spookathon.demo.metrics.LatencyHistogram;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.ChallengeService;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.ProgressTokenService;
+import com.spookathon.demo.service.PuzzleService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Latency seen by players during the first minute of a freshly started
+ * instance, per 10 second window, to compare starts with and without
+ * escape.warmup.enabled.
+ *
+ * Virtual players run full playthroughs back to back over HTTP. Start the
+ * instance with a known escape.tokens.secret and pass the same secret here,
+ * so generated puzzles can be answered. Start measuring as soon as the
+ * instance reports ready.
+ *
+ * Usage: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath com.spookathon.demo.benchmark.FirstMinuteLatency http://localhost:8080 SECRET"
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public class FirstMinuteLatency {
+
+	private static final int PLAYERS = 8;
+	private static final int WINDOW_SECONDS = 10;
+	private static final int WINDOWS = 6;
+
+	private final String target;
+	private final PuzzleService puzzles = new PuzzleService();
+	private final ChallengeService challenges;
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final LatencyHistogram[] windows = new LatencyHistogram[WINDOWS];
+	private final AtomicIntegerArray shed = new AtomicIntegerArray(WINDOWS);
+	private final AtomicInteger nextPlayer = new AtomicInteger();
+	private long start;
+
+	FirstMinuteLatency(String target, String secret) {
+		this.target = target;
+		TokenProperties tokens = new TokenProperties();
+		tokens.setSecret(secret);
+		this.challenges = new ChallengeService(tokens, 60);
+		puzzles.loadPuzzles();
+		for (int i = 0; i < WINDOWS; i++) {
+			windows[i] = new LatencyHistogram();
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		new FirstMinuteLatency(args[0], args[1]).run();
+	}
+
+	void run() throws InterruptedException {
+		start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos((long) WINDOW_SECONDS * WINDOWS);
+		Thread[] players = new Thread[PLAYERS];
+		for (int i = 0; i < PLAYERS; i++) {
+			players[i] = new Thread(() -> {
+				while (System.nanoTime() < end) {
+					playthrough("runner-" + nextPlayer.getAndIncrement());
+				}
+			});
+			players[i].start();
+		}
+		for (Thread player : players) {
+			player.join();
+		}
+
+		System.out.println("window     requests   p50 ms   p99 ms   max ms   503s");
+		long[] counts = new long[LatencyHistogram.BUCKETS];
+		for (int i = 0; i < WINDOWS; i++) {
+			Arrays.fill(counts, 0);
+			windows[i].addTo(counts);
+			long total = 0;
+			for (long count : counts) {
+				total += count;
+			}
+			System.out.printf("%3d-%-3ds %10d %8.2f %8.2f %8.2f %6d%n", i * WINDOW_SECONDS, (i + 1) * WINDOW_SECONDS, total,
+					LatencyHistogram.valueAtQuantile(counts, total, 0.50) / 1e6,
+					LatencyHistogram.valueAtQuantile(counts, total, 0.99) / 1e6,
+					LatencyHistogram.maxValue(counts) / 1e6,
+					shed.get(i));
+		}
+		printServerStages();
+	}
+
+	/**
+	 * The same minute as seen by the server (GET /admin/latency), without client and network time.
+	 */
+	private void printServerStages() {
+		JsonNode report = send(HttpRequest.newBuilder(URI.create(target + "/admin/latency?window=" + WINDOW_SECONDS * WINDOWS)).GET(),
+				"latency-report", null);
+		if (report == null) {
+			return;
+		}
+		System.out.println("server side, us        total p50/p99     handler p99   parse p99   serialize p99");
+		for (JsonNode endpoint : report.get("endpoints")) {
+			JsonNode stages = endpoint.get("stages");
+			System.out.printf("%-22s %8.1f/%-8.1f %10.1f %11.1f %12.1f%n", endpoint.get("endpoint").asText(),
+					stages.path("total").path("p50").asDouble(), stages.path("total").path("p99").asDouble(),
+					stages.path("handler").path("p99").asDouble(), stages.path("parse").path("p99").asDouble(),
+					stages.path("serialize").path("p99").asDouble());
+		}
+	}
+
+	private void playthrough(String playerId) {
+		String progressToken = null;
+		String challenge = null;
+		for (Puzzle puzzle : puzzles.getAllPuzzles()) {
+			JsonNode response;
+			if ("GET".equals(puzzle.getMethod())) {
+				response = send(HttpRequest.newBuilder(URI.create(target + puzzle.getEndpoint())).GET(), playerId, null);
+				challenge = response != null && response.hasNonNull("challenge") ? response.get("challenge").asText() : null;
+				continue;
+			}
+			Map<String, String> body = new HashMap<>();
+			body.put("/escape".equals(puzzle.getEndpoint()) ? "final_key" : "key", answerFor(playerId, puzzle, challenge));
+			body.put("challenge", challenge);
+			try {
+				response = send(HttpRequest.newBuilder(URI.create(target + puzzle.getEndpoint()))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))),
+						playerId, progressToken);
+			} catch (Exception e) {
+				return;
+			}
+			if (response != null && response.hasNonNull("progressToken")) {
+				progressToken = response.get("progressToken").asText();
+			}
+		}
+	}
+
+	private String answerFor(String playerId, Puzzle puzzle, String challengeToken) {
+		if (puzzle.getGenerator() != null && challengeToken != null) {
+			ChallengeService.Challenge challenge = challenges.verify(playerId, puzzle, challengeToken);
+			if (challenge != null) {
+				return challenge.answer();
+			}
+		}
+		return puzzle.getCorrectAnswer();
+	}
+
+	private JsonNode send(HttpRequest.Builder request, String playerId, String progressToken) {
+		request.header(PlayerProgressService.PLAYER_HEADER, playerId);
+		if (progressToken != null) {
+			request.header(ProgressTokenService.TOKEN_HEADER, progressToken);
+		}
+		long sent = System.nanoTime();
+		try {
+			HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+			long now = System.nanoTime();
+			int window = (int) TimeUnit.NANOSECONDS.toSeconds(sent - start) / WINDOW_SECONDS;
+			if (window < WINDOWS) {
+				windows[window].record(now - sent);
+				if (response.statusCode() == 503) {
+					shed.incrementAndGet(window);
+				}
+			}
+			return objectMapper.readTree(response.body());
+		} catch (Exception e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.spookathon.demo.benchmark;
+
+import com.spookathon.demo.jfr.AnswerAttemptEvent;
+import com.spookathon.demo.model.Puzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an answer attempt event without the escape-room.jfc profile
+ * (expected: nothing, the event is never committed and never escapes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEventsBenchmark {
+
+	private Puzzle puzzle;
+
+	@Setup
+	public void setup() {
+		puzzle = new Puzzle();
+		puzzle.setId(2);
+		puzzle.setEndpoint("/door");
+	}
+
+	@Benchmark
+	public Puzzle baseline() {
+		return puzzle;
+	}
+
+	@Benchmark
+	public Puzzle disabledAttemptEvent() {
+		AnswerAttemptEvent event = new AnswerAttemptEvent();
+		event.begin();
+		event.finish(puzzle, AnswerAttemptEvent.CORRECT, true);
+		return puzzle;
+	}
+}
@@ -0,0 +1,52 @@
+package com.spookathon.demo.benchmark;
+
+import com.spookathon.demo.config.LatencyProperties;
+import com.spookathon.demo.controller.EscapeRoomController;
+import com.spookathon.demo.metrics.LatencyRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording overhead added to one POST request (all four stages).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyRecorderBenchmark {
+
+	private LatencyRecorder recorder;
+	private Method handler;
+	private MockHttpServletRequest request;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		recorder = new LatencyRecorder(new LatencyProperties());
+		handler = EscapeRoomController.class.getMethod("getRoom", String.class);
+		request = new MockHttpServletRequest("POST", "/door");
+	}
+
+	@Benchmark
+	public void recordRequest() {
+		recorder.begin();
+		recorder.handlerStarted(handler, request);
+		recorder.bodyReadStarted();
+		recorder.bodyReadFinished();
+		recorder.bodyWriteStarted();
+		recorder.end();
+	}
+}
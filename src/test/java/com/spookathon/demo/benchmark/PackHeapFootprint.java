@@ -0,0 +1,221 @@
+package com.spookathon.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.TextArenaProperties;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleConfig;
+import com.spookathon.demo.service.PuzzleGraph;
+import com.spookathon.demo.service.PuzzlePackService;
+import com.spookathon.demo.service.PuzzleService;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap retained by the largest loadable multi-language catalog, with pack
+ * texts as heap Strings and in the off-heap text arena.
+ *
+ * Generates a catalog of synthetic puzzles (64 by default, the most a
+ * catalog can hold) with texts of the same shape as puzzles.json, plus four
+ * translated packs that leave a third of the texts untranslated, loads it
+ * through PuzzleService and PuzzlePackService once per mode, as the
+ * application does, and reports the heap it retains, the direct memory it
+ * uses, how long a full GC takes while it is live and how fast its fixed
+ * responses serialize.
+ *
+ * Usage: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath com.spookathon.demo.benchmark.PackHeapFootprint 64"
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public class PackHeapFootprint {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	/** Passes over the fixed responses, enough for the serializers to be compiled. */
+	private static final int ROUNDS = 2_000;
+	private static final List<String> LOCALES = List.of("es", "fr", "de", "pt");
+	private static final String[] ROOMS = {"server closet", "cold aisle", "tape library", "boot sector", "swap partition",
+			"kernel crypt", "packet graveyard", "cache catacombs"};
+	private static final String[] HINTS = {"Look at what the binary lines spell.", "Every byte has its place.",
+			"The ghost speaks in hexadecimal.", "Processes never die, they become zombies.",
+			"What is shared is faster, what is local is fastest."};
+
+	public static void main(String[] args) throws Exception {
+		int puzzles = args.length > 0 ? Integer.parseInt(args[0]) : PuzzleGraph.MAX_PUZZLES;
+		if (puzzles > PuzzleGraph.MAX_PUZZLES) {
+			throw new IllegalArgumentException("A catalog holds at most " + PuzzleGraph.MAX_PUZZLES + " puzzles");
+		}
+		// Files as they would sit on disk; each mode parses its own copy, as a load does
+		PuzzleConfig generated = base(puzzles);
+		byte[] baseJson = OBJECT_MAPPER.writeValueAsBytes(generated);
+		List<byte[]> overlayJson = new ArrayList<>();
+		for (String locale : LOCALES) {
+			overlayJson.add(OBJECT_MAPPER.writeValueAsBytes(overlay(generated, locale)));
+		}
+		generated = null;
+		System.out.printf("🧪 %,d puzzles in %d languages, %,d KB of JSON%n%n", puzzles, LOCALES.size() + 1,
+				(baseJson.length + overlayJson.stream().mapToLong(json -> json.length).sum()) / 1024);
+		System.out.printf("%-12s %14s %14s %12s %14s%n", "texts", "heap retained", "direct memory", "full GC", "serialize");
+		measure("heap", false, baseJson, overlayJson);
+		measure("arena", true, baseJson, overlayJson);
+	}
+
+	/**
+	 * Load the catalog and its packs and measure what stays live: the
+	 * catalog PuzzleService publishes and the packs.
+	 */
+	private static void measure(String mode, boolean arena, byte[] baseJson, List<byte[]> overlayJson)
+			throws Exception {
+		long heapBefore = usedHeap();
+		long directBefore = usedDirect();
+		PuzzleConfig base = OBJECT_MAPPER.readValue(baseJson, PuzzleConfig.class);
+		List<PuzzleConfig> overlays = new ArrayList<>();
+		for (byte[] json : overlayJson) {
+			overlays.add(OBJECT_MAPPER.readValue(json, PuzzleConfig.class));
+		}
+		TextArenaProperties properties = new TextArenaProperties();
+		properties.setEnabled(arena);
+		PuzzleService puzzles = new PuzzleService();
+		puzzles.loadPuzzles(base);
+		PuzzlePackService packs = new PuzzlePackService(puzzles, properties);
+		packs.loadPacks(base, overlays);
+		base = null;
+		overlays = null;
+		long heap = usedHeap() - heapBefore;
+		long direct = usedDirect() - directBefore;
+
+		long gcStart = System.nanoTime();
+		System.gc();
+		long gcMillis = (System.nanoTime() - gcStart) / 1_000_000;
+
+		double nanosPerResponse = serialize(packs, puzzles.getAllPuzzles());
+		System.out.printf("%-12s %11.1f KB %11.1f KB %9d ms %9.0f ns/op%n", mode, heap / 1e3, direct / 1e3,
+				gcMillis, nanosPerResponse);
+		// Keep the catalog and packs reachable until everything is measured
+		if (packs.getLocales().isEmpty() || puzzles.getAllPuzzles().isEmpty()) {
+			throw new IllegalStateException("No packs loaded");
+		}
+	}
+
+	/**
+	 * Average time to write one fixed response (room views, locked answers) to bytes.
+	 */
+	private static double serialize(PuzzlePackService packs, List<Puzzle> puzzles) throws Exception {
+		List<Object> responses = new ArrayList<>();
+		for (String language : List.of("en", "es", "de")) {
+			PuzzlePackService.Pack pack = packs.resolve(language);
+			for (Puzzle puzzle : puzzles) {
+				PuzzlePackService.Page page = pack.page(puzzle.getEndpoint());
+				responses.add("GET".equals(puzzle.getMethod()) ? page.view() : page.locked());
+			}
+		}
+		long bytes = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			for (Object response : responses) {
+				bytes += OBJECT_MAPPER.writeValueAsBytes(response).length;
+			}
+		}
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (Object response : responses) {
+				bytes += OBJECT_MAPPER.writeValueAsBytes(response).length;
+			}
+		}
+		if (bytes == 0) {
+			throw new IllegalStateException("Nothing serialized");
+		}
+		return (System.nanoTime() - start) / ((double) ROUNDS * responses.size());
+	}
+
+	private static PuzzleConfig base(int count) {
+		List<Puzzle> puzzles = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String room = ROOMS[i % ROOMS.length];
+			Puzzle puzzle = new Puzzle();
+			puzzle.setId(i);
+			puzzle.setEndpoint("/puzzle-" + i);
+			puzzle.setName("Room " + i + ": the " + room);
+			puzzle.setLevel(i % 3 == 0 ? "EASY" : i % 3 == 1 ? "MEDIUM" : "HARD");
+			if (i % 2 == 0) {
+				puzzle.setMethod("GET");
+				puzzle.setMessage("🕯️ You step into room " + i + ", the " + room + ". Green lines pulse across the walls"
+						+ " while the Ghost Server whispers in JSON. Somewhere a fan spins up, then stops.");
+				puzzle.setHint(HINTS[i % HINTS.length] + " Check the " + room + " twice.");
+				puzzle.setStatus("room_" + i);
+			} else {
+				puzzle.setMethod("POST");
+				puzzle.setCorrectAnswer("answer-" + i);
+				puzzle.setSuccessMessage("✓ Correct! The lock of the " + room + " clicks open and room " + (i + 1)
+						+ " waits beyond. The ghost laughs, but less confidently now.");
+				puzzle.setSuccessStatus("solved_" + i);
+				puzzle.setFailureMessage("✗ Wrong answer. The " + room + " stays sealed and the fans spin louder.");
+				puzzle.setFailureStatus("locked");
+				puzzle.setMissingAnswerMessage("You must provide an answer.");
+			}
+			puzzles.add(puzzle);
+		}
+		PuzzleConfig config = new PuzzleConfig();
+		config.setLocale("en");
+		config.setWelcome("👻 Welcome to the Ghost Server!");
+		config.setApiDescription("A very large escape room.");
+		config.setMessages(Map.of("sequenceLocked", "The Ghost Server ignores you. Solve the earlier puzzles first."));
+		config.setPuzzles(puzzles);
+		return config;
+	}
+
+	/**
+	 * A translation of two thirds of the puzzles; the rest falls back to English.
+	 */
+	private static PuzzleConfig overlay(PuzzleConfig base, String locale) {
+		List<Puzzle> translations = new ArrayList<>();
+		for (Puzzle original : base.getPuzzles()) {
+			if (original.getId() % 3 == 2) {
+				continue;
+			}
+			Puzzle translation = new Puzzle();
+			translation.setId(original.getId());
+			translation.setMessage(translated(locale, original.getMessage()));
+			translation.setHint(translated(locale, original.getHint()));
+			translation.setSuccessMessage(translated(locale, original.getSuccessMessage()));
+			translation.setFailureMessage(translated(locale, original.getFailureMessage()));
+			translation.setMissingAnswerMessage(original.getMissingAnswerMessage() != null
+					? "[" + locale + "] You must provide an answer." : null);
+			translations.add(translation);
+		}
+		PuzzleConfig config = new PuzzleConfig();
+		config.setLocale(locale);
+		config.setWelcome("[" + locale + "] " + base.getWelcome());
+		config.setMessages(Map.of("sequenceLocked", "[" + locale + "] " + base.getMessages().get("sequenceLocked")));
+		config.setPuzzles(translations);
+		return config;
+	}
+
+	private static String translated(String locale, CharSequence text) {
+		return text == null ? null : "[" + locale + "] " + new StringBuilder(text).reverse();
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static long usedDirect() {
+		for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			if ("direct".equals(pool.getName())) {
+				return pool.getMemoryUsed();
+			}
+		}
+		return 0;
+	}
+}
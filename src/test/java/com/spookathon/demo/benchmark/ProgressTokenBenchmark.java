@@ -0,0 +1,49 @@
+package com.spookathon.demo.benchmark;
+
+import com.spookathon.demo.config.TokenProperties;
+import com.spookathon.demo.service.ProgressTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying progress tokens (run with -prof gc for allocation rates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgressTokenBenchmark {
+
+	private ProgressTokenService service;
+	private String token;
+
+	@Setup
+	public void setup() {
+		TokenProperties properties = new TokenProperties();
+		properties.setSecret("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+		service = new ProgressTokenService(properties, 24);
+		token = service.issue("player-123456", 0b1010_1010_1010L);
+	}
+
+	@Benchmark
+	public long verify() {
+		return service.verify("player-123456", token);
+	}
+
+	@Benchmark
+	public String issue() {
+		return service.issue("player-123456", 0b1010_1010_1010L);
+	}
+}
@@ -0,0 +1,116 @@
+package com.spookathon.demo.benchmark;
+
+import com.spookathon.demo.service.TeamService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Team members racing to answer the team's next puzzle: 16 member threads
+ * split into teams of membersPerTeam. Every member always submits the
+ * lowest unsolved puzzle, so a whole team collides on each advance; a full
+ * team is swapped for a fresh one.
+ *
+ * casAdvance is TeamService's compare-and-set progression, lockedAdvance
+ * the same state guarded by a monitor per team. Results only show real
+ * contention on a machine with several cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(TeamContentionBenchmark.MEMBERS)
+public class TeamContentionBenchmark {
+
+	static final int MEMBERS = 16;
+
+	@Param({"1", "4", "16"})
+	public int membersPerTeam;
+
+	private AtomicReferenceArray<TeamService.Team> casTeams;
+	private AtomicReferenceArray<LockedTeam> lockedTeams;
+	private final AtomicInteger joined = new AtomicInteger();
+
+	/** Baseline: the same progression, synchronized on the whole team. */
+	static final class LockedTeam {
+		private long solvedMask;
+		private int advances;
+		private String lastSolver;
+
+		synchronized long solvedMask() {
+			return solvedMask;
+		}
+
+		synchronized boolean advance(long bit, String memberId) {
+			if ((solvedMask & bit) != 0) {
+				return false;
+			}
+			solvedMask |= bit;
+			advances++;
+			lastSolver = memberId;
+			return true;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Member {
+		int team;
+		String id;
+
+		@Setup
+		public void setup(TeamContentionBenchmark benchmark) {
+			int index = benchmark.joined.getAndIncrement() % MEMBERS;
+			team = index / benchmark.membersPerTeam;
+			id = "ghost-" + index;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		int teams = MEMBERS / membersPerTeam;
+		casTeams = new AtomicReferenceArray<>(teams);
+		lockedTeams = new AtomicReferenceArray<>(teams);
+		for (int i = 0; i < teams; i++) {
+			casTeams.set(i, new TeamService.Team("team-" + i));
+			lockedTeams.set(i, new LockedTeam());
+		}
+	}
+
+	@Benchmark
+	public boolean casAdvance(Member member) {
+		TeamService.Team team = casTeams.get(member.team);
+		long solved = team.getState().solvedMask();
+		if (solved == -1L) {
+			casTeams.compareAndSet(member.team, team, new TeamService.Team(team.getId()));
+			return false;
+		}
+		return team.advance(Long.lowestOneBit(~solved), member.id);
+	}
+
+	@Benchmark
+	public boolean lockedAdvance(Member member) {
+		LockedTeam team = lockedTeams.get(member.team);
+		long solved = team.solvedMask();
+		if (solved == -1L) {
+			lockedTeams.compareAndSet(member.team, team, new LockedTeam());
+			return false;
+		}
+		return team.advance(Long.lowestOneBit(~solved), member.id);
+	}
+}
@@ -0,0 +1,58 @@
+package com.spookathon.demo.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrafficLogTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void capturesRoundTripInStartOrder() throws Exception {
+		Path file = dir.resolve("capture.bin");
+		String[] answerHeaders = {"application/json", "es", "ghost-1", null, "crew"};
+		try (DataOutputStream out = TrafficLog.create(file, 1_700_000_000_000L)) {
+			// Written in completion order: the slow POST started first
+			TrafficLog.write(out, new CapturedRequest(150, 20, 200, "GET", "/room",
+					new String[TrafficLog.HEADERS.size()], new byte[0]));
+			TrafficLog.write(out, new CapturedRequest(100, 900, 403, "POST", "/door?debug=1",
+					answerHeaders, "{\"key\":\"logic\"}".getBytes(StandardCharsets.UTF_8)));
+		}
+		// A record cut short by a crash is ignored
+		Files.write(file, new byte[] {0, 0, 0}, StandardOpenOption.APPEND);
+
+		List<CapturedRequest> requests = TrafficLog.read(file);
+
+		assertThat(requests).extracting(CapturedRequest::uri).containsExactly("/door?debug=1", "/room");
+		CapturedRequest answer = requests.get(0);
+		assertThat(answer.method()).isEqualTo("POST");
+		assertThat(answer.status()).isEqualTo(403);
+		assertThat(answer.durationMicros()).isEqualTo(900);
+		assertThat(answer.headers()).containsExactly(answerHeaders);
+		assertThat(new String(answer.body(), StandardCharsets.UTF_8)).isEqualTo("{\"key\":\"logic\"}");
+		assertThat(requests.get(1).headers()).containsOnlyNulls();
+	}
+
+	@Test
+	void originalConcurrencyCountsOverlappingRequests() {
+		String[] none = new String[TrafficLog.HEADERS.size()];
+		List<CapturedRequest> requests = List.of(
+				new CapturedRequest(0, 100, 200, "GET", "/room", none, new byte[0]),
+				new CapturedRequest(10, 100, 200, "GET", "/room", none, new byte[0]),
+				new CapturedRequest(20, 10, 200, "GET", "/room", none, new byte[0]),
+				new CapturedRequest(105, 10, 200, "GET", "/room", none, new byte[0]),
+				new CapturedRequest(500, 10, 200, "GET", "/room", none, new byte[0]));
+
+		assertThat(TrafficReplay.originalConcurrency(requests)).containsExactly(1, 2, 3, 2, 1);
+	}
+}
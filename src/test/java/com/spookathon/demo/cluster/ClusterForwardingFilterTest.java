@@ -0,0 +1,208 @@
+package com.spookathon.demo.cluster;
+
+import com.spookathon.demo.config.ClusterProperties;
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.ProgressTokenService;
+import com.spookathon.demo.service.TeamService;
+import com.spookathon.demo.store.ProgressStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterForwardingFilterTest {
+
+	private static final String SELF = "http://127.0.0.1:1";
+
+	private HttpServer owner;
+	private ClusterForwardingFilter filter;
+	private ClusterMembership membership;
+	private volatile HttpExchange received;
+	private volatile String receivedBody;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		owner.createContext("/", this::answer);
+		owner.start();
+
+		ClusterProperties properties = new ClusterProperties();
+		properties.setEnabled(true);
+		properties.setSelf(SELF);
+		properties.setNodes(List.of(SELF, "http://127.0.0.1:" + owner.getAddress().getPort()));
+		properties.setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+		ProgressStoreProperties storeProperties = new ProgressStoreProperties();
+		storeProperties.setEnabled(false);
+		membership = new ClusterMembership(properties, new PlayerProgressService(new ProgressStore(storeProperties)));
+		membership.init();
+		filter = new ClusterForwardingFilter();
+		ReflectionTestUtils.setField(filter, "membership", membership);
+	}
+
+	@AfterEach
+	void tearDown() {
+		owner.stop(0);
+	}
+
+	@Test
+	void copiesTheOwnersResponseHeadersExceptHopByHopOnes() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/room");
+		request.addHeader(PlayerProgressService.PLAYER_HEADER, remotePlayer());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, new MockFilterChain());
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+		assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+		assertThat(response.getContentType()).startsWith("application/json");
+		assertThat(response.getHeader("Connection")).isNull();
+		assertThat(response.getHeader("Transfer-Encoding")).isNull();
+		assertThat(response.getContentAsString()).isEqualTo("{\"status\":\"server_overloaded\"}");
+	}
+
+	@Test
+	void forwardsTheProgressTokenWithAnAnswer() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/binary-puzzle");
+		request.addHeader(PlayerProgressService.PLAYER_HEADER, remotePlayer());
+		request.addHeader(ProgressTokenService.TOKEN_HEADER, "token-after-door");
+		request.setContentType("application/json");
+		request.setContent("{\"key\":\"10\"}".getBytes(StandardCharsets.UTF_8));
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		assertThat(received.getRequestMethod()).isEqualTo("POST");
+		assertThat(received.getRequestURI().getPath()).isEqualTo("/binary-puzzle");
+		assertThat(received.getRequestHeaders().getFirst(ProgressTokenService.TOKEN_HEADER)).isEqualTo("token-after-door");
+		assertThat(receivedBody).isEqualTo("{\"key\":\"10\"}");
+	}
+
+	@Test
+	void teamMembersStayOnTheirPlayersNodeButTeamViewsGoToTheTeamsNode() throws Exception {
+		String localPlayer = key("player-", true);
+		String remoteTeam = key("team-", false);
+		MockHttpServletRequest answer = new MockHttpServletRequest("POST", "/binary-puzzle");
+		answer.addHeader(PlayerProgressService.PLAYER_HEADER, localPlayer);
+		answer.addHeader(TeamService.TEAM_HEADER, remoteTeam);
+		MockFilterChain local = new MockFilterChain();
+
+		filter.doFilter(answer, new MockHttpServletResponse(), local);
+
+		assertThat(local.getRequest()).isNotNull();
+		assertThat(received).isNull();
+
+		MockHttpServletRequest view = new MockHttpServletRequest("GET", "/team");
+		view.addHeader(PlayerProgressService.PLAYER_HEADER, localPlayer);
+		view.addHeader(TeamService.TEAM_HEADER, remoteTeam);
+		filter.doFilter(view, new MockHttpServletResponse(), new MockFilterChain());
+
+		assertThat(received.getRequestURI().getPath()).isEqualTo("/team");
+	}
+
+	@Test
+	void onlyForwardsSignedByAPeerAreServedWithoutRouting() throws Exception {
+		MockHttpServletRequest original = new MockHttpServletRequest("POST", "/binary-puzzle");
+		original.addHeader(PlayerProgressService.PLAYER_HEADER, remotePlayer());
+		original.setContent("{\"key\":\"10\"}".getBytes(StandardCharsets.UTF_8));
+		filter.doFilter(original, new MockHttpServletResponse(), new MockFilterChain());
+
+		// Replay what the owner received on a node whose ring sends the player elsewhere
+		MockHttpServletRequest forwarded = new MockHttpServletRequest("POST", "/binary-puzzle");
+		received.getRequestHeaders().forEach((name, values) -> values.forEach(value -> forwarded.addHeader(name, value)));
+		forwarded.setContent(receivedBody.getBytes(StandardCharsets.UTF_8));
+		MockFilterChain served = new MockFilterChain();
+		filter.doFilter(forwarded, new MockHttpServletResponse(), served);
+
+		assertThat(served.getRequest()).isNotNull();
+		assertThat(forwarded.getAttribute(ClusterForwardingFilter.VERIFIED_FORWARD_ATTRIBUTE)).isEqualTo(Boolean.TRUE);
+
+		MockHttpServletRequest tampered = new MockHttpServletRequest("POST", "/binary-puzzle");
+		received.getRequestHeaders().forEach((name, values) -> values.forEach(value -> tampered.addHeader(name, value)));
+		tampered.setContent(receivedBody.getBytes(StandardCharsets.UTF_8));
+		tampered.removeHeader(PlayerProgressService.PLAYER_HEADER);
+		tampered.addHeader(PlayerProgressService.PLAYER_HEADER, "someone-else");
+		MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/progress");
+		forged.addHeader(PlayerProgressService.PLAYER_HEADER, remotePlayer());
+		forged.addHeader(ClusterForwardingFilter.FORWARDED_HEADER, SELF);
+		for (MockHttpServletRequest request : List.of(tampered, forged)) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			MockFilterChain chain = new MockFilterChain();
+			filter.doFilter(request, response, chain);
+			assertThat(response.getStatus()).isEqualTo(403);
+			assertThat(chain.getRequest()).isNull();
+		}
+	}
+
+	@Test
+	void aClientHangingUpDoesNotTakeTheOwnerOutOfTheRing() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/room");
+		request.addHeader(PlayerProgressService.PLAYER_HEADER, remotePlayer());
+		MockHttpServletResponse gone = new MockHttpServletResponse() {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return new ServletOutputStream() {
+					@Override
+					public boolean isReady() {
+						return true;
+					}
+
+					@Override
+					public void setWriteListener(WriteListener listener) {
+					}
+
+					@Override
+					public void write(int b) throws IOException {
+						throw new IOException("Broken pipe");
+					}
+				};
+			}
+		};
+
+		assertThatThrownBy(() -> filter.doFilter(request, gone, new MockFilterChain())).hasMessage("Broken pipe");
+		assertThat(membership.getLiveNodes()).hasSize(2);
+		assertThat(membership.isLocal(remotePlayer())).isFalse();
+	}
+
+	/** A player owned by the test server rather than by this node. */
+	private String remotePlayer() {
+		return key("player-", false);
+	}
+
+	private String key(String prefix, boolean local) {
+		for (int i = 0; ; i++) {
+			if (membership.isLocal(prefix + i) == local) {
+				return prefix + i;
+			}
+		}
+	}
+
+	private void answer(HttpExchange exchange) throws IOException {
+		receivedBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+		received = exchange;
+		byte[] body = "{\"status\":\"server_overloaded\"}".getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.getResponseHeaders().add("Retry-After", "2");
+		exchange.getResponseHeaders().add("Cache-Control", "no-store");
+		exchange.getResponseHeaders().add("Connection", "keep-alive");
+		exchange.sendResponseHeaders(503, body.length);
+		exchange.getResponseBody().write(body);
+		exchange.close();
+	}
+}
@@ -0,0 +1,81 @@
+package com.spookathon.demo.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.ClusterProperties;
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.model.PlayerProgress;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.store.ProgressStore;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterMembershipTest {
+
+	private static final String SELF = "http://127.0.0.1:1";
+
+	@Test
+	void playersUpdatedDuringTheHandoffAreSentAgainBeforeRemoval() throws Exception {
+		ProgressStoreProperties storeProperties = new ProgressStoreProperties();
+		storeProperties.setEnabled(false);
+		PlayerProgressService progress = new PlayerProgressService(new ProgressStore(storeProperties));
+		Puzzle door = new Puzzle();
+		door.setId(2);
+		Puzzle binary = new Puzzle();
+		binary.setId(4);
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<List<PlayerProgress>> handoffs = new CopyOnWriteArrayList<>();
+		HttpServer peer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		ClusterMembership membership = membership(progress, "http://127.0.0.1:" + peer.getAddress().getPort());
+		String player = remotePlayer(membership);
+		peer.createContext(ClusterMembership.HANDOFF_PATH, exchange -> {
+			handoffs.add(objectMapper.readValue(exchange.getRequestBody(), new TypeReference<List<PlayerProgress>>() { }));
+			if (handoffs.size() == 1) {
+				// The player solves another puzzle while the first batch is in flight
+				progress.recordSolve(player, binary);
+			}
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+		});
+		peer.start();
+		try {
+			progress.recordSolve(player, door);
+			membership.rebalance();
+		} finally {
+			peer.stop(0);
+		}
+
+		assertThat(handoffs).hasSize(2);
+		assertThat(handoffs.get(0).get(0).getSolvedMask()).isEqualTo(1L << 2);
+		assertThat(handoffs.get(1).get(0).getSolvedMask()).isEqualTo((1L << 2) | (1L << 4));
+		assertThat(progress.getProgress(player)).isEmpty();
+	}
+
+	private static ClusterMembership membership(PlayerProgressService progress, String peer) {
+		ClusterProperties properties = new ClusterProperties();
+		properties.setEnabled(true);
+		properties.setSelf(SELF);
+		properties.setNodes(List.of(SELF, peer));
+		properties.setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+		ClusterMembership membership = new ClusterMembership(properties, progress);
+		membership.init();
+		return membership;
+	}
+
+	private static String remotePlayer(ClusterMembership membership) {
+		for (int i = 0; ; i++) {
+			if (!membership.isLocal("player-" + i)) {
+				return "player-" + i;
+			}
+		}
+	}
+}
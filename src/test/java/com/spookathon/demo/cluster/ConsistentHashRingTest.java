@@ -0,0 +1,60 @@
+package com.spookathon.demo.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+	private static final List<String> NODES = List.of(
+			"http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+
+	@Test
+	void spreadsPlayersAcrossAllNodes() {
+		ConsistentHashRing ring = ConsistentHashRing.of(NODES, 128);
+		Map<String, Integer> counts = new HashMap<>();
+		for (int i = 0; i < 30_000; i++) {
+			counts.merge(ring.nodeFor("player-" + i), 1, Integer::sum);
+		}
+
+		assertThat(counts).containsOnlyKeys(NODES);
+		counts.values().forEach(count -> assertThat(count).isBetween(7_000, 13_000));
+	}
+
+	@Test
+	void joiningNodeOnlyTakesKeysFromOthers() {
+		ConsistentHashRing before = ConsistentHashRing.of(NODES, 128);
+		ConsistentHashRing after = before.withNode("http://localhost:8083");
+
+		int moved = 0;
+		for (int i = 0; i < 30_000; i++) {
+			String key = "player-" + i;
+			String oldOwner = before.nodeFor(key);
+			String newOwner = after.nodeFor(key);
+			if (!oldOwner.equals(newOwner)) {
+				assertThat(newOwner).isEqualTo("http://localhost:8083");
+				moved++;
+			}
+		}
+
+		// Ideal is 1/4 of the keys
+		assertThat(moved).isBetween(5_000, 10_000);
+	}
+
+	@Test
+	void leavingNodeOnlyMovesItsOwnKeys() {
+		ConsistentHashRing before = ConsistentHashRing.of(NODES, 128);
+		ConsistentHashRing after = before.withoutNode("http://localhost:8081");
+
+		for (int i = 0; i < 30_000; i++) {
+			String key = "player-" + i;
+			if (!before.nodeFor(key).equals("http://localhost:8081")) {
+				assertThat(after.nodeFor(key)).isEqualTo(before.nodeFor(key));
+			}
+		}
+	}
+}
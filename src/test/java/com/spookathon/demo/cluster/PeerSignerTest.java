@@ -0,0 +1,41 @@
+package com.spookathon.demo.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeerSignerTest {
+
+	private static final byte[] SECRET = "a shared cluster secret of 32 b!".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] BODY = "[{\"playerId\":\"alice\",\"solvedMask\":6}]".getBytes(StandardCharsets.UTF_8);
+
+	private final PeerSigner signer = new PeerSigner(SECRET, 30);
+
+	@Test
+	void acceptsOnlyTheSignedRequest() {
+		String signature = signer.sign("POST", "/internal/cluster/handoff", BODY);
+
+		assertThat(signer.verify(signature, "POST", "/internal/cluster/handoff", BODY)).isTrue();
+		assertThat(signer.verify(signature, "POST", "/internal/cluster/handoff",
+				"[{\"playerId\":\"alice\",\"solvedMask\":511}]".getBytes(StandardCharsets.UTF_8))).isFalse();
+		assertThat(signer.verify(signature, "POST", "/internal/cluster/members", BODY)).isFalse();
+		assertThat(signer.verify(signature, "GET", "/internal/cluster/handoff", BODY)).isFalse();
+		assertThat(new PeerSigner("another secret".getBytes(StandardCharsets.US_ASCII), 30)
+				.verify(signature, "POST", "/internal/cluster/handoff", BODY)).isFalse();
+	}
+
+	@Test
+	void rejectsMissingMalformedAndStaleSignatures() {
+		long now = System.currentTimeMillis() / 1000;
+		assertThat(signer.verify(null, "GET", "/internal/cluster/ping", null)).isFalse();
+		assertThat(signer.verify("", "GET", "/internal/cluster/ping", null)).isFalse();
+		assertThat(signer.verify("not-a-signature", "GET", "/internal/cluster/ping", null)).isFalse();
+		assertThat(signer.verify(now + ".%%%", "GET", "/internal/cluster/ping", null)).isFalse();
+		assertThat(signer.verify(signer.sign(now - 120, "GET", "/internal/cluster/ping", null),
+				"GET", "/internal/cluster/ping", null)).isFalse();
+		assertThat(signer.verify(signer.sign(now - 5, "GET", "/internal/cluster/ping", null),
+				"GET", "/internal/cluster/ping", null)).isTrue();
+	}
+}
@@ -0,0 +1,158 @@
+package com.spookathon.demo.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.ExportProperties;
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.jfr.AnswerAttemptEvent;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.PuzzleService;
+import com.spookathon.demo.store.ProgressStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameExporterTest {
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final PuzzleService puzzles = new PuzzleService();
+	private PlayerProgressService progress;
+	private AttemptJournal journal;
+	private GameExporter exporter;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		puzzles.loadPuzzles();
+		ProgressStoreProperties storeProperties = new ProgressStoreProperties();
+		storeProperties.setEnabled(false);
+		progress = new PlayerProgressService(new ProgressStore(storeProperties));
+		progress.loadProgress();
+		ExportProperties properties = new ExportProperties();
+		properties.setDirectory(directory.toString());
+		journal = new AttemptJournal(properties);
+		journal.start();
+		exporter = new GameExporter(puzzles, progress, journal, objectMapper);
+	}
+
+	@Test
+	void attemptsAreFilteredByLevelAndQuotedForCsv() throws Exception {
+		journal.record("alice", puzzle("/door"), AnswerAttemptEvent.INCORRECT);
+		journal.record("bob, \"the ghost\"", puzzle("/crypto-puzzle"), AnswerAttemptEvent.CORRECT);
+		journal.record(null, puzzle("/escape"), AnswerAttemptEvent.SEQUENCE_LOCKED);
+		journal.record(PlayerProgressService.SYNTHETIC_PREFIX + "7", puzzle("/root-puzzle"), AnswerAttemptEvent.CORRECT);
+		journal.record("warmup-7", puzzle("/root-puzzle"), AnswerAttemptEvent.INCORRECT);
+		journal.stop();
+
+		String csv = export(GameExporter.Dataset.ATTEMPTS, ExportFilter.of(null, null, null, "hard"), ExportFormat.CSV, false);
+
+		String[] lines = csv.split("\n");
+		assertThat(lines).hasSize(4);
+		assertThat(lines[0]).isEqualTo("timestamp,player_id,puzzle_id,endpoint,level,outcome");
+		assertThat(lines[1]).endsWith(",\"bob, \"\"the ghost\"\"\",10,/crypto-puzzle,HARD,correct");
+		assertThat(lines[2]).endsWith(",,14,/escape,HARD,sequence_locked");
+		assertThat(lines[3]).endsWith(",warmup-7,12,/root-puzzle,HARD,incorrect");
+	}
+
+	@Test
+	void attemptsOutsideTheTimeRangeAreLeftOut() throws Exception {
+		journal.record("alice", puzzle("/door"), AnswerAttemptEvent.CORRECT);
+		journal.stop();
+
+		String past = export(GameExporter.Dataset.ATTEMPTS,
+				ExportFilter.of(null, Instant.now().minusSeconds(3600), null, null), ExportFormat.CSV, false);
+		String recent = export(GameExporter.Dataset.ATTEMPTS,
+				ExportFilter.of(Instant.now().minusSeconds(3600), null, 2, null), ExportFormat.CSV, false);
+
+		assertThat(past.split("\n")).hasSize(1);
+		assertThat(recent.split("\n")).hasSize(2);
+	}
+
+	@Test
+	void sessionsStreamAsGzippedNdjson() throws Exception {
+		progress.recordSolve("alice", puzzle("/door"));
+		progress.recordSolve("alice", puzzle("/escape"));
+		progress.recordSolve("bob", puzzle("/door"));
+		progress.recordSolve("carol", puzzle("/escape"));
+		journal.stop();
+
+		String ndjson = export(GameExporter.Dataset.SESSIONS,
+				ExportFilter.of(null, null, puzzle("/escape").getId(), null), ExportFormat.NDJSON, true);
+
+		String[] lines = ndjson.split("\n");
+		assertThat(lines).hasSize(2).allMatch(line -> line.startsWith("{"));
+		JsonNode alice = objectMapper.readTree(lines[0].contains("alice") ? lines[0] : lines[1]);
+		assertThat(alice.get("solved").asText()).isEqualTo("/door;/escape");
+		assertThat(alice.get("solved_count").asInt()).isEqualTo(2);
+		assertThat(alice.get("escaped").asBoolean()).isTrue();
+	}
+
+	@Test
+	void journalFilesRotateAndOldOrExcessFilesAreDeleted() throws Exception {
+		Path journals = directory.resolve("rotating");
+		Files.createDirectories(journals);
+		Path old = journals.resolve(AttemptLog.PREFIX + "20000101-000000-000" + AttemptLog.SUFFIX);
+		AttemptLog.create(old, 0).close();
+		Files.setLastModifiedTime(old, FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+		ExportProperties properties = new ExportProperties();
+		properties.setDirectory(journals.toString());
+		properties.setRotateMegabytes(0);
+		AttemptJournal rotating = new AttemptJournal(properties);
+		rotating.start();
+		assertThat(old).doesNotExist();
+
+		rotating.record("alice", puzzle("/door"), AnswerAttemptEvent.CORRECT);
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (AttemptLog.files(journals).size() < 2) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+		rotating.record("bob", puzzle("/door"), AnswerAttemptEvent.INCORRECT);
+		while (AttemptLog.files(journals).size() < 3) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+		List<String> players = new ArrayList<>();
+		AttemptLog.forEach(journals, 0, Long.MAX_VALUE, attempt -> players.add(attempt.playerId()));
+		assertThat(players).containsExactly("alice", "bob");
+
+		properties.setMaxTotalMegabytes(0);
+		List<Path> before = AttemptLog.files(journals);
+		rotating.enforceRetention();
+		// Only the file being written survives the size cap
+		assertThat(AttemptLog.files(journals)).containsExactly(before.get(before.size() - 1));
+		rotating.stop();
+	}
+
+	private String export(GameExporter.Dataset dataset, ExportFilter filter, ExportFormat format, boolean gzip)
+			throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.export(dataset, filter, format, gzip, out);
+		byte[] bytes = out.toByteArray();
+		if (gzip) {
+			bytes = new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes();
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private Puzzle puzzle(String endpoint) {
+		return puzzles.getPuzzleByEndpoint(endpoint).orElseThrow();
+	}
+}
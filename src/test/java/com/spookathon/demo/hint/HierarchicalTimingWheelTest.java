@@ -0,0 +1,54 @@
+package com.spookathon.demo.hint;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+	private final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, TimeUnit.MILLISECONDS, "test-wheel");
+
+	@AfterEach
+	void close() {
+		wheel.close();
+	}
+
+	@Test
+	void runsTasksInDeadlineOrderAcrossLevels() throws InterruptedException {
+		List<Integer> fired = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(4);
+		// 5 ms stays in level 0, the others need one or two cascades
+		for (int delay : new int[] {300, 5, 4500, 90}) {
+			wheel.schedule(() -> {
+				fired.add(delay);
+				done.countDown();
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(fired).containsExactly(5, 90, 300, 4500);
+	}
+
+	@Test
+	void cancelledTasksNeverRun() throws InterruptedException {
+		CountDownLatch kept = new CountDownLatch(1);
+		List<String> fired = new CopyOnWriteArrayList<>();
+		HierarchicalTimingWheel.Timeout cancelled = wheel.schedule(() -> fired.add("cancelled"), 50, TimeUnit.MILLISECONDS);
+		wheel.schedule(() -> {
+			fired.add("kept");
+			kept.countDown();
+		}, 100, TimeUnit.MILLISECONDS);
+
+		assertThat(cancelled.cancel()).isTrue();
+		assertThat(cancelled.cancel()).isFalse();
+		assertThat(kept.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(fired).containsExactly("kept");
+		assertThat(wheel.pendingCount()).isZero();
+	}
+}
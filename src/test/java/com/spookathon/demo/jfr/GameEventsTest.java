@@ -0,0 +1,69 @@
+package com.spookathon.demo.jfr;
+
+import com.spookathon.demo.model.Puzzle;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventsTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void eventsAreOffUnlessTheProfileIsActive() throws Exception {
+		Puzzle door = new Puzzle();
+		door.setId(2);
+		door.setEndpoint("/door");
+
+		try (Recording recording = new Recording()) {
+			recording.start();
+			attempt(door, AnswerAttemptEvent.INCORRECT);
+			recording.stop();
+			assertThat(events(recording, "com.spookathon.AnswerAttempt")).isEmpty();
+		}
+
+		try (Reader reader = new InputStreamReader(new ClassPathResource(GameRecording.PROFILE).getInputStream(), StandardCharsets.UTF_8);
+			 Recording recording = new Recording(Configuration.create(reader))) {
+			recording.start();
+			attempt(door, AnswerAttemptEvent.CORRECT);
+			recording.stop();
+
+			List<RecordedEvent> events = events(recording, "com.spookathon.AnswerAttempt");
+			assertThat(events).hasSize(1);
+			RecordedEvent event = events.get(0);
+			assertThat(event.getInt("puzzleId")).isEqualTo(2);
+			assertThat(event.getString("endpoint")).isEqualTo("/door");
+			assertThat(event.getString("outcome")).isEqualTo("correct");
+			assertThat(event.getDuration()).isPositive();
+			assertThat(event.getFields()).noneMatch(field -> field.getName().contains("answer"));
+		}
+	}
+
+	private static void attempt(Puzzle puzzle, String outcome) throws InterruptedException {
+		AnswerAttemptEvent event = new AnswerAttemptEvent();
+		event.begin();
+		Thread.sleep(1);
+		event.finish(puzzle, outcome, true);
+	}
+
+	private List<RecordedEvent> events(Recording recording, String name) throws Exception {
+		Path file = dir.resolve(System.nanoTime() + ".jfr");
+		recording.dump(file);
+		return RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals(name))
+				.toList();
+	}
+}
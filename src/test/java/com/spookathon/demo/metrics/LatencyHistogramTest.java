@@ -0,0 +1,39 @@
+package com.spookathon.demo.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+	@Test
+	void bucketsStayWithinRelativeErrorAcrossTheRange() {
+		for (long value = 1; value < LatencyHistogram.MAX_VALUE; value = value * 3 / 2 + 1) {
+			int bucket = LatencyHistogram.bucketOf(value);
+			long lower = LatencyHistogram.lowerBound(bucket);
+			assertThat(value).isBetween(lower, lower + LatencyHistogram.width(bucket) - 1);
+			assertThat((double) LatencyHistogram.width(bucket)).isLessThanOrEqualTo(Math.max(1, value / 16.0));
+		}
+		assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+	}
+
+	@Test
+	void percentilesOfUniformLatencies() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long micros = 1; micros <= 1000; micros++) {
+			histogram.record(micros * 1000);
+		}
+		long[] counts = new long[LatencyHistogram.BUCKETS];
+		histogram.addTo(counts);
+
+		assertThat((double) LatencyHistogram.valueAtQuantile(counts, 1000, 0.50)).isCloseTo(500_000, within(16_000.0));
+		assertThat((double) LatencyHistogram.valueAtQuantile(counts, 1000, 0.99)).isCloseTo(990_000, within(32_000.0));
+		assertThat(LatencyHistogram.maxValue(counts)).isGreaterThanOrEqualTo(1_000_000);
+
+		histogram.reset();
+		long[] empty = new long[LatencyHistogram.BUCKETS];
+		histogram.addTo(empty);
+		assertThat(LatencyHistogram.maxValue(empty)).isZero();
+	}
+}
@@ -0,0 +1,108 @@
+package com.spookathon.demo.metrics;
+
+import com.spookathon.demo.cluster.ClusterMembership;
+import com.spookathon.demo.config.ClusterProperties;
+import com.spookathon.demo.config.DifficultyProperties;
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.model.DifficultyResponse;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleDifficulty;
+import com.spookathon.demo.service.PlayerProgressService;
+import com.spookathon.demo.service.PuzzleService;
+import com.spookathon.demo.store.ProgressStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolveTimeRecorderTest {
+
+	private final PuzzleService puzzles = new PuzzleService();
+	private PlayerProgressService progress;
+	private SolveTimeRecorder recorder;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		puzzles.loadPuzzles();
+		ProgressStoreProperties storeProperties = new ProgressStoreProperties();
+		storeProperties.setEnabled(false);
+		progress = new PlayerProgressService(new ProgressStore(storeProperties));
+		progress.loadProgress();
+		recorder = recorder();
+	}
+
+	@Test
+	void solveIsTimedFromTheViewAndCountsEveryAnswer() {
+		recorder.viewed("alice", puzzle("/room"));
+		recorder.attempted("alice", puzzle("/door"), false);
+		recorder.attempted("alice", puzzle("/door"), false);
+		solve("alice", "/door");
+
+		PuzzleDifficulty door = difficulty(recorder.report(false), "/door");
+		assertThat(door.getSolveSeconds().getCount()).isEqualTo(1);
+		assertThat(door.getAttempts().getCount()).isEqualTo(1);
+		assertThat(door.getAttempts().getP50()).isEqualTo(3);
+		assertThat(door.getAttempts().getMax()).isEqualTo(3);
+	}
+
+	@Test
+	void blindSolvesCountAttemptsOnlyAndResolvesAreIgnored() {
+		recorder.attempted("bob", puzzle("/door"), false);
+		solve("bob", "/door");
+		recorder.viewed("bob", puzzle("/room"));
+		recorder.attempted("bob", puzzle("/door"), false);
+		solve("bob", "/door");
+		recorder.viewed(PlayerProgressService.SYNTHETIC_PREFIX + "1", puzzle("/room"));
+		solve(PlayerProgressService.SYNTHETIC_PREFIX + "1", "/door");
+
+		PuzzleDifficulty door = difficulty(recorder.report(false), "/door");
+		assertThat(door.getSolveSeconds().getCount()).isZero();
+		assertThat(door.getAttempts().getCount()).isEqualTo(1);
+		assertThat(door.getAttempts().getP90()).isEqualTo(2);
+	}
+
+	@Test
+	void snapshotsOfSeveralNodesMergeByAddingCounts() {
+		SolveTimeRecorder other = recorder();
+		for (int player = 0; player < 90; player++) {
+			recorder.attempted("p" + player, puzzle("/binary-puzzle"), true);
+		}
+		for (int player = 0; player < 10; player++) {
+			for (int attempt = 0; attempt < 19; attempt++) {
+				other.attempted("q" + player, puzzle("/binary-puzzle"), false);
+			}
+			other.attempted("q" + player, puzzle("/binary-puzzle"), true);
+		}
+		assertThat(recorder.snapshot().attempts()).containsOnlyKeys(puzzle("/binary-puzzle").getId());
+		assertThat(recorder.snapshot().solveMillis()).isEmpty();
+
+		long[] counts = new long[LatencyHistogram.BUCKETS];
+		for (SolveTimeRecorder.Snapshot snapshot : new SolveTimeRecorder.Snapshot[] {recorder.snapshot(), other.snapshot()}) {
+			long[] pairs = snapshot.attempts().get(puzzle("/binary-puzzle").getId());
+			for (int i = 0; i < pairs.length; i += 2) {
+				counts[(int) pairs[i]] += pairs[i + 1];
+			}
+		}
+		assertThat(LatencyHistogram.valueAtQuantile(counts, 100, 0.50)).isEqualTo(1);
+		assertThat(LatencyHistogram.valueAtQuantile(counts, 100, 0.99)).isEqualTo(20);
+	}
+
+	private SolveTimeRecorder recorder() {
+		return new SolveTimeRecorder(puzzles, progress, new ClusterMembership(new ClusterProperties(), progress),
+				new DifficultyProperties());
+	}
+
+	/** Answer correctly and record the solve, as the controller does. */
+	private void solve(String playerId, String endpoint) {
+		recorder.attempted(playerId, puzzle(endpoint), true);
+		progress.recordSolve(playerId, puzzle(endpoint));
+	}
+
+	private Puzzle puzzle(String endpoint) {
+		return puzzles.getPuzzleByEndpoint(endpoint).orElseThrow();
+	}
+
+	private static PuzzleDifficulty difficulty(DifficultyResponse response, String endpoint) {
+		return response.getPuzzles().stream().filter(p -> p.getEndpoint().equals(endpoint)).findFirst().orElseThrow();
+	}
+}
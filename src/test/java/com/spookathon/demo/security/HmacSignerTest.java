@@ -0,0 +1,61 @@
+package com.spookathon.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacSignerTest {
+
+	@Test
+	void matchesJceHmacSha256ForShortAndLongKeys() throws Exception {
+		for (int keyLength : new int[] {16, 64, 100}) {
+			byte[] key = new byte[keyLength];
+			for (int i = 0; i < keyLength; i++) {
+				key[i] = (byte) (i * 31);
+			}
+			String message = "player-ñ-" + keyLength;
+
+			Mac jce = Mac.getInstance("HmacSHA256");
+			jce.init(new SecretKeySpec(key, "HmacSHA256"));
+			jce.update((byte) 'P');
+			byte[] expected = jce.doFinal(message.getBytes(StandardCharsets.UTF_8));
+
+			byte[] actual = new byte[HmacSigner.MAC_LENGTH];
+			HmacSigner signer = new HmacSigner(key);
+			signer.start().update((byte) 'P').updateUtf8(message).finish(actual, 0);
+			// Second run on the reused session must give the same result
+			signer.start().update((byte) 'P').updateUtf8(message).finish(actual, 0);
+
+			assertThat(actual).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void eachSignerKeepsItsKeyAndAbandonedSessionsDoNotLeak() throws Exception {
+		byte[] first = "first-key".getBytes(StandardCharsets.UTF_8);
+		byte[] second = "second-key".getBytes(StandardCharsets.UTF_8);
+		HmacSigner firstSigner = new HmacSigner(first);
+		HmacSigner secondSigner = new HmacSigner(second);
+
+		// Left unfinished, as when a caller throws between start() and finish()
+		firstSigner.start().updateUtf8("abandoned");
+		byte[] actual = new byte[2 + HmacSigner.MAC_LENGTH];
+		firstSigner.start().updateUtf8("token").finish(actual, 2);
+		byte[] other = new byte[HmacSigner.MAC_LENGTH];
+		secondSigner.start().updateUtf8("token").finish(other, 0);
+
+		assertThat(Arrays.copyOfRange(actual, 2, actual.length)).isEqualTo(jce(first, "token"));
+		assertThat(other).isEqualTo(jce(second, "token"));
+	}
+
+	private static byte[] jce(byte[] key, String message) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(key, "HmacSHA256"));
+		return mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,115 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.config.TokenProperties;
+import com.spookathon.demo.model.AnswerValidator;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChallengeServiceTest {
+
+	private final ChallengeService service = new ChallengeService(properties(), 60);
+
+	@Test
+	void binaryChallengeIsVerifiedFromTokenAlone() {
+		Puzzle puzzle = puzzle(4, new PuzzleGenerator("binary", 5, 255, null));
+		ChallengeService.Challenge issued = service.issue("alice", puzzle);
+
+		ChallengeService.Challenge verified = new ChallengeService(properties(), 60).verify("alice", puzzle, issued.token());
+
+		assertThat(verified).isNotNull();
+		assertThat(Long.parseLong(issued.display(), 2)).isEqualTo(Long.parseLong(issued.answer()));
+		assertThat(service.isAnswerCorrect(verified, " " + issued.answer() + " ")).isTrue();
+		assertThat(service.isAnswerCorrect(verified, issued.answer() + "1")).isFalse();
+	}
+
+	@Test
+	void generatedValuesAreComparedByThePuzzleValidator() {
+		PuzzleService puzzles = new PuzzleService();
+		puzzles.loadPuzzles();
+		Puzzle binary = puzzles.getPuzzleByEndpoint("/binary-puzzle").orElseThrow();
+		// Shipped range is 5..255, so seed 5 shows 1010
+		ChallengeService.Challenge ten = new ChallengeService.Challenge(binary, 5, null);
+		Puzzle exact = puzzle(4, binary.getGenerator());
+		exact.setValidator(new AnswerValidator("exact", null, null));
+
+		assertThat(ten.display()).isEqualTo("1010");
+		assertThat(service.isAnswerCorrect(ten, "10")).isTrue();
+		assertThat(service.isAnswerCorrect(ten, "0b1010")).isTrue();
+		assertThat(service.isAnswerCorrect(ten, "0xA")).isTrue();
+		assertThat(service.isAnswerCorrect(ten, "ten")).isFalse();
+		assertThat(service.isAnswerCorrect(new ChallengeService.Challenge(exact, 5, null), "10")).isTrue();
+		assertThat(service.isAnswerCorrect(new ChallengeService.Challenge(exact, 5, null), "0b1010")).isFalse();
+	}
+
+	@Test
+	void base64ChallengeAcceptsDecodedTextWithOrWithoutPrefix() {
+		Puzzle puzzle = puzzle(10, new PuzzleGenerator("base64", null, null, List.of("hello", "world", "ghost")));
+		ChallengeService.Challenge challenge = service.issue("bob", puzzle);
+		String plaintext = new String(Base64.getDecoder().decode(challenge.display()), StandardCharsets.UTF_8);
+
+		assertThat(service.isAnswerCorrect(challenge, "base64:" + plaintext)).isTrue();
+		assertThat(service.isAnswerCorrect(challenge, plaintext.toUpperCase())).isTrue();
+		assertThat(service.isAnswerCorrect(challenge, "base64:hello")).isFalse();
+	}
+
+	@Test
+	void tokenIsBoundToPlayerAndPuzzle() {
+		Puzzle binary = puzzle(4, new PuzzleGenerator("binary", 5, 255, null));
+		Puzzle crypto = puzzle(10, new PuzzleGenerator("base64", null, null, null));
+		String token = service.issue("alice", binary).token();
+		char[] tampered = token.toCharArray();
+		tampered[5] = tampered[5] == 'A' ? 'B' : 'A';
+
+		assertThat(service.verify("mallory", binary, token)).isNull();
+		assertThat(service.verify("alice", crypto, token)).isNull();
+		assertThat(service.verify("alice", binary, new String(tampered))).isNull();
+		assertThat(service.verify("alice", binary, "not a token")).isNull();
+	}
+
+	@Test
+	void anonymousChallengesAreRandomAndBoundToTheAnonymousPlayer() {
+		Puzzle binary = puzzle(4, new PuzzleGenerator("binary", 5, 1_000_000, null));
+		ChallengeService.Challenge first = service.issue(null, binary);
+		ChallengeService.Challenge second = service.issue(null, binary);
+
+		ChallengeService.Challenge verified = service.verify(null, binary, first.token());
+
+		assertThat(verified).isNotNull();
+		assertThat(service.isAnswerCorrect(verified, first.answer())).isTrue();
+		assertThat(second.seed()).isNotEqualTo(first.seed());
+		assertThat(service.verify("alice", binary, first.token())).isNull();
+		assertThat(service.verify(null, binary, service.issue("alice", binary).token())).isNull();
+	}
+
+	@Test
+	void expiredTokensAreRejected() {
+		Puzzle binary = puzzle(4, new PuzzleGenerator("binary", 5, 255, null));
+		// A negative time to live makes every token already expired
+		ChallengeService expiring = new ChallengeService(properties(), -1);
+
+		assertThat(expiring.verify(null, binary, expiring.issue(null, binary).token())).isNull();
+		assertThat(expiring.verify("alice", binary, expiring.issue("alice", binary).token())).isNull();
+		assertThat(service.verify(null, binary, service.issue(null, binary).token())).isNotNull();
+	}
+
+	private static Puzzle puzzle(int id, PuzzleGenerator generator) {
+		Puzzle puzzle = new Puzzle();
+		puzzle.setId(id);
+		puzzle.setGenerator(generator);
+		puzzle.setValidator(new AnswerValidator("binary".equals(generator.getType()) ? "numeric" : "base64", null, null));
+		return puzzle;
+	}
+
+	private static TokenProperties properties() {
+		TokenProperties properties = new TokenProperties();
+		properties.setSecret(Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8)));
+		return properties;
+	}
+}
@@ -0,0 +1,62 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.config.TokenProperties;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProgressTokenServiceTest {
+
+	private final ProgressTokenService service = new ProgressTokenService(properties(), 24);
+
+	@Test
+	void roundTripsSolvedPuzzlesForTheSamePlayer() {
+		String token = service.issue("alice", 0b1010_0100L);
+
+		assertThat(token).hasSize(39);
+		assertThat(new ProgressTokenService(properties(), 24).verify("alice", token)).isEqualTo(0b1010_0100L);
+		assertThat(service.verify("bob", token)).isZero();
+		assertThat(service.verify(null, token)).isZero();
+		assertThat(service.verify(null, service.issue(null, 0b100L))).isEqualTo(0b100L);
+	}
+
+	@Test
+	void rejectsTamperedAndMalformedTokens() {
+		String token = service.issue("alice", 0b100L);
+		char[] tampered = token.toCharArray();
+		tampered[3] = tampered[3] == 'A' ? 'B' : 'A';
+
+		assertThat(service.verify("alice", new String(tampered))).isZero();
+		assertThat(service.verify("alice", token.substring(1))).isZero();
+		assertThat(service.verify("alice", token.replace(token.charAt(0), '*'))).isZero();
+		assertThat(service.verify("alice", null)).isZero();
+	}
+
+	@Test
+	void verificationAllocatesOnlyTheHmacInnerDigest() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		String token = service.issue("player-123456", 0b1110L);
+		for (int i = 0; i < 20_000; i++) {
+			service.verify("player-123456", token);
+		}
+
+		long before = threads.getCurrentThreadAllocatedBytes();
+		long sum = 0;
+		for (int i = 0; i < 100_000; i++) {
+			sum += service.verify("player-123456", token);
+		}
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+		assertThat(sum).isEqualTo(100_000L * 0b1110L);
+		// javax.crypto.Mac allocates its 32-byte inner digest (48 bytes with the header); nothing else may
+		assertThat(allocated / 100_000.0).isLessThan(64.0);
+	}
+
+	private static TokenProperties properties() {
+		TokenProperties properties = new TokenProperties();
+		properties.setSecret("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+		return properties;
+	}
+}
@@ -0,0 +1,136 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PuzzleGraphTest {
+
+	@Test
+	void puzzlesWithoutPrerequisitesFollowTheLineAndSkipOptionalOnes() {
+		Puzzle side = puzzle(3, "/c", null);
+		side.setOptional(true);
+		PuzzleGraph graph = PuzzleGraph.compile(List.of(
+				view(0, "/intro"), puzzle(1, "/a", null), puzzle(2, "/b", null), side, puzzle(4, "/d", null)));
+
+		assertThat(graph.isUnlocked(1, 0)).isTrue();
+		assertThat(graph.isUnlocked(2, 0)).isFalse();
+		assertThat(graph.isUnlocked(2, bits(1))).isTrue();
+		assertThat(graph.isUnlocked(3, bits(1, 2))).isTrue();
+		assertThat(graph.isUnlocked(4, bits(1, 2))).isTrue();
+		// Without declared endings the last puzzle ends the game
+		assertThat(graph.getEndingMask()).isEqualTo(bits(4));
+	}
+
+	@Test
+	void anyTwoOfThreeUnlocksAfterEveryPair() {
+		PuzzleGraph graph = PuzzleGraph.compile(List.of(
+				puzzle(1, "/start", "none"),
+				puzzle(2, "/a", "/start"), puzzle(3, "/b", "/start"), puzzle(4, "/c", "/start"),
+				puzzle(5, "/gate", "all(/start, any(2, /a, /b, /c))")));
+
+		assertThat(graph.isUnlocked(5, bits(1, 2))).isFalse();
+		assertThat(graph.isUnlocked(5, bits(1, 2, 3))).isTrue();
+		assertThat(graph.isUnlocked(5, bits(1, 2, 4))).isTrue();
+		assertThat(graph.isUnlocked(5, bits(1, 3, 4))).isTrue();
+		assertThat(graph.isUnlocked(5, bits(2, 3, 4))).isFalse();
+	}
+
+	@Test
+	void anyEndingEscapes() {
+		Puzzle light = puzzle(3, "/light", "/start");
+		Puzzle dark = puzzle(4, "/dark", "any(/start)");
+		light.setEnding(true);
+		dark.setEnding(true);
+		PuzzleGraph graph = PuzzleGraph.compile(List.of(puzzle(1, "/start", "none"), light, dark));
+
+		assertThat(graph.hasEscaped(bits(1))).isFalse();
+		assertThat(graph.hasEscaped(bits(1, 3))).isTrue();
+		assertThat(graph.hasEscaped(bits(1, 4))).isTrue();
+	}
+
+	@Test
+	void invalidGraphsFailTheLoad() {
+		assertThatThrownBy(() -> PuzzleGraph.compile(List.of(puzzle(1, "/a", "/missing"))))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("/missing");
+		assertThatThrownBy(() -> PuzzleGraph.compile(List.of(puzzle(1, "/a", "any(3, /b, /c)"),
+				puzzle(2, "/b", "none"), puzzle(3, "/c", "none"))))
+				.hasMessageContaining("any(3");
+		assertThatThrownBy(() -> PuzzleGraph.compile(List.of(puzzle(1, "/a", "/b"), puzzle(2, "/b", "/a"))))
+				.hasMessageContaining("can never be unlocked");
+		assertThatThrownBy(() -> PuzzleGraph.compile(List.of(puzzle(1, "/a", "all(/b"), puzzle(2, "/b", "none"))))
+				.hasMessageContaining("expected ')'");
+	}
+
+	@Test
+	void repeatedOrOutOfRangeIdsFailTheLoad() {
+		PuzzleService service = new PuzzleService();
+		service.loadPuzzles();
+
+		assertThatThrownBy(() -> service.loadPuzzles(catalog(puzzle(1, "/a", "none"), puzzle(1, "/b", "none"))))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Duplicate puzzle id 1: /a and /b");
+		assertThatThrownBy(() -> service.loadPuzzles(catalog(puzzle(PuzzleGraph.MAX_PUZZLES, "/a", "none"))))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("between 0 and 63");
+		// A failed load keeps serving the previous catalog
+		assertThat(service.getPuzzleByEndpoint("/door")).isPresent();
+	}
+
+	@Test
+	void shippedPuzzlesAreSolvedInOrder() {
+		PuzzleService service = new PuzzleService();
+		service.loadPuzzles();
+		Puzzle process = service.getPuzzleByEndpoint("/process-puzzle").orElseThrow();
+		Puzzle crypto = service.getPuzzleByEndpoint("/crypto-puzzle").orElseThrow();
+		long door = mask(service, "/door");
+		long binary = mask(service, "/binary-puzzle");
+		long memory = mask(service, "/memory-puzzle");
+
+		assertThat(service.isUnlocked(process, door)).isFalse();
+		assertThat(service.isUnlocked(process, door | binary | memory)).isTrue();
+		assertThat(service.isUnlocked(crypto, door | memory | mask(service, "/process-puzzle"))).isFalse();
+		assertThat(service.hasEscaped(mask(service, "/escape"))).isTrue();
+	}
+
+	private static PuzzleConfig catalog(Puzzle... puzzles) {
+		PuzzleConfig config = new PuzzleConfig();
+		config.setPuzzles(List.of(puzzles));
+		return config;
+	}
+
+	private static long mask(PuzzleService service, String endpoint) {
+		return PlayerProgressService.maskOf(service.getPuzzleByEndpoint(endpoint).orElseThrow());
+	}
+
+	private static long bits(int... ids) {
+		long mask = 0;
+		for (int id : ids) {
+			mask |= 1L << id;
+		}
+		return mask;
+	}
+
+	private static Puzzle puzzle(int id, String endpoint, String prerequisites) {
+		Puzzle puzzle = new Puzzle();
+		puzzle.setId(id);
+		puzzle.setEndpoint(endpoint);
+		puzzle.setMethod("POST");
+		puzzle.setPrerequisites(prerequisites);
+		return puzzle;
+	}
+
+	private static Puzzle view(int id, String endpoint) {
+		Puzzle puzzle = new Puzzle();
+		puzzle.setId(id);
+		puzzle.setEndpoint(endpoint);
+		puzzle.setMethod("GET");
+		return puzzle;
+	}
+}
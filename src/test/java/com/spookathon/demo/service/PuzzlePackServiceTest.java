@@ -0,0 +1,121 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.config.TextArenaProperties;
+import com.spookathon.demo.model.DoorResponse;
+import com.spookathon.demo.model.EscapeResponse;
+import com.spookathon.demo.model.HallwayResponse;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleConfig;
+import com.spookathon.demo.model.RoomResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PuzzlePackServiceTest {
+
+	private static PuzzleService puzzleService;
+	private static PuzzlePackService packs;
+
+	@BeforeAll
+	static void load() {
+		puzzleService = new PuzzleService();
+		puzzleService.loadPuzzles();
+		packs = new PuzzlePackService(puzzleService, new TextArenaProperties());
+		packs.loadPacks();
+	}
+
+	@Test
+	void acceptLanguageSelectsTheBestLoadedPack() {
+		assertThat(packs.resolve((String) null).getLocale()).isEqualTo("en");
+		assertThat(packs.resolve("es").getLocale()).isEqualTo("es");
+		assertThat(packs.resolve("es-MX,es;q=0.9,en;q=0.8").getLocale()).isEqualTo("es");
+		assertThat(packs.resolve("de-DE,en;q=0.5,es;q=0.4").getLocale()).isEqualTo("en");
+		assertThat(packs.resolve("fr,es;q=0").getLocale()).isEqualTo("en");
+		assertThat(packs.resolve("not a ;; header").getLocale()).isEqualTo("en");
+		// Repeated headers hit the cache and get the same pack
+		assertThat(packs.resolve("es-MX,es;q=0.9,en;q=0.8")).isSameAs(packs.resolve("es"));
+	}
+
+	@Test
+	void packsTranslateTextsButKeepAnswersAndStatuses() {
+		PuzzlePackService.Page english = packs.resolve("en").page("/memory-puzzle");
+		PuzzlePackService.Page spanish = packs.resolve("es").page("/memory-puzzle");
+		Puzzle original = puzzleService.getPuzzleByEndpoint("/memory-puzzle").orElseThrow();
+
+		assertThat(spanish.puzzle().getFailureMessage()).isNotEqualTo(original.getFailureMessage());
+		assertThat(spanish.puzzle().getCorrectAnswer()).isEqualTo(original.getCorrectAnswer());
+		assertThat(spanish.puzzle().getAlternativeAnswers()).contains("l1", "caché");
+		assertThat(puzzleService.isAnswerCorrect(spanish.puzzle(), "Caché")).isTrue();
+		assertThat(puzzleService.isAnswerCorrect(english.puzzle(), "Caché")).isFalse();
+		assertThat(english.puzzle().getAnswerMatcher()).isSameAs(original.getAnswerMatcher());
+		assertThat(spanish.puzzle().getHints()).extracting("afterSeconds")
+				.containsExactlyElementsOf(original.getHints().stream().map(h -> (Object) h.getAfterSeconds()).toList());
+		assertThat(packs.resolve("es").getWelcome()).startsWith("👻 Bienvenido");
+	}
+
+	@Test
+	void fixedResponsesAreRenderedOnce() {
+		PuzzlePackService.Page room = packs.resolve("es").page("/room");
+		PuzzlePackService.Page door = packs.resolve("es").page("/door");
+
+		RoomResponse view = room.view();
+		DoorResponse failure = door.failure();
+		DoorResponse locked = door.locked();
+		assertThat(view).isSameAs(room.view());
+		assertThat(view.getMessage()).isEqualTo(room.puzzle().getMessage());
+		assertThat(failure.getStatus()).isEqualTo("door_locked");
+		assertThat(locked.getStatus()).isEqualTo("sequence_locked");
+		assertThat(locked.getMessage()).startsWith("El Servidor Fantasma");
+	}
+
+	@Test
+	void responseTypesComeFromThePuzzleData() {
+		assertThat(packs.getDefaultPack().page("/hallway").<Object>view()).isInstanceOf(HallwayResponse.class);
+		assertThat(packs.getDefaultPack().page("/escape").<Object>failure()).isInstanceOf(EscapeResponse.class);
+
+		Puzzle lobby = puzzle(0, "/lobby", "GET");
+		lobby.setResponseType("hallway");
+		Puzzle exit = puzzle(1, "/exit", "POST");
+		exit.setEnding(true);
+		PuzzlePackService custom = new PuzzlePackService(puzzleService, new TextArenaProperties());
+		custom.loadPacks(catalog(lobby, puzzle(2, "/gate", "POST"), exit), List.of());
+
+		assertThat(custom.getDefaultPack().page("/lobby").<Object>view()).isInstanceOf(HallwayResponse.class);
+		assertThat(custom.getDefaultPack().page("/gate").<Object>locked()).isInstanceOf(DoorResponse.class);
+		assertThat(custom.getDefaultPack().page("/exit").<Object>locked()).isInstanceOf(EscapeResponse.class);
+
+		Puzzle unknown = puzzle(3, "/attic", "GET");
+		unknown.setResponseType("attic");
+		assertThatThrownBy(() -> custom.loadPacks(catalog(unknown), List.of()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("attic");
+		// A failed load keeps serving the previous packs
+		assertThat(custom.getDefaultPack().page("/lobby")).isNotNull();
+	}
+
+	private static Puzzle puzzle(int id, String endpoint, String method) {
+		Puzzle puzzle = new Puzzle();
+		puzzle.setId(id);
+		puzzle.setEndpoint(endpoint);
+		puzzle.setMethod(method);
+		puzzle.setMessage("Message of " + endpoint);
+		puzzle.setCorrectAnswer("POST".equals(method) ? "answer" : null);
+		puzzle.setFailureMessage("Wrong.");
+		puzzle.setMissingAnswerMessage("Answer.");
+		return puzzle;
+	}
+
+	private static PuzzleConfig catalog(Puzzle... puzzles) {
+		PuzzleConfig config = new PuzzleConfig();
+		config.setLocale("en");
+		config.setWelcome("Welcome");
+		config.setMessages(Map.of("sequenceLocked", "Locked."));
+		config.setPuzzles(List.of(puzzles));
+		return config;
+	}
+}
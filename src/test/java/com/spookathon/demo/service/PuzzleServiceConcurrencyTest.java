@@ -0,0 +1,140 @@
+package com.spookathon.demo.service;
+
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.stress.StressCatalogs;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers PuzzleService lookups from several threads while another thread
+ * keeps replacing the catalog, and reports each lookup's throughput.
+ * The jcstress tests in the stress package probe the same races more
+ * thoroughly on machines with spare cores.
+ */
+class PuzzleServiceConcurrencyTest {
+
+	private static final int READERS = 4;
+	private static final long RUN_MILLIS = 300;
+
+	/** One lookup; returns a problem description, or null if the result is consistent. */
+	private interface Lookup {
+		String check(PuzzleService service);
+	}
+
+	@Test
+	void endpointLookupsSeeWholeCatalogs() throws Exception {
+		hammer("getPuzzleByEndpoint", service -> {
+			Puzzle door = service.getPuzzleByEndpoint(StressCatalogs.DOOR).orElse(null);
+			return door == null ? "door missing" : checkDoor(door);
+		});
+	}
+
+	@Test
+	void idLookupsSeeWholeCatalogs() throws Exception {
+		hammer("getPuzzleById", service -> {
+			Puzzle door = service.getPuzzleById(StressCatalogs.DOOR_ID).orElse(null);
+			return door == null ? "door missing" : checkDoor(door);
+		});
+	}
+
+	@Test
+	void levelListsAreNeverTorn() throws Exception {
+		hammer("getPuzzlesByLevel", service -> {
+			List<Puzzle> easy = service.getPuzzlesByLevel("easy");
+			if (easy.size() != 2 && easy.size() != 3) {
+				return "EASY has " + easy.size() + " puzzles";
+			}
+			for (Puzzle puzzle : easy) {
+				if (puzzle == null || !"EASY".equals(puzzle.getLevel())) {
+					return "EASY lists " + puzzle;
+				}
+			}
+			return null;
+		});
+	}
+
+	@Test
+	void answersAreCheckedAgainstTheDoorOfOneCatalog() throws Exception {
+		hammer("isAnswerCorrect", service -> {
+			Puzzle door = service.getPuzzleByEndpoint(StressCatalogs.DOOR).orElseThrow();
+			boolean first = service.isAnswerCorrect(door, StressCatalogs.FIRST_ANSWER);
+			boolean second = service.isAnswerCorrect(door, StressCatalogs.SECOND_ANSWER);
+			return first != second ? null : "door accepts " + (first ? "both answers" : "neither answer");
+		});
+	}
+
+	private static String checkDoor(Puzzle door) {
+		boolean second = StressCatalogs.SECOND_ANSWER.equals(door.getCorrectAnswer());
+		boolean consistent = second
+				? "MEDIUM".equals(door.getLevel()) && "Unlock the Vault".equals(door.getName())
+				: "EASY".equals(door.getLevel()) && StressCatalogs.FIRST_ANSWER.equals(door.getCorrectAnswer());
+		return consistent ? null : "torn door " + door;
+	}
+
+	/**
+	 * Run the lookup on READERS threads while the catalog flips between
+	 * two versions, and fail on the first inconsistent result.
+	 */
+	private void hammer(String name, Lookup lookup) throws Exception {
+		PuzzleService service = StressCatalogs.service();
+		AtomicLong lookups = new AtomicLong();
+		AtomicLong reloads = new AtomicLong();
+		ConcurrentLinkedQueue<String> problems = new ConcurrentLinkedQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+
+		List<Thread> threads = new ArrayList<>();
+		threads.add(new Thread(() -> {
+			await(start);
+			while (System.nanoTime() < end) {
+				long n = reloads.incrementAndGet();
+				service.loadPuzzles(n % 2 == 0 ? StressCatalogs.first() : StressCatalogs.second());
+			}
+		}));
+		for (int i = 0; i < READERS; i++) {
+			threads.add(new Thread(() -> {
+				await(start);
+				long done = 0;
+				try {
+					while (System.nanoTime() < end && problems.isEmpty()) {
+						String problem = lookup.check(service);
+						if (problem != null) {
+							problems.add(problem);
+						}
+						done++;
+					}
+				} catch (RuntimeException e) {
+					problems.add(e.toString());
+				}
+				lookups.addAndGet(done);
+			}));
+		}
+		threads.forEach(Thread::start);
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		System.out.printf("📊 %-20s %,12d lookups/s on %d threads during %,d reloads/s%n", name,
+				lookups.get() * 1000 / RUN_MILLIS, READERS, reloads.get() * 1000 / RUN_MILLIS);
+		assertThat(problems).isEmpty();
+		assertThat(lookups.get()).isPositive();
+		assertThat(reloads.get()).isPositive();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
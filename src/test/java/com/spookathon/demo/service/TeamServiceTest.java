@@ -0,0 +1,152 @@
+package com.spookathon.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.cluster.ClusterMembership;
+import com.spookathon.demo.config.ClusterProperties;
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.config.TeamProperties;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.store.ProgressStore;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamServiceTest {
+
+	@Test
+	void simultaneousCorrectAnswersAdvanceTheTeamOnce() throws Exception {
+		TeamService teams = new TeamService();
+		Puzzle puzzle = new Puzzle();
+		puzzle.setId(3);
+		puzzle.setEndpoint("/memory-puzzle");
+
+		int members = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(members);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < members; i++) {
+				String member = "ghost-" + i;
+				results.add(pool.submit(() -> {
+					start.await();
+					return teams.recordSolve("crew", member, puzzle);
+				}));
+			}
+			start.countDown();
+
+			int advanced = 0;
+			for (Future<Boolean> result : results) {
+				advanced += result.get() ? 1 : 0;
+			}
+			assertThat(advanced).isEqualTo(1);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		TeamService.TeamState state = teams.getTeam("crew").orElseThrow().getState();
+		assertThat(state.advances()).isEqualTo(1);
+		assertThat(state.solvedMask()).isEqualTo(PlayerProgressService.maskOf(puzzle));
+		assertThat(state.lastSolver()).startsWith("ghost-");
+		assertThat(teams.getTeam("crew").orElseThrow().getMembers()).hasSize(members);
+	}
+
+	@Test
+	void distinctPuzzlesAllLandUnderContention() throws Exception {
+		TeamService.Team team = new TeamService.Team("crew");
+		int members = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < members; i++) {
+			int member = i;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				// Every member answers every puzzle, starting at a different one
+				for (int j = 0; j < 64; j++) {
+					team.advance(1L << ((member * 8 + j) & 63), "ghost-" + member);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(team.getState().solvedMask()).isEqualTo(-1L);
+		assertThat(team.getState().advances()).isEqualTo(64);
+	}
+
+	@Test
+	void membersOnOtherNodesAdvanceTheTeamOnItsOwner() throws Exception {
+		TeamService ownerTeams = new TeamService();
+		ObjectMapper json = new ObjectMapper();
+		HttpServer owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		owner.createContext(TeamService.TEAM_PATH, exchange -> {
+			TeamService.TeamCall call = json.readValue(exchange.getRequestBody(), TeamService.TeamCall.class);
+			byte[] reply = json.writeValueAsBytes(ownerTeams.apply(call));
+			exchange.sendResponseHeaders(200, reply.length);
+			exchange.getResponseBody().write(reply);
+			exchange.close();
+		});
+		owner.start();
+		try {
+			String self = "http://127.0.0.1:1";
+			ClusterProperties cluster = new ClusterProperties();
+			cluster.setEnabled(true);
+			cluster.setSelf(self);
+			cluster.setNodes(List.of(self, "http://127.0.0.1:" + owner.getAddress().getPort()));
+			cluster.setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+			ProgressStoreProperties store = new ProgressStoreProperties();
+			store.setEnabled(false);
+			ClusterMembership membership = new ClusterMembership(cluster, new PlayerProgressService(new ProgressStore(store)));
+			membership.init();
+			TeamService memberTeams = new TeamService(new TeamProperties(), membership);
+			String team = "crew-0";
+			for (int i = 1; membership.isLocal(team); i++) {
+				team = "crew-" + i;
+			}
+			Puzzle puzzle = new Puzzle();
+			puzzle.setId(3);
+			puzzle.setEndpoint("/memory-puzzle");
+
+			assertThat(memberTeams.recordSolve(team, "alice", puzzle)).isTrue();
+			assertThat(memberTeams.recordSolve(team, "bob", puzzle)).isFalse();
+			assertThat(memberTeams.getSolvedMask(team, "carol")).isEqualTo(PlayerProgressService.maskOf(puzzle));
+			assertThat(memberTeams.getTeam(team)).isEmpty();
+			assertThat(ownerTeams.getTeam(team).orElseThrow().getMembers()).containsExactlyInAnyOrder("alice", "bob", "carol");
+		} finally {
+			owner.stop(0);
+		}
+	}
+
+	@Test
+	void idleTeamsAreForgotten() {
+		TeamProperties properties = new TeamProperties();
+		properties.setIdleTtlMinutes(30);
+		TeamService teams = new TeamService(properties, null);
+		TeamService.Team idle = teams.join("idle", "alice");
+		teams.join("busy", "bob");
+		ReflectionTestUtils.setField(idle, "touchedAt", System.currentTimeMillis() - 31 * 60_000L);
+
+		teams.expire();
+
+		assertThat(teams.getTeam("idle")).isEmpty();
+		assertThat(teams.getTeam("busy")).isPresent();
+	}
+}
@@ -0,0 +1,161 @@
+package com.spookathon.demo.store;
+
+import com.spookathon.demo.config.ProgressStoreProperties;
+import com.spookathon.demo.model.PlayerProgress;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PlayerProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProgressStoreTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void recoversFromSnapshotAndLogTail() {
+		ProgressStoreProperties properties = properties(1_000);
+
+		ProgressStore first = new ProgressStore(properties);
+		Map<String, PlayerProgress> live = new ConcurrentHashMap<>(first.recover());
+		first.start(live);
+		for (int i = 0; i < 2_500; i++) {
+			put(first, live, new PlayerProgress("player-" + i, 1L << (i % 14), i, i));
+		}
+		live.remove("player-7");
+		first.markDirty("player-7");
+		first.stop();
+
+		ProgressStore second = new ProgressStore(properties);
+		Map<String, PlayerProgress> recovered = second.recover();
+
+		assertThat(recovered).hasSize(2_499).doesNotContainKey("player-7");
+		assertThat(recovered.get("player-42").getSolvedMask()).isEqualTo(1L << 0);
+	}
+
+	@Test
+	void ignoresTornRecordAtEndOfLog() throws IOException {
+		ProgressStoreProperties properties = properties(1_000_000);
+		properties.setSnapshotIntervalMs(Long.MAX_VALUE);
+
+		try (ProgressLog log = new ProgressLog(directory)) {
+			log.open(1);
+			log.append(1, "alice", new PlayerProgress("alice", 0b110, 1, 2));
+			log.append(2, "bob", new PlayerProgress("bob", 0b100, 1, 2));
+			log.sync();
+		}
+		Path segment;
+		try (var files = Files.list(directory)) {
+			segment = files.findFirst().orElseThrow();
+		}
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 5);
+		}
+
+		Map<String, PlayerProgress> recovered = new ProgressStore(properties).recover();
+
+		assertThat(recovered).containsOnlyKeys("alice");
+	}
+
+	@Test
+	void retriesFailedWritesAndReportsDownMeanwhile() throws Exception {
+		ProgressStoreProperties properties = properties(1_000_000);
+		properties.setMaxRetryBackoffMs(20);
+		FailingLog[] failing = new FailingLog[1];
+		ProgressStore store = new ProgressStore(properties, dir -> failing[0] = new FailingLog(dir));
+		ProgressStoreHealthIndicator health = new ProgressStoreHealthIndicator(store);
+		Map<String, PlayerProgress> live = new ConcurrentHashMap<>(store.recover());
+		store.start(live);
+		put(store, live, new PlayerProgress("alice", 0b10, 1, 1));
+		await(() -> store.getPendingPlayers() == 0);
+
+		failing[0].failing = true;
+		put(store, live, new PlayerProgress("bob", 0b100, 2, 2));
+		put(store, live, new PlayerProgress("carol", 0b1000, 3, 3));
+		await(() -> store.getLastError() != null);
+		assertThat(health.health().getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.health().getDetails()).containsEntry("error", "disk full");
+		// Both players stay pending between retries
+		await(() -> store.getPendingPlayers() == 2);
+
+		failing[0].failing = false;
+		await(() -> store.getLastError() == null && store.getPendingPlayers() == 0);
+		assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+		store.stop();
+
+		assertThat(new ProgressStore(properties).recover()).containsOnlyKeys("alice", "bob", "carol");
+	}
+
+	@Test
+	void syntheticPlayersNeverReachTheStore() throws Exception {
+		ProgressStoreProperties properties = properties(1);
+		ProgressStore store = new ProgressStore(properties);
+		PlayerProgressService progress = new PlayerProgressService(store);
+		progress.loadProgress();
+		Puzzle door = new Puzzle();
+		door.setId(1);
+		String synthetic = PlayerProgressService.SYNTHETIC_PREFIX + "1";
+
+		progress.recordSolve("warmup-1", door);
+		progress.recordSolve(synthetic, door);
+		assertThat(progress.getProgress(synthetic)).isPresent();
+		assertThat(progress.getAllProgress()).extracting(PlayerProgress::getPlayerId).containsOnly("warmup-1");
+		await(() -> store.getPendingPlayers() == 0);
+		progress.removeProgress(synthetic);
+		store.stop();
+
+		assertThat(progress.getProgress(synthetic)).isEmpty();
+		assertThat(new ProgressStore(properties).recover()).containsOnlyKeys("warmup-1");
+	}
+
+	/** A log whose writes fail while {@code failing} is set, like a full disk. */
+	private static final class FailingLog extends ProgressLog {
+		volatile boolean failing;
+
+		FailingLog(Path directory) {
+			super(directory);
+		}
+
+		@Override
+		void sync() throws IOException {
+			if (failing) {
+				throw new IOException("disk full");
+			}
+			super.sync();
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	private ProgressStoreProperties properties(long snapshotEveryRecords) {
+		ProgressStoreProperties properties = new ProgressStoreProperties();
+		properties.setDirectory(directory.toString());
+		properties.setFlushIntervalMs(5);
+		properties.setSnapshotEveryRecords(snapshotEveryRecords);
+		return properties;
+	}
+
+	private void put(ProgressStore store, Map<String, PlayerProgress> live, PlayerProgress progress) {
+		live.put(progress.getPlayerId(), progress);
+		store.markDirty(progress.getPlayerId());
+	}
+}
@@ -0,0 +1,116 @@
+package com.spookathon.demo.stress;
+
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.service.PuzzleService;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * jcstress tests for PuzzleService lookups racing a catalog reload.
+ *
+ * Every test reloads from the first catalog of {@link StressCatalogs} to
+ * the second in one actor while another actor reads. Readers must see one
+ * whole catalog: a puzzle that is missing, half initialised or mixes both
+ * catalogs is a visibility bug, and seeing the new catalog and then the
+ * old one means reloads are not published in order.
+ *
+ * Usage: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.openjdk.jcstress.Main -t PuzzleCatalogStress"
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public class PuzzleCatalogStress {
+
+	/** r1/r2 values: puzzle missing, served from the first catalog, from the second. */
+	static final int MISSING = 0;
+	static final int FIRST = 1;
+	static final int SECOND = 2;
+
+	private PuzzleCatalogStress() {
+	}
+
+	static int catalogOf(Puzzle puzzle) {
+		if (puzzle == null) {
+			return MISSING;
+		}
+		return StressCatalogs.SECOND_ANSWER.equals(puzzle.getCorrectAnswer()) ? SECOND : FIRST;
+	}
+
+	@JCStressTest
+	@Description("getPuzzleByEndpoint and isAnswerCorrect while the catalog is replaced.")
+	@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Old door, old answer accepted.")
+	@Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "New door, old answer rejected.")
+	@Outcome(expect = FORBIDDEN, desc = "Door missing or torn between catalogs.")
+	@State
+	public static class EndpointLookup {
+		private final PuzzleService service = StressCatalogs.service();
+
+		@Actor
+		public void reload() {
+			service.loadPuzzles(StressCatalogs.second());
+		}
+
+		@Actor
+		public void lookup(II_Result r) {
+			Puzzle door = service.getPuzzleByEndpoint(StressCatalogs.DOOR).orElse(null);
+			r.r1 = catalogOf(door);
+			r.r2 = door != null && service.isAnswerCorrect(door, StressCatalogs.FIRST_ANSWER) ? 1 : 0;
+		}
+	}
+
+	@JCStressTest
+	@Description("getPuzzleById returns a fully initialised puzzle of one catalog.")
+	@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Old door.")
+	@Outcome(id = "2, 1", expect = ACCEPTABLE, desc = "New door.")
+	@Outcome(expect = FORBIDDEN, desc = "Door missing or not fully initialised.")
+	@State
+	public static class IdLookup {
+		private final PuzzleService service = StressCatalogs.service();
+
+		@Actor
+		public void reload() {
+			service.loadPuzzles(StressCatalogs.second());
+		}
+
+		@Actor
+		public void lookup(II_Result r) {
+			Puzzle door = service.getPuzzleById(StressCatalogs.DOOR_ID).orElse(null);
+			r.r1 = catalogOf(door);
+			r.r2 = door != null && door.getEndpoint() != null && door.getName() != null ? 1 : 0;
+		}
+	}
+
+	@JCStressTest
+	@Description("Two getPuzzlesByLevel calls never go back from the new catalog to the old one.")
+	@Outcome(id = "3, 5", expect = ACCEPTABLE, desc = "Both calls saw the old catalog.")
+	@Outcome(id = "2, 6", expect = ACCEPTABLE, desc = "Both calls saw the new catalog.")
+	@Outcome(id = "3, 6", expect = ACCEPTABLE_INTERESTING, desc = "Reload landed between the calls.")
+	@Outcome(expect = FORBIDDEN, desc = "New then old catalog, or a torn level list.")
+	@State
+	public static class LevelLookup {
+		private final PuzzleService service = StressCatalogs.service();
+
+		@Actor
+		public void reload() {
+			service.loadPuzzles(StressCatalogs.second());
+		}
+
+		@Actor
+		public void lookup(II_Result r) {
+			r.r1 = service.getPuzzlesByLevel("EASY").size();
+			r.r2 = service.getPuzzlesByLevel("MEDIUM").size();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.spookathon.demo.stress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleConfig;
+import com.spookathon.demo.service.PuzzleService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Two catalogs that a reload switches between.
+ *
+ * The first is puzzles.json. In the second, the door (puzzle 2) is a
+ * different puzzle object with another answer and has moved from the EASY
+ * to the MEDIUM level, so every lookup tells which catalog it was served
+ * from. Each call returns fresh configuration objects; the puzzles
+ * themselves are shared and never modified.
+ *
+ * @author Johan Gloria
+ * @author Melany Rivera
+ * @author Jese Sanchez
+ * @author Luis Mendoza
+ * @author Leonel Campos
+ */
+public final class StressCatalogs {
+
+	public static final String DOOR = "/door";
+	public static final int DOOR_ID = 2;
+	public static final String FIRST_ANSWER = "logic";
+	public static final String SECOND_ANSWER = "magic";
+
+	private static final List<Puzzle> FIRST;
+	private static final List<Puzzle> SECOND;
+
+	static {
+		ObjectMapper objectMapper = new ObjectMapper();
+		try (InputStream in = StressCatalogs.class.getResourceAsStream("/puzzles.json")) {
+			FIRST = List.copyOf(objectMapper.readValue(in, PuzzleConfig.class).getPuzzles());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		List<Puzzle> second = new ArrayList<>();
+		for (Puzzle puzzle : FIRST) {
+			if (DOOR.equals(puzzle.getEndpoint())) {
+				Puzzle vault = objectMapper.convertValue(puzzle, Puzzle.class);
+				vault.setName("Unlock the Vault");
+				vault.setLevel("MEDIUM");
+				vault.setCorrectAnswer(SECOND_ANSWER);
+				vault.setAlternativeAnswers(List.of());
+				puzzle = vault;
+			}
+			second.add(puzzle);
+		}
+		SECOND = List.copyOf(second);
+	}
+
+	private StressCatalogs() {
+	}
+
+	public static PuzzleConfig first() {
+		return config(FIRST);
+	}
+
+	public static PuzzleConfig second() {
+		return config(SECOND);
+	}
+
+	/**
+	 * A service serving the first catalog.
+	 */
+	public static PuzzleService service() {
+		PuzzleService service = new PuzzleService();
+		service.loadPuzzles(first());
+		return service;
+	}
+
+	private static PuzzleConfig config(List<Puzzle> puzzles) {
+		PuzzleConfig config = new PuzzleConfig();
+		config.setLocale("en");
+		config.setPuzzles(puzzles);
+		return config;
+	}
+}
@@ -0,0 +1,119 @@
+package com.spookathon.demo.text;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spookathon.demo.config.TextArenaProperties;
+import com.spookathon.demo.model.DoorResponse;
+import com.spookathon.demo.model.Puzzle;
+import com.spookathon.demo.model.PuzzleConfig;
+import com.spookathon.demo.model.RoomResponse;
+import com.spookathon.demo.model.TimedHint;
+import com.spookathon.demo.service.PuzzlePackService;
+import com.spookathon.demo.service.PuzzleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextArenaTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void equalTextsAreStoredOnce() {
+		TextArena arena = new TextArena(64);
+		ArenaText first = arena.intern("You must provide an answer.");
+		ArenaText second = arena.intern(new String("You must provide an answer."));
+		ArenaText ghost = arena.intern("👻 ¡Bienvenido!");
+		ArenaText repeated = arena.intern("x".repeat(100));
+		arena.seal();
+
+		assertThat(second).isSameAs(first);
+		assertThat(arena.size()).isEqualTo(3);
+		assertThat(arena.getRequestedBytes()).isEqualTo(2 * 27 + 18 + 100);
+		assertThat(arena.getStoredBytes()).isEqualTo(27 + 18 + 100);
+		assertThat(ghost.toString()).isEqualTo("👻 ¡Bienvenido!");
+		assertThat(ghost.length()).isEqualTo("👻 ¡Bienvenido!".length());
+		assertThat(first.charAt(4)).isEqualTo('m');
+		assertThat(repeated.length()).isEqualTo(100);
+		assertThatThrownBy(() -> arena.intern("late")).isInstanceOf(IllegalStateException.class);
+
+		ArenaText copy = new TextArena(64).intern("You must provide an answer.");
+		assertThat(copy).isNotSameAs(first).isEqualTo(first).hasSameHashCodeAs(first).isNotEqualTo(ghost);
+	}
+
+	@Test
+	void responsesSerializeAsIfTheyHeldStrings() throws Exception {
+		TextArena arena = new TextArena(1024);
+		String message = "✗ \"Wrong\" key.\nThe door stays locked: aGVsbG8=";
+		DoorResponse heap = new DoorResponse(message, "locked");
+		DoorResponse offHeap = new DoorResponse(arena.intern(message), "locked");
+
+		assertThat(objectMapper.writeValueAsBytes(offHeap)).isEqualTo(objectMapper.writeValueAsBytes(heap));
+		assertThat(objectMapper.writeValueAsString(offHeap)).isEqualTo(objectMapper.writeValueAsString(heap));
+		assertThat(objectMapper.readValue(objectMapper.writeValueAsBytes(offHeap), DoorResponse.class).getMessage())
+				.isEqualTo(message);
+	}
+
+	@Test
+	void plainTextBodiesAreWrittenStraightFromTheArena() throws Exception {
+		String welcome = "👻 ¡Bienvenido!\n" + "a".repeat(20_000);
+		ArenaText text = new TextArena(32 * 1024).intern(welcome);
+		ArenaTextHttpMessageConverter converter = new ArenaTextHttpMessageConverter();
+		MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+		assertThat(converter.canWrite(ArenaText.class, MediaType.TEXT_PLAIN)).isTrue();
+		assertThat(converter.canWrite(String.class, MediaType.TEXT_PLAIN)).isFalse();
+		converter.write(text, null, output);
+
+		assertThat(output.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(welcome);
+		assertThat(output.getHeaders().getContentLength()).isEqualTo(welcome.getBytes(StandardCharsets.UTF_8).length);
+		assertThat(output.getHeaders().getContentType().toString()).isEqualTo("text/plain;charset=UTF-8");
+	}
+
+	@Test
+	void packsServeTheSameResponsesFromTheArena() throws Exception {
+		PuzzleService puzzles = new PuzzleService();
+		puzzles.loadPuzzles();
+		PuzzleConfig loaded = puzzles.getPuzzleConfig();
+		Puzzle loadedDoor = puzzles.getPuzzleByEndpoint("/door").orElseThrow();
+		PuzzlePackService onHeap = new PuzzlePackService(puzzles, new TextArenaProperties());
+		onHeap.loadPacks();
+		TextArenaProperties properties = new TextArenaProperties();
+		properties.setEnabled(true);
+		PuzzlePackService offHeap = new PuzzlePackService(puzzles, properties);
+		offHeap.loadPacks();
+
+		for (String language : List.of("en", "es")) {
+			for (String endpoint : List.of("/room", "/door", "/escape")) {
+				PuzzlePackService.Page expected = onHeap.resolve(language).page(endpoint);
+				PuzzlePackService.Page actual = offHeap.resolve(language).page(endpoint);
+				Object expectedBody = "/door".equals(endpoint) || "/escape".equals(endpoint) ? expected.locked() : expected.view();
+				Object actualBody = "/door".equals(endpoint) || "/escape".equals(endpoint) ? actual.locked() : actual.view();
+				assertThat(objectMapper.writeValueAsString(actualBody)).isEqualTo(objectMapper.writeValueAsString(expectedBody));
+			}
+		}
+		RoomResponse room = offHeap.resolve("es").page("/room").view();
+		assertThat(room.getMessage()).isInstanceOf(ArenaText.class);
+		assertThat(offHeap.resolve("es").page("/door").puzzle().getFailureMessage()).isInstanceOf(ArenaText.class);
+		assertThat(offHeap.resolve("es").page("/door").puzzle().getHints()).extracting(TimedHint::getText)
+				.allMatch(ArenaText.class::isInstance);
+		assertThat(offHeap.resolve("es").getWelcome()).isInstanceOf(ArenaText.class);
+		// The base catalog is republished with the arena copies; the one already published is left as it was
+		PuzzleConfig base = puzzles.getPuzzleConfig();
+		assertThat(base).isNotSameAs(loaded);
+		assertThat(loaded.getWelcome()).isInstanceOf(String.class);
+		assertThat(loadedDoor.getFailureMessage()).isInstanceOf(String.class);
+		assertThat(loadedDoor.getHints()).extracting(TimedHint::getText).allMatch(String.class::isInstance);
+		assertThat(base.getWelcome()).isInstanceOf(ArenaText.class);
+		assertThat(base.getMessages().get("sequenceLocked")).isInstanceOf(ArenaText.class);
+		Puzzle door = puzzles.getPuzzleByEndpoint("/door").orElseThrow();
+		assertThat(door.getFailureMessage()).isInstanceOf(ArenaText.class);
+		assertThat(door.getHints()).extracting(TimedHint::getText).allMatch(ArenaText.class::isInstance);
+		assertThat(onHeap.resolve("en").getWelcome().toString()).isEqualTo(base.getWelcome().toString());
+	}
+}
@@ -50,6 +50,7 @@ Write-Host "Endpoint: POST /door" -ForegroundColor Yellow
 Write-Host "Trying with key: 'logic'" -ForegroundColor Yellow
 $body = @{ key = "logic" } | ConvertTo-Json
 $response2 = Invoke-RestMethod -Uri "http://localhost:8080/door" -Method Post -Body $body -ContentType "application/json"
+$progressToken = $response2.progressToken
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response2.message -ForegroundColor White
 Write-Host "📊 Status: $($response2.status)" -ForegroundColor Green
@@ -83,10 +84,13 @@ Write-Host "━━━━━━━━━━━━━━━━━━━━━━
 Write-Host "📘 MEDIUM 1/3: BINARY CHALLENGE 🔢" -ForegroundColor Cyan
 Write-Host "━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━" -ForegroundColor DarkGray
 Write-Host "Endpoint: POST /binary-puzzle" -ForegroundColor Yellow
-Write-Host "Question: What is 1010 in decimal?" -ForegroundColor Yellow
-Write-Host "Trying with answer: '10'" -ForegroundColor Yellow
-$body = @{ key = "10" } | ConvertTo-Json
-$response4 = Invoke-RestMethod -Uri "http://localhost:8080/binary-puzzle" -Method Post -Body $body -ContentType "application/json"
+$binary = [regex]::Match($response3.message, 'binary: ([01]+)').Groups[1].Value
+$decimal = [Convert]::ToInt32($binary, 2)
+Write-Host "Question: What is $binary in decimal?" -ForegroundColor Yellow
+Write-Host "Trying with answer: '$decimal'" -ForegroundColor Yellow
+$body = @{ key = "$decimal"; challenge = $response3.challenge } | ConvertTo-Json
+$response4 = Invoke-RestMethod -Uri "http://localhost:8080/binary-puzzle" -Method Post -Body $body -ContentType "application/json" -Headers @{ "X-Progress-Token" = $progressToken }
+$progressToken = $response4.progressToken
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response4.message -ForegroundColor White
 Write-Host "📊 Status: $($response4.status)" -ForegroundColor Green
@@ -107,7 +111,8 @@ Write-Host ""
 Write-Host "Endpoint: POST /memory-puzzle" -ForegroundColor Yellow
 Write-Host "Trying with answer: 'cache'" -ForegroundColor Yellow
 $body = @{ key = "cache" } | ConvertTo-Json
-$response6 = Invoke-RestMethod -Uri "http://localhost:8080/memory-puzzle" -Method Post -Body $body -ContentType "application/json"
+$response6 = Invoke-RestMethod -Uri "http://localhost:8080/memory-puzzle" -Method Post -Body $body -ContentType "application/json" -Headers @{ "X-Progress-Token" = $progressToken }
+$progressToken = $response6.progressToken
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response6.message -ForegroundColor White
 Write-Host "📊 Status: $($response6.status)" -ForegroundColor Green
@@ -128,7 +133,8 @@ Write-Host ""
 Write-Host "Endpoint: POST /process-puzzle" -ForegroundColor Yellow
 Write-Host "Trying with answer: 'kernel'" -ForegroundColor Yellow
 $body = @{ key = "kernel" } | ConvertTo-Json
-$response8 = Invoke-RestMethod -Uri "http://localhost:8080/process-puzzle" -Method Post -Body $body -ContentType "application/json"
+$response8 = Invoke-RestMethod -Uri "http://localhost:8080/process-puzzle" -Method Post -Body $body -ContentType "application/json" -Headers @{ "X-Progress-Token" = $progressToken }
+$progressToken = $response8.progressToken
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response8.message -ForegroundColor White
 Write-Host "📊 Status: $($response8.status)" -ForegroundColor Green
@@ -156,9 +162,12 @@ Write-Host "🔍 Hint:" -ForegroundColor Magenta
 Write-Host $response9.hint -ForegroundColor White
 Write-Host ""
 Write-Host "Endpoint: POST /crypto-puzzle" -ForegroundColor Yellow
-Write-Host "Trying with answer: 'base64:hello world'" -ForegroundColor Yellow
-$body = @{ key = "base64:hello world" } | ConvertTo-Json
-$response10 = Invoke-RestMethod -Uri "http://localhost:8080/crypto-puzzle" -Method Post -Body $body -ContentType "application/json"
+$encoded = [regex]::Match($response9.message, "'([A-Za-z0-9+/=]+)'").Groups[1].Value
+$decoded = [Text.Encoding]::UTF8.GetString([Convert]::FromBase64String($encoded))
+Write-Host "Trying with answer: 'base64:$decoded'" -ForegroundColor Yellow
+$body = @{ key = "base64:$decoded"; challenge = $response9.challenge } | ConvertTo-Json
+$response10 = Invoke-RestMethod -Uri "http://localhost:8080/crypto-puzzle" -Method Post -Body $body -ContentType "application/json" -Headers @{ "X-Progress-Token" = $progressToken }
+$progressToken = $response10.progressToken
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response10.message -ForegroundColor White
 Write-Host "📊 Status: $($response10.status)" -ForegroundColor Green
@@ -179,7 +188,8 @@ Write-Host ""
 Write-Host "Endpoint: POST /root-puzzle" -ForegroundColor Yellow
 Write-Host "Trying with answer: 'root'" -ForegroundColor Yellow
 $body = @{ key = "root" } | ConvertTo-Json
-$response12 = Invoke-RestMethod -Uri "http://localhost:8080/root-puzzle" -Method Post -Body $body -ContentType "application/json"
+$response12 = Invoke-RestMethod -Uri "http://localhost:8080/root-puzzle" -Method Post -Body $body -ContentType "application/json" -Headers @{ "X-Progress-Token" = $progressToken }
+$progressToken = $response12.progressToken
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response12.message -ForegroundColor White
 Write-Host "📊 Status: $($response12.status)" -ForegroundColor Green
@@ -200,7 +210,7 @@ Write-Host ""
 Write-Host "Endpoint: POST /escape" -ForegroundColor Yellow
 Write-Host "Trying with final key: 'https'" -ForegroundColor Yellow
 $body = @{ final_key = "https" } | ConvertTo-Json
-$response14 = Invoke-RestMethod -Uri "http://localhost:8080/escape" -Method Post -Body $body -ContentType "application/json"
+$response14 = Invoke-RestMethod -Uri "http://localhost:8080/escape" -Method Post -Body $body -ContentType "application/json" -Headers @{ "X-Progress-Token" = $progressToken }
 Write-Host "💬 Message:" -ForegroundColor Magenta
 Write-Host $response14.message -ForegroundColor White
 Write-Host "📊 Status: $($response14.status)" -ForegroundColor Green